@@ -0,0 +1,81 @@
+package com.firomsa.ecommerce.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.firomsa.ecommerce.config.AuthConfig;
+import com.firomsa.ecommerce.v1.service.JWTAuthService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+// per-request cost of the JWTSecurityFilter token checks, before and after caching the key and parser
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTAuthBenchmark {
+
+    private static final String SECRET = "CQLsx4LBSHSEpyO2jSyvpiB3YnlwcaeB8fCKT5oxEuw=";
+    private static final String USERNAME = "benchmark-user";
+
+    private JWTAuthService jwtAuthService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        AuthConfig authConfig = new AuthConfig();
+        authConfig.setSecret(SECRET);
+        jwtAuthService = new JWTAuthService(authConfig);
+        token = jwtAuthService.generateToken(USERNAME);
+    }
+
+    // the old filter: getSubject, then isValidToken -> getSubject + isTokenExpired,
+    // each building a fresh key and parser
+    @Benchmark
+    public boolean perRequestParsers() {
+        String username = legacyClaims(token).getSubject();
+        return username.equals(legacyClaims(token).getSubject())
+                && !legacyClaims(token).getExpiration().before(new Date(System.currentTimeMillis()));
+    }
+
+    // the current filter: one parse with the shared parser, claims reused for validation
+    @Benchmark
+    public boolean sharedParser() {
+        Claims claims = jwtAuthService.getClaims(token);
+        return jwtAuthService.isValidToken(claims, claims.getSubject());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtAuthService.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public Claims getClaims() {
+        return jwtAuthService.getClaims(token);
+    }
+
+    private Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,66 @@
+package com.firomsa.ecommerce.benchmark;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firomsa.ecommerce.v1.dto.CategoryResponseDTO;
+import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
+
+// response body cost of a product page, using the same builder Spring MVC configures its ObjectMapper with
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({ "20", "100" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ProductResponseDTO> products;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        products = IntStream.range(0, size)
+                .mapToObj(i -> ProductResponseDTO.builder()
+                        .id(UUID.randomUUID().toString())
+                        .name("product " + i)
+                        .description("A product description long enough to look like a real one, item " + i)
+                        .price(10.0 + i)
+                        .stock(100)
+                        .active(true)
+                        .categories(List.of(
+                                CategoryResponseDTO.builder().id(1).name("Electronics").build(),
+                                CategoryResponseDTO.builder().id(2).name("Audio").build()))
+                        .productImages(List.of(
+                                ImageDTO.builder().name("image-" + i + ".png").url("/api/images/image-" + i + ".png")
+                                        .build()))
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(products);
+    }
+}
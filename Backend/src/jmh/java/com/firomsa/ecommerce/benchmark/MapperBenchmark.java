@@ -0,0 +1,91 @@
+package com.firomsa.ecommerce.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.firomsa.ecommerce.model.Category;
+import com.firomsa.ecommerce.model.Image;
+import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderItem;
+import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.model.User;
+import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
+import com.firomsa.ecommerce.v1.mapper.OrderMapper;
+import com.firomsa.ecommerce.v1.mapper.ProductMapper;
+
+// entity to DTO mapping on already loaded entities, the part of a listing response that is not database time
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Product product;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        LocalDateTime now = LocalDateTime.now();
+        product = Product.builder()
+                .id(UUID.randomUUID())
+                .name("Wireless Headphones")
+                .description("Over-ear noise cancelling headphones")
+                .price(199.99)
+                .stock(40)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        product.setCategories(IntStream.range(0, 3)
+                .mapToObj(i -> Category.builder().id(i).name("category " + i).build())
+                .toList());
+        product.setProductImages(IntStream.range(0, 4)
+                .mapToObj(i -> Image.builder().id(i).name("image-" + i + ".png").product(product).build())
+                .toList());
+
+        order = Order.builder()
+                .id(1)
+                .user(User.builder().id(UUID.randomUUID()).build())
+                .totalPrice(999.95)
+                .txRef("tx-benchmark")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        List<OrderItem> items = IntStream.range(0, 5)
+                .mapToObj(i -> OrderItem.builder()
+                        .id(i)
+                        .order(order)
+                        .product(product)
+                        .priceAtPurchase(199.99)
+                        .quantity(1)
+                        .build())
+                .toList();
+        order.setOrderItems(items);
+    }
+
+    @Benchmark
+    public ProductResponseDTO productToDTO() {
+        return ProductMapper.toDTO(product);
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderToDTO() {
+        return OrderMapper.toDTO(order);
+    }
+}
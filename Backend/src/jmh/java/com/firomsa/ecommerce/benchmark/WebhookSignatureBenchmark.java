@@ -0,0 +1,59 @@
+package com.firomsa.ecommerce.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firomsa.ecommerce.security.WebhookSignature;
+import com.firomsa.ecommerce.v1.dto.ChapaResponse;
+
+// what WebhookController does before handing an event to the queue: sign the raw body, compare, parse
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebhookSignatureBenchmark {
+
+    private static final String SECRET = "encription";
+    private static final String BODY = """
+            {"event":"charge.success","first_name":"Firomsa","last_name":"Assefa","email":"firo@example.com",\
+            "mobile":"0911234567","currency":"ETB","amount":"1000.00","charge":"35.00","status":"success",\
+            "mode":"test","reference":"AP5Kx9nZ3d","created_at":"2025-01-01T10:00:00.000000Z",\
+            "updated_at":"2025-01-01T10:00:00.000000Z","type":"API","tx_ref":"tx-benchmark",\
+            "payment_method":"telebirr","customization":{"title":"E-commerce","description":"It is time to pay",\
+            "logo":null},"meta":null}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String signature;
+
+    @Setup
+    public void setup() throws Exception {
+        signature = WebhookSignature.hmacSha256(BODY, SECRET);
+    }
+
+    @Benchmark
+    public String hmacSha256() throws Exception {
+        return WebhookSignature.hmacSha256(BODY, SECRET);
+    }
+
+    @Benchmark
+    public ChapaResponse verifyAndParse() throws Exception {
+        String computedHash = WebhookSignature.hmacSha256(BODY, SECRET);
+        if (!computedHash.equalsIgnoreCase(signature)) {
+            throw new IllegalStateException("signature mismatch");
+        }
+        return objectMapper.readValue(BODY, ChapaResponse.class);
+    }
+}
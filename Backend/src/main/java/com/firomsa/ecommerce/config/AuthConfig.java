@@ -5,7 +5,12 @@ import javax.crypto.SecretKey;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import io.jsonwebtoken.security.Keys;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
 @Component
@@ -13,7 +18,24 @@ import lombok.Data;
 public class AuthConfig {
     private String secret;
 
+    // derived once from the secret instead of on every sign/verify
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile SecretKey secretKey;
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+        this.secretKey = null;
+    }
+
     public SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        SecretKey key = secretKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            secretKey = key;
+        }
+        return key;
     }
 }
@@ -1,5 +1,7 @@
 package com.firomsa.ecommerce.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -10,4 +12,11 @@ import lombok.Data;
 @ConfigurationProperties(prefix = "mail")
 public class MailConfig {
     private String email;
+    // threads draining the mail queue, each sends a batch over one SMTP connection
+    private int senders = 2;
+    private int queueCapacity = 1000;
+    private int batchSize = 50;
+    private int maxAttempts = 5;
+    // doubled after every failed attempt
+    private Duration retryBackoff = Duration.ofSeconds(2);
 }
@@ -0,0 +1,41 @@
+package com.firomsa.ecommerce.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.firomsa.ecommerce.metrics.CacheRegionMetrics;
+import com.firomsa.ecommerce.metrics.QueryCountFilter;
+import com.firomsa.ecommerce.metrics.QueryCountInspector;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public HibernatePropertiesCustomizer queryCountCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    // ahead of the security chain, so the principal lookup is counted with the request
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(
+                new QueryCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // hibernate only collects the region counters with statistics on, which costs every session some bookkeeping
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+    public CacheRegionMetrics cacheRegionMetrics(EntityManagerFactory entityManagerFactory) {
+        return new CacheRegionMetrics(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+}
@@ -0,0 +1,17 @@
+package com.firomsa.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+import lombok.ToString;
+
+// basic auth credential for the prometheus scraper, which cannot log in for a short-lived jwt
+@Data
+@Component
+@ConfigurationProperties(prefix = "metrics.scrape")
+public class MetricsScrapeConfig {
+    private String username;
+    @ToString.Exclude
+    private String password;
+}
@@ -0,0 +1,18 @@
+package com.firomsa.ecommerce.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxConfig {
+    // dispatched events older than this are deleted by the purge
+    private Duration retention = Duration.ofDays(7);
+    // an event claimed by a relay that died before marking it dispatched is published again after this
+    private Duration claimTimeout = Duration.ofMinutes(5);
+}
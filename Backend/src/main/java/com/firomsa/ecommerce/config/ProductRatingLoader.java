@@ -0,0 +1,26 @@
+package com.firomsa.ecommerce.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.firomsa.ecommerce.v1.service.ReviewService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class ProductRatingLoader implements CommandLineRunner {
+
+    private final ReviewService reviewService;
+
+    public ProductRatingLoader(ReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        // only products with reviews but empty totals are touched, so this is a no-op after the first start
+        int products = reviewService.backfillRatings();
+        log.info("Rating totals filled for {} products", products);
+    }
+}
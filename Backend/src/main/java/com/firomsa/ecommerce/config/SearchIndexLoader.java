@@ -0,0 +1,73 @@
+package com.firomsa.ecommerce.config;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.search.ProductFacetIndex;
+import com.firomsa.ecommerce.search.ProductSearchIndex;
+import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
+import com.firomsa.ecommerce.v1.mapper.ProductMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class SearchIndexLoader implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public SearchIndexLoader(ProductRepository productRepository, ProductSearchIndex productSearchIndex,
+            ProductFacetIndex productFacetIndex, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        productSearchIndex.clear();
+        productFacetIndex.clear();
+        Product last = null;
+        int indexed = 0;
+        do {
+            Product after = last;
+            // each batch runs in its own read-only transaction so the persistence context stays small
+            List<Product> batch = transactionTemplate.execute(status -> indexBatch(after));
+            indexed += batch.size();
+            last = batch.size() < BATCH_SIZE ? null : batch.getLast();
+        } while (last != null);
+        log.info("Search and facet indexes built with {} products", indexed);
+    }
+
+    private List<Product> indexBatch(Product after) {
+        List<Product> batch = after == null
+                ? productRepository.findActivePage(Limit.of(BATCH_SIZE))
+                : productRepository.findActivePageAfter(after.getCreatedAt(), after.getId(), Limit.of(BATCH_SIZE));
+        if (!batch.isEmpty()) {
+            List<UUID> ids = batch.stream().map(Product::getId).toList();
+            productRepository.fetchCategories(ids);
+            productRepository.fetchProductImages(ids);
+            batch.forEach(product -> {
+                ProductResponseDTO productResponseDTO = ProductMapper.toDTO(product);
+                productSearchIndex.put(productResponseDTO);
+                productFacetIndex.put(productResponseDTO);
+            });
+        }
+        return batch;
+    }
+}
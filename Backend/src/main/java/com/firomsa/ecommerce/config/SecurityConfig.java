@@ -2,12 +2,19 @@ package com.firomsa.ecommerce.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -27,7 +34,30 @@ public class SecurityConfig {
         this.unAuthorizedUserAuthenticationEntryPoint = unAuthorizedUserAuthenticationEntryPoint;
     }
 
+    // the scraper authenticates with basic auth on every request, an admin jwt is accepted as well
     @Bean
+    @Order(1)
+    public SecurityFilterChain metricsScrapeFilterChain(HttpSecurity httpSecurity,
+            MetricsScrapeConfig metricsScrapeConfig, PasswordEncoder passwordEncoder) throws Exception {
+        DaoAuthenticationProvider scraperProvider = new DaoAuthenticationProvider(
+                new InMemoryUserDetailsManager(User.withUsername(metricsScrapeConfig.getUsername())
+                        .password(passwordEncoder.encode(metricsScrapeConfig.getPassword()))
+                        .roles("SCRAPER")
+                        .build()));
+        scraperProvider.setPasswordEncoder(passwordEncoder);
+        return httpSecurity
+                .securityMatcher("/actuator/prometheus")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(request -> request.anyRequest().hasAnyRole("ADMIN", "SCRAPER"))
+                .authenticationManager(new ProviderManager(scraperProvider))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(jwtSecurityFilter, UsernamePasswordAuthenticationFilter.class)
+                .build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
                 .csrf(csrf -> csrf.disable())
@@ -41,6 +71,8 @@ public class SecurityConfig {
                         "/swagger-ui.html",
                         "/swagger-ui/**")
                         .permitAll()
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**")
+                        .hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .exceptionHandling(
                         exception -> exception.authenticationEntryPoint(unAuthorizedUserAuthenticationEntryPoint))
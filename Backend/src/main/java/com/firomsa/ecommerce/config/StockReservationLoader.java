@@ -0,0 +1,26 @@
+package com.firomsa.ecommerce.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.firomsa.ecommerce.v1.service.StockReservationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class StockReservationLoader implements CommandLineRunner {
+
+    private final StockReservationService stockReservationService;
+
+    public StockReservationLoader(StockReservationService stockReservationService) {
+        this.stockReservationService = stockReservationService;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        // rebuild the in-memory hold counters from the ledger, holds that expired while down are swept separately
+        stockReservationService.reloadHeld();
+        log.info("Stock reservation counters loaded");
+    }
+}
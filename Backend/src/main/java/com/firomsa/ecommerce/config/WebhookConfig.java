@@ -0,0 +1,18 @@
+package com.firomsa.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "webhook")
+public class WebhookConfig {
+    // workers applying payment notifications to orders
+    private int workers = 4;
+    // events waiting for a worker; anything beyond stays in webhook_events until the sweeper hands it out
+    private int queueCapacity = 1000;
+    // failed events are retried by the sweeper until they reach this many attempts
+    private int maxAttempts = 3;
+}
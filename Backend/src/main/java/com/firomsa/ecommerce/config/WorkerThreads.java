@@ -0,0 +1,31 @@
+package com.firomsa.ecommerce.config;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+// thread factory for the app's own worker pools; spring.threads.virtual.enabled switches them to virtual threads
+// together with Tomcat, @Async and @Scheduled
+@Component
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    public WorkerThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory named(String prefix) {
+        if (virtual) {
+            return Thread.ofVirtual().name(prefix, 1).factory();
+        }
+        return new CustomizableThreadFactory(prefix);
+    }
+}
@@ -0,0 +1,19 @@
+package com.firomsa.ecommerce.event;
+
+import java.time.LocalDateTime;
+
+import com.firomsa.ecommerce.model.OrderEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// published by the outbox relay after the order change committed; each event is claimed by a single relay,
+// it is only published again when that relay fails between publishing it and marking it dispatched
+@Data
+@AllArgsConstructor
+public class OrderLifecycleEvent {
+    private Integer outboxId;
+    private Integer orderId;
+    private OrderEventType type;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,16 @@
+package com.firomsa.ecommerce.event;
+
+import java.util.UUID;
+
+import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// product is null when the product was deleted or deactivated
+@Data
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private UUID productId;
+    private ProductResponseDTO product;
+}
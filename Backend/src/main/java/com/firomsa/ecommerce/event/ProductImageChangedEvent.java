@@ -0,0 +1,16 @@
+package com.firomsa.ecommerce.event;
+
+import java.util.UUID;
+
+import com.firomsa.ecommerce.v1.dto.ImageDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductImageChangedEvent {
+    private UUID productId;
+    private ImageDTO image;
+    private boolean removed;
+}
@@ -0,0 +1,15 @@
+package com.firomsa.ecommerce.event;
+
+import java.util.UUID;
+
+import com.firomsa.ecommerce.v1.dto.ProductRatingDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductRatingChangedEvent {
+    private UUID productId;
+    private ProductRatingDTO rating;
+}
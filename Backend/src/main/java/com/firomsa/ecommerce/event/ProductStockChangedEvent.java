@@ -0,0 +1,14 @@
+package com.firomsa.ecommerce.event;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// stock is changed with conditional UPDATEs that bypass the entity, so listeners get the delta instead
+@Data
+@AllArgsConstructor
+public class ProductStockChangedEvent {
+    private UUID productId;
+    private int delta;
+}
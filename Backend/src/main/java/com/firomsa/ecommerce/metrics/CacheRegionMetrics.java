@@ -0,0 +1,56 @@
+package com.firomsa.ecommerce.metrics;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// second-level cache hits, misses and puts per region, read from the Hibernate statistics on each scrape
+public class CacheRegionMetrics implements MeterBinder {
+
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private final Statistics statistics;
+
+    public CacheRegionMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            // the timestamps region only guards query results, its hits say nothing about cache use
+            if (TIMESTAMPS_REGION.equals(region)) {
+                continue;
+            }
+            FunctionCounter.builder("hibernate.cache.requests", statistics,
+                    stats -> region(stats, region).getHitCount())
+                    .tags("region", region, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.requests", statistics,
+                    stats -> region(stats, region).getMissCount())
+                    .tags("region", region, "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.puts", statistics,
+                    stats -> region(stats, region).getPutCount())
+                    .tags("region", region)
+                    .register(registry);
+            Gauge.builder("hibernate.cache.hit.ratio", statistics, stats -> hitRatio(region(stats, region)))
+                    .tags("region", region)
+                    .description("Share of second-level cache lookups served from the region")
+                    .register(registry);
+        }
+    }
+
+    private static CacheRegionStatistics region(Statistics statistics, String region) {
+        return statistics.getCacheRegionStatistics(region);
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long lookups = region.getHitCount() + region.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) region.getHitCount() / lookups;
+    }
+}
@@ -1,5 +1,6 @@
 package com.firomsa.ecommerce.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -29,4 +30,8 @@ public class Image {
     private Product product;
     @NotNull
     private String name;
+
+    // hex sha-256 of the stored file, served as the image's ETag; filled on first read for older images
+    @Column(length = 64)
+    private String contentHash;
 }
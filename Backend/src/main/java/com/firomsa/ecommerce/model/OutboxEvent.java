@@ -0,0 +1,50 @@
+package com.firomsa.ecommerce.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// written in the same transaction as the order change it describes, dispatched later by the outbox relay
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_dispatched_at_id", columnList = "dispatched_at, id")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @NotNull
+    private Integer orderId;
+
+    @NotNull
+    private OrderEventType type;
+
+    @NotNull
+    private int attempts;
+
+    private String lastError;
+
+    @NotNull
+    private LocalDateTime createdAt;
+
+    // set while one relay is publishing the event, other relays skip it until then
+    private LocalDateTime claimedUntil;
+
+    private LocalDateTime dispatchedAt;
+}
@@ -5,12 +5,25 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_active_created_at_id", columnList = "active, created_at, id"),
+        @Index(name = "idx_products_active_average_rating_id", columnList = "active, average_rating, id")
+})
+// only dirty columns are written, so entity saves never overwrite stock or reserved changed by bulk updates
+@DynamicUpdate
+// the bulk stock updates in ProductRepository evict the whole region, so cached products never show stale stock
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 @AllArgsConstructor
 @Data
 @NoArgsConstructor
@@ -33,7 +46,13 @@ public class Product {
     @NotNull
     private int stock;
 
+    // units held by active stock reservations, only changed through conditional updates in ProductRepository
+    @NotNull
+    @ColumnDefault("0")
+    private int reserved;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products.categories")
     @JoinTable(
             name = "product_categories",
             joinColumns = @JoinColumn(name = "product_id", referencedColumnName = "id"),
@@ -58,6 +77,10 @@ public class Product {
     @Builder.Default
     private List<Cart> carts = new ArrayList<>();
 
+    @Embedded
+    @Builder.Default
+    private ProductRating rating = new ProductRating();
+
     @NotNull
     @Builder.Default
     private boolean active = Boolean.TRUE;
@@ -0,0 +1,87 @@
+package com.firomsa.ecommerce.model;
+
+import java.util.List;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// review totals kept on the product row and changed with every review write, reads never aggregate reviews
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class ProductRating {
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    @NotNull
+    @ColumnDefault("0")
+    private long ratingCount;
+
+    @NotNull
+    @ColumnDefault("0")
+    private long ratingSum;
+
+    // stored rather than derived so the catalog can be ordered by it through an index
+    @NotNull
+    @ColumnDefault("0")
+    private double averageRating;
+
+    @NotNull
+    @ColumnDefault("0")
+    private long oneStarCount;
+
+    @NotNull
+    @ColumnDefault("0")
+    private long twoStarCount;
+
+    @NotNull
+    @ColumnDefault("0")
+    private long threeStarCount;
+
+    @NotNull
+    @ColumnDefault("0")
+    private long fourStarCount;
+
+    @NotNull
+    @ColumnDefault("0")
+    private long fiveStarCount;
+
+    public static boolean counts(int rating) {
+        return rating >= MIN_RATING && rating <= MAX_RATING;
+    }
+
+    public void add(int rating, long reviews) {
+        switch (rating) {
+            case 1 -> oneStarCount += reviews;
+            case 2 -> twoStarCount += reviews;
+            case 3 -> threeStarCount += reviews;
+            case 4 -> fourStarCount += reviews;
+            case 5 -> fiveStarCount += reviews;
+            default -> throw new IllegalArgumentException("Rating out of range: " + rating);
+        }
+        ratingCount += reviews;
+        ratingSum += rating * reviews;
+        averageRating = ratingCount == 0 ? 0 : (double) ratingSum / ratingCount;
+    }
+
+    public void add(int rating) {
+        add(rating, 1);
+    }
+
+    public void remove(int rating) {
+        add(rating, -1);
+    }
+
+    // review counts for 1 to 5 stars
+    public List<Long> histogram() {
+        return List.of(oneStarCount, twoStarCount, threeStarCount, fourStarCount, fiveStarCount);
+    }
+}
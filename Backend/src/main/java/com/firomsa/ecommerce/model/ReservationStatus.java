@@ -0,0 +1,7 @@
+package com.firomsa.ecommerce.model;
+
+public enum ReservationStatus {
+    ACTIVE,
+    CONVERTED,
+    RELEASED
+}
@@ -3,6 +3,9 @@ package com.firomsa.ecommerce.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -12,6 +15,9 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "roles")
+// every user load resolves its role, so it is served from the second-level cache
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -0,0 +1,59 @@
+package com.firomsa.ecommerce.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one row per accepted payment notification, doubling as the durable work queue of the webhook workers;
+// the unique key is what makes processing happen once
+@Entity
+@Table(name = "webhook_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_webhook_events_tx_ref_status", columnNames = { "tx_ref", "status" })
+}, indexes = {
+        @Index(name = "idx_webhook_events_state_received_at", columnList = "state, received_at")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class WebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @NotNull
+    private String txRef;
+
+    @NotNull
+    private String status;
+
+    @Lob
+    private String payload;
+
+    @NotNull
+    @Builder.Default
+    private WebhookEventState state = WebhookEventState.RECEIVED;
+
+    @NotNull
+    private int attempts;
+
+    private String lastError;
+
+    @NotNull
+    private LocalDateTime receivedAt;
+
+    private LocalDateTime processedAt;
+}
@@ -1,11 +1,20 @@
 package com.firomsa.ecommerce.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.firomsa.ecommerce.model.Category;
 
+import jakarta.persistence.QueryHint;
+
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByName(String name);
+
+    List<Category> findAllByNameIn(Collection<String> names);
 }
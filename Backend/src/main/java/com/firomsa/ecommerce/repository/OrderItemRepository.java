@@ -1,9 +1,23 @@
 package com.firomsa.ecommerce.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.firomsa.ecommerce.model.Order;
 import com.firomsa.ecommerce.model.OrderItem;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Integer>{
 
+    // ordered by product id so concurrent orders lock product rows in the same order
+    @Query("""
+            SELECT oi.product.id AS productId, SUM(oi.quantity) AS quantity
+            FROM OrderItem oi
+            WHERE oi.order = :order
+            GROUP BY oi.product.id
+            ORDER BY oi.product.id
+            """)
+    List<ProductQuantity> findProductQuantitiesByOrder(@Param("order") Order order);
 }
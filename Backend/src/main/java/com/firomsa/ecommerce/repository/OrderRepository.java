@@ -1,11 +1,80 @@
 package com.firomsa.ecommerce.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderStatus;
+import com.firomsa.ecommerce.v1.dto.OrderExportRowDTO;
+
+import jakarta.persistence.QueryHint;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
+    int EXPORT_FETCH_SIZE = 500;
+
     Optional<Order> findByTxRef(String txRef);
+
+    // a null status or bound drops that predicate; the user is fetched in the same query for the mapper
+    @Query(value = """
+            SELECT o FROM Order o JOIN FETCH o.user
+            WHERE (:status IS NULL OR o.status = :status)
+            AND (:from IS NULL OR o.createdAt >= :from)
+            AND (:to IS NULL OR o.createdAt < :to)
+            """, countQuery = """
+            SELECT COUNT(o) FROM Order o
+            WHERE (:status IS NULL OR o.status = :status)
+            AND (:from IS NULL OR o.createdAt >= :from)
+            AND (:to IS NULL OR o.createdAt < :to)
+            """)
+    Page<Order> findPage(@Param("status") OrderStatus status, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to, Pageable pageable);
+
+    // the user is fixed rather than optional so the (user_id, created_at) index always applies
+    @Query(value = """
+            SELECT o FROM Order o JOIN FETCH o.user
+            WHERE o.user.id = :userId
+            AND (:status IS NULL OR o.status = :status)
+            AND (:from IS NULL OR o.createdAt >= :from)
+            AND (:to IS NULL OR o.createdAt < :to)
+            """, countQuery = """
+            SELECT COUNT(o) FROM Order o
+            WHERE o.user.id = :userId
+            AND (:status IS NULL OR o.status = :status)
+            AND (:from IS NULL OR o.createdAt >= :from)
+            AND (:to IS NULL OR o.createdAt < :to)
+            """)
+    Page<Order> findPageByUserId(@Param("userId") UUID userId, @Param("status") OrderStatus status,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    // initializes the items, and their products, of already loaded orders in one query
+    @EntityGraph(attributePaths = { "orderItems", "orderItems.product" })
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids")
+    List<Order> fetchOrderItems(@Param("ids") Collection<Integer> ids);
+
+    // flat rows instead of entities, so nothing is kept in the persistence context while the cursor moves;
+    // a null bound leaves that side of the range open
+    @Query("""
+            SELECT new com.firomsa.ecommerce.v1.dto.OrderExportRowDTO(o.id, o.user.id, o.status, o.totalPrice,
+                o.txRef, o.createdAt, o.updatedAt, oi.product.id, oi.quantity, oi.priceAtPurchase)
+            FROM Order o
+            LEFT JOIN o.orderItems oi
+            WHERE (:from IS NULL OR o.createdAt >= :from)
+            AND (:to IS NULL OR o.createdAt < :to)
+            ORDER BY o.id, oi.id
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<OrderExportRowDTO> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,50 @@
+package com.firomsa.ecommerce.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.firomsa.ecommerce.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Integer> {
+
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.dispatchedAt IS NULL AND e.attempts < :attempts
+            AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)
+            ORDER BY e.id
+            """)
+    List<OutboxEvent> findDue(@Param("attempts") int attempts, @Param("now") LocalDateTime now, Limit limit);
+
+    // takes the event for one relay until the claim expires, returns 0 when it was dispatched
+    // or another relay holds it
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvent e SET e.claimedUntil = :until
+            WHERE e.id = :id AND e.dispatchedAt IS NULL
+            AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)
+            """)
+    int claim(@Param("id") Integer id, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // counts the failed attempt and releases the claim, so the next poll retries the event
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, e.claimedUntil = NULL
+            WHERE e.id = :id AND e.dispatchedAt IS NULL
+            """)
+    int recordFailure(@Param("id") Integer id, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = :dispatchedAt WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Integer> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
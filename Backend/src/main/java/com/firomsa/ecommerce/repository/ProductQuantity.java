@@ -0,0 +1,10 @@
+package com.firomsa.ecommerce.repository;
+
+import java.util.UUID;
+
+// summed quantity of a product across the items of an order
+public interface ProductQuantity {
+    UUID getProductId();
+
+    Long getQuantity();
+}
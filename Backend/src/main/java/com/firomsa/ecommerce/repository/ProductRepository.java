@@ -1,11 +1,111 @@
 package com.firomsa.ecommerce.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.firomsa.ecommerce.model.Product;
 
+import jakarta.persistence.LockModeType;
+
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
+    List<Product> findAllByActiveFalse();
+
+    @Query("""
+            SELECT p FROM Product p
+            WHERE p.active = true
+            ORDER BY p.createdAt ASC, p.id ASC
+            """)
+    List<Product> findActivePage(Limit limit);
+
+    @Query("""
+            SELECT p FROM Product p
+            WHERE p.active = true
+            AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id))
+            ORDER BY p.createdAt ASC, p.id ASC
+            """)
+    List<Product> findActivePageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+            Limit limit);
+
+    // decrements only when enough unreserved stock is left, returns 0 otherwise
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.id = :id AND p.stock - p.reserved >= :quantity")
+    int decrementStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // holds units for a reservation when enough unreserved stock is left, returns 0 otherwise
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.reserved = p.reserved + :quantity WHERE p.id = :id AND p.stock - p.reserved >= :quantity")
+    int reserveStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // turns held units into a stock decrement
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Product p SET p.stock = p.stock - :quantity, p.reserved = p.reserved - :quantity
+            WHERE p.id = :id AND p.reserved >= :quantity AND p.stock >= :quantity
+            """)
+    int convertReservedStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.reserved = p.reserved - :quantity WHERE p.id = :id AND p.reserved >= :quantity")
+    int releaseReservedStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // categoryFilter = false skips the category predicate so the categories list can hold a placeholder
+    @Query("""
+            SELECT p FROM Product p
+            WHERE p.active = true
+            AND p.price >= :minPrice AND p.price <= :maxPrice
+            AND (:categoryFilter = false
+                OR EXISTS (SELECT c.id FROM p.categories c WHERE c.name IN :categories))
+            AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id))
+            ORDER BY p.createdAt ASC, p.id ASC
+            """)
+    List<Product> findActiveFilteredPage(@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice,
+            @Param("categoryFilter") boolean categoryFilter, @Param("categories") Collection<String> categories,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
+
+    // same filters as findActiveFilteredPage, best average rating first; walks the average rating index
+    @Query("""
+            SELECT p FROM Product p
+            WHERE p.active = true
+            AND p.price >= :minPrice AND p.price <= :maxPrice
+            AND (:categoryFilter = false
+                OR EXISTS (SELECT c.id FROM p.categories c WHERE c.name IN :categories))
+            AND (p.rating.averageRating < :averageRating
+                OR (p.rating.averageRating = :averageRating AND p.id < :id))
+            ORDER BY p.rating.averageRating DESC, p.id DESC
+            """)
+    List<Product> findActiveFilteredPageByRating(@Param("minPrice") Double minPrice,
+            @Param("maxPrice") Double maxPrice, @Param("categoryFilter") boolean categoryFilter,
+            @Param("categories") Collection<String> categories, @Param("averageRating") double averageRating,
+            @Param("id") UUID id, Limit limit);
+
+    // review writes change the rating through this row lock, so concurrent reviews never lose an update;
+    // it must be the first load of the product in the transaction, a managed instance is not refreshed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findForUpdateById(@Param("id") UUID id);
+
+    // categories and productImages are both bags, so they can't be join fetched in one query;
+    // each fetch below initializes one collection for every already loaded product in the ids
+    @EntityGraph(attributePaths = "categories")
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> fetchCategories(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph(attributePaths = "productImages")
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> fetchProductImages(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph(attributePaths = "categories")
+    Optional<Product> findWithCategoriesById(UUID id);
 }
@@ -0,0 +1,12 @@
+package com.firomsa.ecommerce.repository;
+
+import java.util.UUID;
+
+// number of reviews giving a product one rating
+public interface RatingCount {
+    UUID getProductId();
+
+    Integer getRating();
+
+    Long getReviews();
+}
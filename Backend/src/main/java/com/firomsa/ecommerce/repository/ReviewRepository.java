@@ -1,9 +1,53 @@
 package com.firomsa.ecommerce.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.firomsa.ecommerce.model.Review;
 
 public interface ReviewRepository extends JpaRepository<Review, Integer>{
 
+    @Query("SELECT r.product.id FROM Review r WHERE r.id = :id")
+    Optional<UUID> findProductIdById(@Param("id") int id);
+
+    // only products whose rating totals are still empty, i.e. reviewed before the totals were kept
+    @Query("""
+            SELECT r.product.id AS productId, r.rating AS rating, COUNT(r) AS reviews
+            FROM Review r
+            WHERE r.product.rating.ratingCount = 0
+            AND r.rating BETWEEN 1 AND 5
+            GROUP BY r.product.id, r.rating
+            """)
+    List<RatingCount> countRatingsOfUnratedProducts();
+
+    // newest first; served by idx_reviews_product_id_created_at_id without touching users
+    @Query("""
+            SELECT r.id AS id, r.user.id AS userId, r.product.id AS productId, r.rating AS rating,
+                r.comment AS comment, r.createdAt AS createdAt
+            FROM Review r
+            WHERE r.product.id = :productId
+            AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<ReviewRow> findNewestPageByProductId(@Param("productId") UUID productId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") int id, Limit limit);
+
+    // highest rating first, the latest inserted (highest id) first within a rating; served by idx_reviews_product_id_rating_id
+    @Query("""
+            SELECT r.id AS id, r.user.id AS userId, r.product.id AS productId, r.rating AS rating,
+                r.comment AS comment, r.createdAt AS createdAt
+            FROM Review r
+            WHERE r.product.id = :productId
+            AND (r.rating < :rating OR (r.rating = :rating AND r.id < :id))
+            ORDER BY r.rating DESC, r.id DESC
+            """)
+    List<ReviewRow> findTopRatedPageByProductId(@Param("productId") UUID productId, @Param("rating") int rating,
+            @Param("id") int id, Limit limit);
 }
@@ -0,0 +1,19 @@
+package com.firomsa.ecommerce.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// a review as listed under its product; user and product are only their foreign keys
+public interface ReviewRow {
+    Integer getId();
+
+    UUID getUserId();
+
+    UUID getProductId();
+
+    int getRating();
+
+    String getComment();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,39 @@
+package com.firomsa.ecommerce.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.ReservationStatus;
+import com.firomsa.ecommerce.model.StockReservation;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Integer> {
+
+    List<StockReservation> findAllByOrderAndStatus(Order order, ReservationStatus status);
+
+    List<StockReservation> findAllByStatusAndExpiresAtBefore(ReservationStatus status, LocalDateTime expiresAt,
+            Limit limit);
+
+    // moves a reservation between states only if nobody else moved it first, returns 0 otherwise
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE StockReservation r SET r.status = :to, r.updatedAt = :updatedAt
+            WHERE r.id = :id AND r.status = :from
+            """)
+    int transition(@Param("id") Integer id, @Param("from") ReservationStatus from,
+            @Param("to") ReservationStatus to, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("""
+            SELECT r.product.id AS productId, SUM(r.quantity) AS quantity
+            FROM StockReservation r
+            WHERE r.status = :status
+            GROUP BY r.product.id
+            """)
+    List<ProductQuantity> sumQuantitiesByStatus(@Param("status") ReservationStatus status);
+}
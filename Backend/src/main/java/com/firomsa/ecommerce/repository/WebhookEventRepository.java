@@ -0,0 +1,40 @@
+package com.firomsa.ecommerce.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.firomsa.ecommerce.model.WebhookEvent;
+import com.firomsa.ecommerce.model.WebhookEventState;
+
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, Integer> {
+
+    boolean existsByTxRefAndStatus(String txRef, String status);
+
+    List<WebhookEvent> findAllByStateOrderByReceivedAtAsc(WebhookEventState state, Limit limit);
+
+    // counts the attempt only if the event is still where the caller saw it, returns 0 when another worker
+    // (or another instance) got there first; the row stays locked until the claiming transaction ends
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE WebhookEvent e SET e.attempts = e.attempts + 1
+            WHERE e.id = :id AND e.state = :state AND e.attempts = :attempts
+            """)
+    int claim(@Param("id") Integer id, @Param("state") WebhookEventState state, @Param("attempts") int attempts);
+
+    // records a failed attempt under the same condition as claim, so an outcome written by a worker
+    // that claimed the event in the meantime is never overwritten
+    @Modifying
+    @Query("""
+            UPDATE WebhookEvent e SET e.attempts = e.attempts + 1, e.state = :next, e.lastError = :error
+            WHERE e.id = :id AND e.state = :state AND e.attempts = :attempts
+            """)
+    int recordFailure(@Param("id") Integer id, @Param("state") WebhookEventState state,
+            @Param("attempts") int attempts, @Param("next") WebhookEventState next, @Param("error") String error);
+
+    long countByState(WebhookEventState state);
+}
@@ -0,0 +1,230 @@
+package com.firomsa.ecommerce.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.firomsa.ecommerce.event.ProductChangedEvent;
+import com.firomsa.ecommerce.v1.dto.CategoryResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PriceBucketDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFacetsDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFilterDTO;
+import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
+
+// per-category and per-price-bucket bitsets over the active catalog, every product gets a dense ordinal
+@Component
+public class ProductFacetIndex {
+
+    static final double[] PRICE_BUCKET_BOUNDS = { 0, 50, 100, 250, 500, 1000 };
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet active = new BitSet();
+    private final Map<String, BitSet> categories = new TreeMap<>();
+    private final BitSet[] priceBuckets = new BitSet[PRICE_BUCKET_BOUNDS.length];
+    private final Map<Integer, List<String>> categoriesByOrdinal = new HashMap<>();
+    private double[] prices = new double[1024];
+    private int nextOrdinal;
+
+    public ProductFacetIndex() {
+        for (int i = 0; i < priceBuckets.length; i++) {
+            priceBuckets[i] = new BitSet();
+        }
+    }
+
+    public void put(ProductResponseDTO product) {
+        UUID id = UUID.fromString(product.getId());
+        if (!product.isActive()) {
+            remove(id);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(id);
+            int ordinal = existing != null ? existing : allocateOrdinal(id);
+            clearOrdinal(ordinal);
+
+            List<String> names = new ArrayList<>();
+            if (product.getCategories() != null) {
+                for (CategoryResponseDTO category : product.getCategories()) {
+                    categories.computeIfAbsent(category.getName(), key -> new BitSet()).set(ordinal);
+                    names.add(category.getName());
+                }
+            }
+            categoriesByOrdinal.put(ordinal, names);
+            double price = product.getPrice() == null ? 0 : product.getPrice();
+            prices[ordinal] = price;
+            priceBuckets[bucketOf(price)].set(ordinal);
+            active.set(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                clearOrdinal(ordinal);
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            freeOrdinals.clear();
+            active.clear();
+            categories.clear();
+            categoriesByOrdinal.clear();
+            for (BitSet bucket : priceBuckets) {
+                bucket.clear();
+            }
+            nextOrdinal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // each facet is counted against the other facet's filter, so selecting a category
+    // doesn't hide the counts of its sibling categories
+    public ProductFacetsDTO facets(ProductFilterDTO filter) {
+        lock.readLock().lock();
+        try {
+            BitSet inCategories = categoryMatches(filter);
+            BitSet inPriceRange = priceMatches(filter);
+
+            BitSet total = (BitSet) inCategories.clone();
+            total.and(inPriceRange);
+
+            Map<String, Long> categoryCounts = new TreeMap<>();
+            categories.forEach((name, members) -> {
+                BitSet matches = (BitSet) members.clone();
+                matches.and(inPriceRange);
+                categoryCounts.put(name, (long) matches.cardinality());
+            });
+
+            List<PriceBucketDTO> bucketCounts = new ArrayList<>();
+            for (int i = 0; i < priceBuckets.length; i++) {
+                BitSet matches = (BitSet) priceBuckets[i].clone();
+                matches.and(inCategories);
+                bucketCounts.add(PriceBucketDTO.builder()
+                        .min(PRICE_BUCKET_BOUNDS[i])
+                        .max(i + 1 < PRICE_BUCKET_BOUNDS.length ? PRICE_BUCKET_BOUNDS[i + 1] : null)
+                        .count(matches.cardinality())
+                        .build());
+            }
+
+            return ProductFacetsDTO.builder()
+                    .totalItems(total.cardinality())
+                    .categories(categoryCounts)
+                    .priceBuckets(bucketCounts)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getProduct() == null) {
+            remove(event.getProductId());
+        } else {
+            put(event.getProduct());
+        }
+    }
+
+    private BitSet categoryMatches(ProductFilterDTO filter) {
+        if (!filter.hasCategories()) {
+            return (BitSet) active.clone();
+        }
+        BitSet matches = new BitSet();
+        for (String name : filter.getCategories()) {
+            BitSet members = categories.get(name);
+            if (members != null) {
+                matches.or(members);
+            }
+        }
+        return matches;
+    }
+
+    private BitSet priceMatches(ProductFilterDTO filter) {
+        if (filter.getMinPrice() == null && filter.getMaxPrice() == null) {
+            return (BitSet) active.clone();
+        }
+        double min = filter.getMinPrice() == null ? Double.NEGATIVE_INFINITY : filter.getMinPrice();
+        double max = filter.getMaxPrice() == null ? Double.POSITIVE_INFINITY : filter.getMaxPrice();
+        // buckets inside the range are taken whole, only the ones holding min and max are checked price by price
+        BitSet matches = new BitSet();
+        for (int i = 0; i < priceBuckets.length; i++) {
+            double lower = i == 0 ? Double.NEGATIVE_INFINITY : PRICE_BUCKET_BOUNDS[i];
+            double upper = i + 1 < PRICE_BUCKET_BOUNDS.length ? PRICE_BUCKET_BOUNDS[i + 1] : Double.POSITIVE_INFINITY;
+            if (upper <= min || lower > max) {
+                continue;
+            }
+            BitSet bucket = priceBuckets[i];
+            if (min <= lower && upper <= max) {
+                matches.or(bucket);
+                continue;
+            }
+            for (int ordinal = bucket.nextSetBit(0); ordinal >= 0; ordinal = bucket.nextSetBit(ordinal + 1)) {
+                if (prices[ordinal] >= min && prices[ordinal] <= max) {
+                    matches.set(ordinal);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private int allocateOrdinal(UUID id) {
+        int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+        if (ordinal >= prices.length) {
+            prices = Arrays.copyOf(prices, prices.length * 2);
+        }
+        ordinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    private void clearOrdinal(int ordinal) {
+        active.clear(ordinal);
+        List<String> names = categoriesByOrdinal.remove(ordinal);
+        if (names != null) {
+            for (String name : names) {
+                BitSet members = categories.get(name);
+                if (members != null) {
+                    members.clear(ordinal);
+                }
+            }
+        }
+        for (BitSet bucket : priceBuckets) {
+            bucket.clear(ordinal);
+        }
+    }
+
+    static int bucketOf(double price) {
+        for (int i = PRICE_BUCKET_BOUNDS.length - 1; i > 0; i--) {
+            if (price >= PRICE_BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,281 @@
+package com.firomsa.ecommerce.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.firomsa.ecommerce.event.ProductChangedEvent;
+import com.firomsa.ecommerce.event.ProductImageChangedEvent;
+import com.firomsa.ecommerce.event.ProductRatingChangedEvent;
+import com.firomsa.ecommerce.event.ProductStockChangedEvent;
+import com.firomsa.ecommerce.v1.dto.CategoryResponseDTO;
+import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
+import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
+
+// in-process inverted index over the active catalog, kept in sync through product events
+@Component
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_FACTOR = 0.5;
+    private static final double FUZZY_FACTOR = 0.3;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (product id -> field weight)
+    private final NavigableMap<String, Map<UUID, Integer>> postings = new TreeMap<>();
+    private final Map<UUID, Set<String>> termsByProduct = new HashMap<>();
+    private final Map<UUID, ProductResponseDTO> documents = new HashMap<>();
+
+    public void put(ProductResponseDTO product) {
+        UUID id = UUID.fromString(product.getId());
+        if (!product.isActive()) {
+            remove(id);
+            return;
+        }
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, product.getName(), NAME_WEIGHT);
+        addTerms(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+        if (product.getCategories() != null) {
+            for (CategoryResponseDTO category : product.getCategories()) {
+                addTerms(weights, category.getName(), CATEGORY_WEIGHT);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removePostings(id);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+            termsByProduct.put(id, weights.keySet());
+            documents.put(id, product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removePostings(id);
+            documents.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByProduct.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public PageDTO<ProductResponseDTO> search(String query, int page, int size) {
+        List<String> tokens = tokenize(query);
+        lock.readLock().lock();
+        try {
+            Map<UUID, Double> scores = new HashMap<>();
+            for (String token : new HashSet<>(tokens)) {
+                scoreToken(token, scores);
+            }
+
+            Comparator<Map.Entry<UUID, Double>> ranking = Map.Entry.<UUID, Double>comparingByValue().reversed();
+            ranking = ranking.thenComparing(entry -> documents.get(entry.getKey()).getName())
+                    .thenComparing(Map.Entry::getKey);
+            List<ProductResponseDTO> items = scores.entrySet().stream()
+                    .sorted(ranking)
+                    .skip((long) page * size)
+                    .limit(size)
+                    .map(entry -> documents.get(entry.getKey()))
+                    .toList();
+
+            return PageDTO.<ProductResponseDTO>builder()
+                    .items(items)
+                    .page(page)
+                    .size(size)
+                    .totalItems(scores.size())
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getProduct() == null) {
+            remove(event.getProductId());
+        } else {
+            put(event.getProduct());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductImageChanged(ProductImageChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            ProductResponseDTO product = documents.get(event.getProductId());
+            if (product == null) {
+                return;
+            }
+            List<ImageDTO> images = new ArrayList<>(product.getProductImages() == null ? List.of()
+                    : product.getProductImages());
+            images.removeIf(image -> image.getName().equals(event.getImage().getName()));
+            if (!event.isRemoved()) {
+                images.add(event.getImage());
+            }
+            documents.put(event.getProductId(), product.toBuilder().productImages(images).build());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductRatingChanged(ProductRatingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            documents.computeIfPresent(event.getProductId(),
+                    (id, product) -> product.toBuilder().rating(event.getRating()).build());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductStockChanged(ProductStockChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            documents.computeIfPresent(event.getProductId(),
+                    (id, product) -> product.toBuilder().stock(product.getStock() + event.getDelta()).build());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void scoreToken(String token, Map<UUID, Double> scores) {
+        Map<UUID, Integer> exact = postings.get(token);
+        if (exact != null) {
+            exact.forEach((id, weight) -> scores.merge(id, (double) weight, Double::sum));
+        }
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            postings.subMap(token, false, token + Character.MAX_VALUE, false).values().stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .forEach(matches -> matches
+                            .forEach((id, weight) -> scores.merge(id, weight * PREFIX_FACTOR, Double::sum)));
+        }
+
+        int maxEdits = maxEdits(token);
+        if (maxEdits == 0 || exact != null) {
+            return;
+        }
+        // only terms sharing the first character are considered, which keeps the scan small
+        String first = token.substring(0, 1);
+        String next = String.valueOf((char) (token.charAt(0) + 1));
+        for (Map.Entry<String, Map<UUID, Integer>> entry : postings.subMap(first, true, next, false).entrySet()) {
+            String term = entry.getKey();
+            if (term.startsWith(token) || Math.abs(term.length() - token.length()) > maxEdits) {
+                continue;
+            }
+            if (withinEditDistance(token, term, maxEdits)) {
+                entry.getValue().forEach((id, weight) -> scores.merge(id, weight * FUZZY_FACTOR, Double::sum));
+            }
+        }
+    }
+
+    private void removePostings(UUID id) {
+        Set<String> terms = termsByProduct.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<UUID, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(id);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Math::max);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int maxEdits(String token) {
+        if (token.length() >= 8) {
+            return 2;
+        }
+        return token.length() >= 4 ? 1 : 0;
+    }
+
+    // Levenshtein distance with an early exit once every cell in a row exceeds maxEdits
+    static boolean withinEditDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+}
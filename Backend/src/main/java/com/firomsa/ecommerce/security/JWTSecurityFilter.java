@@ -1,6 +1,7 @@
 package com.firomsa.ecommerce.security;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,6 +14,10 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.firomsa.ecommerce.v1.service.JWTAuthService;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,10 +28,18 @@ public class JWTSecurityFilter extends OncePerRequestFilter {
 
     private JWTAuthService jwtAuthService;
     private UserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+    // token checks split by where the principal came from, to show what a principal cache miss costs
+    private Timer cachedPrincipal;
+    private Timer loadedPrincipal;
 
-    public JWTSecurityFilter(JWTAuthService jwtAuthService, UserDetailsService userDetailsService) {
+    public JWTSecurityFilter(JWTAuthService jwtAuthService, UserDetailsService userDetailsService,
+            PrincipalCache principalCache, MeterRegistry meterRegistry) {
         this.jwtAuthService = jwtAuthService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.cachedPrincipal = authTimer(meterRegistry, "cached");
+        this.loadedPrincipal = authTimer(meterRegistry, "loaded");
     }
 
     @Override
@@ -43,20 +56,39 @@ public class JWTSecurityFilter extends OncePerRequestFilter {
         }
 
         if (token != null) {
-            String username = jwtAuthService.getSubject(token);
+            long start = System.nanoTime();
+            // parse and verify once, the claims are reused for the validity check
+            Jws<Claims> jws = jwtAuthService.parseToken(token);
+            Claims claims = jws.getPayload();
+            String username = claims.getSubject();
+            String tokenId = jws.getHeader().getKeyId();
             // if username is not null & Context Authentication must be null
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails user = userDetailsService.loadUserByUsername(username);
-                boolean isValid = jwtAuthService.isValidToken(token, user.getUsername());
+                UserDetails user = principalCache.get(username, tokenId);
+                Timer timer = cachedPrincipal;
+                if (user == null) {
+                    user = userDetailsService.loadUserByUsername(username);
+                    principalCache.put(username, tokenId, user, claims.getExpiration().toInstant());
+                    timer = loadedPrincipal;
+                }
+                boolean isValid = jwtAuthService.isValidToken(claims, user.getUsername());
                 if (isValid) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(user,
                             user.getPassword(), user.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             }
         }
         filterChain.doFilter(request, response);
     }
 
+    private static Timer authTimer(MeterRegistry meterRegistry, String principal) {
+        return Timer.builder("auth.jwt.filter")
+                .description("Bearer token verification and principal lookup")
+                .tag("principal", principal)
+                .register(meterRegistry);
+    }
+
 }
\ No newline at end of file
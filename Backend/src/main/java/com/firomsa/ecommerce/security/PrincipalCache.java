@@ -0,0 +1,109 @@
+package com.firomsa.ecommerce.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+// authenticated principals keyed by username and token id, so a valid token doesn't hit the database on every request
+@Component
+public class PrincipalCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    // access ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<Key, Entry> entries;
+    // every authenticated request goes through here; a lock rather than synchronized, so a contended
+    // virtual thread unmounts instead of pinning its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public PrincipalCache() {
+        this(MAX_ENTRIES, TTL, Clock.systemUTC());
+    }
+
+    PrincipalCache(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > PrincipalCache.this.maxEntries;
+            }
+        };
+    }
+
+    public UserDetails get(String username, String tokenId) {
+        Key key = new Key(username, tokenId);
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!clock.instant().isBefore(entry.expiresAt())) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.user();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the entry never outlives the token it was loaded for
+    public void put(String username, String tokenId, UserDetails user, Instant tokenExpiresAt) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        if (tokenExpiresAt != null && tokenExpiresAt.isBefore(expiresAt)) {
+            expiresAt = tokenExpiresAt;
+        }
+        lock.lock();
+        try {
+            entries.put(new Key(username, tokenId), new Entry(user, expiresAt));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String username) {
+        lock.lock();
+        try {
+            entries.keySet().removeIf(key -> key.username().equals(username));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Key(String username, String tokenId) {
+    }
+
+    private record Entry(UserDetails user, Instant expiresAt) {
+    }
+}
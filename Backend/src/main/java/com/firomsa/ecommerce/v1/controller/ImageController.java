@@ -1,27 +1,43 @@
 package com.firomsa.ecommerce.v1.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.core.io.Resource;
+import org.apache.catalina.Globals;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.ImageFileDTO;
 import com.firomsa.ecommerce.v1.service.ImageService;
 import com.firomsa.ecommerce.v1.service.StorageService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api/v1/images")
 @Tag(name = "Image", description = "api for managing images")
 public class ImageController {
 
+    // image names are unique per upload, so the bytes behind an image url never change
+    private static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePrivate()
+            .immutable();
+
     private final StorageService storageService;
     private final ImageService imageService;
 
@@ -37,11 +53,48 @@ public class ImageController {
         return ResponseEntity.ok().body(images);
     }
 
-    @Operation(summary = "For getting a single image")
+    @Operation(summary = "For getting a single image, supports conditional requests (ETag, Last-Modified) and a single byte range")
     @GetMapping(path = "/{id}")
-    public ResponseEntity<Resource> getImage(@PathVariable String id) {
-        Resource resource = storageService.getImage(id);
-        return ResponseEntity.ok().body(resource);
+    public void getImage(@PathVariable String id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ImageFileDTO image = storageService.getImage(id);
+        String etag = "\"" + image.getContentHash() + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMAGE_CACHE_CONTROL.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // sets ETag and Last-Modified, and answers 304 when the client copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(etag, image.getLastModified())) {
+            return;
+        }
+
+        long length = image.getLength();
+        long start = 0;
+        long count = length;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            long end = Math.min(range.getRangeEnd(length), length - 1);
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            count = end - start + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentType(image.getContentType().toString());
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        // tomcat sends the file straight from the page cache to the socket when it can
+        if (Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, image.getPath().toAbsolutePath().toString());
+            request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+            request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, start + count);
+            return;
+        }
+        storageService.writeImage(image, start, count, response.getOutputStream());
     }
 
     @DeleteMapping(path = "/{id}")
@@ -50,4 +103,22 @@ public class ImageController {
         imageService.remove(id);
         return ResponseEntity.noContent().build();
     }
+
+    // a single range is served as 206; no Range, several ranges, an unparsable header or a stale If-Range get the whole file
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.getFirst() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
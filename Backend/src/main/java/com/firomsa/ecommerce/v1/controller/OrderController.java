@@ -1,37 +1,74 @@
 package com.firomsa.ecommerce.v1.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.LocalDate;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.firomsa.ecommerce.model.OrderStatus;
+import com.firomsa.ecommerce.v1.dto.OrderFilterDTO;
 import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
+import com.firomsa.ecommerce.v1.service.OrderExportService;
 import com.firomsa.ecommerce.v1.service.OrderService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api/v1/orders")
 @Tag(name = "Order", description = "API for managing orders")
 public class OrderController {
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderExportService orderExportService) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
     }
 
-    @Operation(summary = "For getting all orders")
+    @Operation(summary = "For getting a page of orders, newest first, filtered by status and creation date")
     @GetMapping()
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        List<OrderResponseDTO> orders = orderService.getAll();
+    public ResponseEntity<PageDTO<OrderResponseDTO>> getAllOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int size) {
+        OrderFilterDTO filter = OrderFilterDTO.builder()
+                .status(status)
+                .from(from)
+                .to(to)
+                .build();
+        PageDTO<OrderResponseDTO> orders = orderService.getAll(filter, page, size);
         return ResponseEntity.ok().body(orders);
     }
 
+    @Operation(summary = "For exporting orders created between from and to (inclusive dates) as csv or jsonl")
+    @GetMapping("/export")
+    // checked here as well as on the service, the headers below must not be written for a request that is refused
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportOrders(@RequestParam(defaultValue = OrderExportService.CSV) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(OrderExportService.contentType(format).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("orders." + format).build().toString());
+        orderExportService.export(format, from, to, response.getOutputStream());
+    }
+
     @Operation(summary = "For getting a single order")
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> getOrder(@PathVariable int id) {
@@ -1,10 +1,12 @@
 package com.firomsa.ecommerce.v1.controller;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,16 +16,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.firomsa.ecommerce.v1.dto.CursorPageDTO;
 import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFilterDTO;
+import com.firomsa.ecommerce.v1.dto.ProductImportResultDTO;
+import com.firomsa.ecommerce.v1.dto.ProductPageDTO;
 import com.firomsa.ecommerce.v1.dto.ProductRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
+import com.firomsa.ecommerce.v1.service.ProductImportService;
 import com.firomsa.ecommerce.v1.service.ProductService;
 import com.firomsa.ecommerce.v1.service.StorageService;
 
@@ -36,17 +45,40 @@ import jakarta.validation.Valid;
 @Tag(name = "Product", description = "api for managing products")
 public class ProductController {
     private final ProductService productService;
+    private final ProductImportService productImportService;
     private final StorageService storageService;
 
-    public ProductController(ProductService productService, StorageService storageService) {
+    public ProductController(ProductService productService, ProductImportService productImportService,
+            StorageService storageService) {
         this.productService = productService;
+        this.productImportService = productImportService;
         this.storageService = storageService;
     }
 
-    @Operation(summary = "For getting all products")
+    @Operation(summary = "For getting a filtered page of active products with category and price facet counts, sorted by creation (created) or best average rating (rating), use nextCursor as the after parameter for the next page")
     @GetMapping()
-    public ResponseEntity<List<ProductResponseDTO>> getAllProducts() {
-        List<ProductResponseDTO> products = productService.getAll();
+    public ResponseEntity<ProductPageDTO> getAllProducts(
+            @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = ProductService.SORT_CREATED) String sort) {
+        ProductFilterDTO filter = ProductFilterDTO.builder()
+                .categories(category)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+        ProductPageDTO products = productService.getAll(filter, limit, after, sort);
+        return ResponseEntity.ok().body(products);
+    }
+
+    @Operation(summary = "For searching active products by name, description and category")
+    @GetMapping("/search")
+    public ResponseEntity<PageDTO<ProductResponseDTO>> searchProducts(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int size) {
+        PageDTO<ProductResponseDTO> products = productService.search(q, page, size);
         return ResponseEntity.ok().body(products);
     }
 
@@ -66,6 +98,14 @@ public class ProductController {
         return ResponseEntity.created(location).body(product);
     }
 
+    @Operation(summary = "For importing products from a CSV body (header name,description,price,stock,categories with categories joined by |) or a JSON lines body of product requests")
+    @PostMapping(path = "/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ProductImportResultDTO> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        ProductImportResultDTO result = productImportService.importProducts(body, contentType);
+        return ResponseEntity.ok().body(result);
+    }
+
     @Operation(summary = "For updating a product")
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponseDTO> updateProduct(@Valid @RequestBody ProductRequestDTO productRequestDTO,
@@ -103,10 +143,13 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(image);
     }
 
-    @Operation(summary = "For getting all product reviews")
+    @Operation(summary = "For getting a page of product reviews, sorted by newest (newest) or highest rating (rating), use nextCursor as the after parameter for the next page")
     @GetMapping("/{id}/reviews")
-    public ResponseEntity<List<ReviewResponseDTO>> getUserReviews(@PathVariable UUID id) {
-        List<ReviewResponseDTO> reviews = productService.getReviews(id);
+    public ResponseEntity<CursorPageDTO<ReviewResponseDTO>> getUserReviews(@PathVariable UUID id,
+            @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = ProductService.SORT_NEWEST) String sort) {
+        CursorPageDTO<ReviewResponseDTO> reviews = productService.getReviews(id, limit, after, sort);
         return ResponseEntity.ok().body(reviews);
     }
 }
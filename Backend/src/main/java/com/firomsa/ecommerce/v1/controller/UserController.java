@@ -1,10 +1,12 @@
 package com.firomsa.ecommerce.v1.controller;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,16 +19,20 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.firomsa.ecommerce.model.OrderStatus;
 import com.firomsa.ecommerce.v1.dto.AddressRequestDTO;
 import com.firomsa.ecommerce.v1.dto.AddressResponseDTO;
 import com.firomsa.ecommerce.v1.dto.CartRequestDTO;
 import com.firomsa.ecommerce.v1.dto.CartResponseDTO;
 import com.firomsa.ecommerce.v1.dto.OrderDetailDTO;
+import com.firomsa.ecommerce.v1.dto.OrderFilterDTO;
 import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
 import com.firomsa.ecommerce.v1.dto.UserRequestDTO;
 import com.firomsa.ecommerce.v1.dto.UserResponseDTO;
+import com.firomsa.ecommerce.v1.service.OrderService;
 import com.firomsa.ecommerce.v1.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -97,10 +103,20 @@ public class UserController {
         return ResponseEntity.created(location).body(cart);
     }
 
-    @Operation(summary = "For getting all users orders")
+    @Operation(summary = "For getting a page of the users orders, newest first, filtered by status and creation date")
     @GetMapping("/{id}/orders")
-    public ResponseEntity<List<OrderResponseDTO>> getUserOrders(@PathVariable UUID id) {
-        List<OrderResponseDTO> orders = userService.getOrders(id);
+    public ResponseEntity<PageDTO<OrderResponseDTO>> getUserOrders(@PathVariable UUID id,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int size) {
+        OrderFilterDTO filter = OrderFilterDTO.builder()
+                .status(status)
+                .from(from)
+                .to(to)
+                .build();
+        PageDTO<OrderResponseDTO> orders = userService.getOrders(id, filter, page, size);
         return ResponseEntity.ok().body(orders);
     }
 
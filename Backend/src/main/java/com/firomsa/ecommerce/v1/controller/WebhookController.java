@@ -1,11 +1,5 @@
 package com.firomsa.ecommerce.v1.controller;
 
-import java.nio.charset.StandardCharsets;
-import java.util.HexFormat;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,8 +11,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.firomsa.ecommerce.config.PaymentConfig;
+import com.firomsa.ecommerce.security.WebhookSignature;
 import com.firomsa.ecommerce.v1.dto.ChapaResponse;
-import com.firomsa.ecommerce.v1.service.OrderService;
+import com.firomsa.ecommerce.v1.service.WebhookEventService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -32,13 +27,17 @@ import lombok.extern.slf4j.Slf4j;
 public class WebhookController {
 
     private final PaymentConfig paymentConfig;
-    private final OrderService orderService;
+    private final WebhookEventService webhookEventService;
+    private final ObjectMapper objectMapper;
 
-    public WebhookController(PaymentConfig paymentConfig, OrderService orderService) {
+    public WebhookController(PaymentConfig paymentConfig, WebhookEventService webhookEventService,
+            ObjectMapper objectMapper) {
         this.paymentConfig = paymentConfig;
-        this.orderService = orderService;
+        this.webhookEventService = webhookEventService;
+        this.objectMapper = objectMapper;
     }
 
+    // only verifies, records and acknowledges the event; the order is updated by the webhook workers
     @Operation(summary = "Webhook event listener for chapa payment")
     @PostMapping("/payment")
     public ResponseEntity<Void> chapaWebhook(@RequestHeader HttpHeaders headers,
@@ -46,12 +45,11 @@ public class WebhookController {
         String signatureOne = headers.getFirst("x-chapa-signature");
         String signatureTwo = headers.getFirst("chapa-signature");
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String computedHash = hmacSha256(rawBody, paymentConfig.getEncription());
+            String computedHash = WebhookSignature.hmacSha256(rawBody, paymentConfig.getEncription());
             if (computedHash.equalsIgnoreCase(signatureOne) || computedHash.equalsIgnoreCase(signatureTwo)) {
                 ChapaResponse response = objectMapper.readValue(rawBody, ChapaResponse.class);
                 log.info("Valid webhook signature");
-                orderService.updateStatus(response.getStatus(), response.getTx_ref());
+                webhookEventService.enqueue(response.getTx_ref(), response.getStatus(), rawBody);
                 return ResponseEntity.noContent().build();
             } else {
                 log.warn("Invalid webhook signature");
@@ -63,13 +61,4 @@ public class WebhookController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-
-    private static String hmacSha256(String data, String secret) throws Exception {
-        Mac sha256_HMAC = Mac.getInstance("HmacSHA256");
-        SecretKeySpec secret_key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        sha256_HMAC.init(secret_key);
-
-        byte[] hash = sha256_HMAC.doFinal(data.getBytes(StandardCharsets.UTF_8));
-        return HexFormat.of().formatHex(hash);
-    }
 }
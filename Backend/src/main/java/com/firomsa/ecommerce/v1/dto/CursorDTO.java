@@ -0,0 +1,21 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class CursorDTO {
+    private LocalDateTime createdAt;
+    // set instead of createdAt for pages ordered by rating
+    private Double averageRating;
+    // set instead of createdAt for review pages ordered by rating
+    private Integer rating;
+    private String id;
+}
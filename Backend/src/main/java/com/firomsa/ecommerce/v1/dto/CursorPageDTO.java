@@ -0,0 +1,17 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.nio.file.Path;
+
+import org.springframework.http.MediaType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ImageFileDTO {
+    private Path path;
+    private MediaType contentType;
+    private String contentHash;
+    private long length;
+    private long lastModified;
+}
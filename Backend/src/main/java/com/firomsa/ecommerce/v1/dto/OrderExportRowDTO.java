@@ -0,0 +1,32 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.firomsa.ecommerce.model.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one line per order item; an order without items gets a single line with empty item columns
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@JsonPropertyOrder({ "orderId", "userId", "status", "totalPrice", "txRef", "createdAt", "updatedAt", "productId",
+        "quantity", "priceAtPurchase" })
+public class OrderExportRowDTO {
+    private Integer orderId;
+    private UUID userId;
+    private OrderStatus status;
+    private Double totalPrice;
+    private String txRef;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private UUID productId;
+    private Integer quantity;
+    private Double priceAtPurchase;
+}
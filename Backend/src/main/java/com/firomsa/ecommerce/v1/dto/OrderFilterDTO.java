@@ -0,0 +1,30 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.firomsa.ecommerce.model.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class OrderFilterDTO {
+    private OrderStatus status;
+    // both days are included
+    private LocalDate from;
+    private LocalDate to;
+
+    public LocalDateTime createdFrom() {
+        return from == null ? null : from.atStartOfDay();
+    }
+
+    public LocalDateTime createdBefore() {
+        return to == null ? null : to.plusDays(1).atStartOfDay();
+    }
+}
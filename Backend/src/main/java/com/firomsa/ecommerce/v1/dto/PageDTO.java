@@ -0,0 +1,19 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class PageDTO<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private long totalItems;
+}
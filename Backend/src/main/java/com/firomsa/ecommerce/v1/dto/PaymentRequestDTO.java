@@ -0,0 +1,18 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class PaymentRequestDTO {
+    private String txRef;
+    private Double amount;
+    private String firstName;
+    private String lastName;
+    private String email;
+}
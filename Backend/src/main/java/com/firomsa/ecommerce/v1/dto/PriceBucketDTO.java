@@ -0,0 +1,17 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class PriceBucketDTO {
+    private Double min;
+    // null for the open ended last bucket
+    private Double max;
+    private long count;
+}
@@ -0,0 +1,19 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ProductFacetsDTO {
+    private long totalItems;
+    private Map<String, Long> categories;
+    private List<PriceBucketDTO> priceBuckets;
+}
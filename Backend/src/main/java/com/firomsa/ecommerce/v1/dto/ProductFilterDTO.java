@@ -0,0 +1,26 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ProductFilterDTO {
+    private List<String> categories;
+    private Double minPrice;
+    private Double maxPrice;
+
+    public boolean hasCategories() {
+        return categories != null && !categories.isEmpty();
+    }
+
+    public boolean hasCriteria() {
+        return hasCategories() || minPrice != null || maxPrice != null;
+    }
+}
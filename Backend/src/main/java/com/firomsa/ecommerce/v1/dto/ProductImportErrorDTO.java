@@ -0,0 +1,16 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ProductImportErrorDTO {
+    // 1-based record number, the CSV header is not counted
+    private long row;
+    private String message;
+}
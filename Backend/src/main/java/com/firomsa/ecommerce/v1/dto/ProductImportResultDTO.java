@@ -0,0 +1,19 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ProductImportResultDTO {
+    private long imported;
+    private long failed;
+    // the first errors only, failed counts every rejected row
+    private List<ProductImportErrorDTO> errors;
+}
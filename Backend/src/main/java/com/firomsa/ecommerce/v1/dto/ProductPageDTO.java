@@ -0,0 +1,18 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ProductPageDTO {
+    private List<ProductResponseDTO> items;
+    private String nextCursor;
+    private ProductFacetsDTO facets;
+}
@@ -0,0 +1,19 @@
+package com.firomsa.ecommerce.v1.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ProductRatingDTO {
+    private long count;
+    private double average;
+    // review counts for 1 to 5 stars
+    private List<Long> histogram;
+}
@@ -2,6 +2,7 @@ package com.firomsa.ecommerce.v1.dto;
 
 import java.util.List;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -30,5 +31,6 @@ public class ProductRequestDTO {
     private int stock;
 
     @NotNull(message = "product categories is required")
+    @Valid
     private List<CategoryRequestDTO> categories;
 }
@@ -7,7 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
@@ -19,5 +19,6 @@ public class ProductResponseDTO {
     private int stock;
     private List<CategoryResponseDTO> categories;
     private List<ImageDTO> productImages;
+    private ProductRatingDTO rating;
     private boolean active;
 }
@@ -15,7 +15,7 @@ import lombok.NoArgsConstructor;
 @Data
 public class ReviewRequestDTO {
     @NotNull(message = "rating is required")
-    @Min(0)
+    @Min(1)
     @Max(5)
     private int rating;
     @NotBlank(message = "comment is required")
@@ -0,0 +1,53 @@
+package com.firomsa.ecommerce.v1.mapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.firomsa.ecommerce.exception.ValidationException;
+import com.firomsa.ecommerce.v1.dto.CursorDTO;
+
+public class CursorMapper {
+
+    private static final String SEPARATOR = "|";
+    private static final String RATING_PREFIX = "rating:";
+    private static final String REVIEW_RATING_PREFIX = "review-rating:";
+
+    private CursorMapper() {
+    }
+
+    public static String toToken(CursorDTO cursor) {
+        String key;
+        if (cursor.getAverageRating() != null) {
+            key = RATING_PREFIX + cursor.getAverageRating();
+        } else if (cursor.getRating() != null) {
+            key = REVIEW_RATING_PREFIX + cursor.getRating();
+        } else {
+            key = cursor.getCreatedAt().toString();
+        }
+        String raw = key + SEPARATOR + cursor.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorDTO toDTO(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor: " + token);
+            }
+            String key = raw.substring(0, separator);
+            CursorDTO.CursorDTOBuilder cursor = CursorDTO.builder().id(raw.substring(separator + 1));
+            if (key.startsWith(RATING_PREFIX)) {
+                return cursor.averageRating(Double.valueOf(key.substring(RATING_PREFIX.length()))).build();
+            }
+            if (key.startsWith(REVIEW_RATING_PREFIX)) {
+                return cursor.rating(Integer.valueOf(key.substring(REVIEW_RATING_PREFIX.length()))).build();
+            }
+            return cursor.createdAt(LocalDateTime.parse(key)).build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor: " + token);
+        }
+    }
+}
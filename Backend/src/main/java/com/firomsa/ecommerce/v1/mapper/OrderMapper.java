@@ -1,9 +1,12 @@
 package com.firomsa.ecommerce.v1.mapper;
 
+import org.springframework.data.domain.Page;
+
 import com.firomsa.ecommerce.model.Order;
 import com.firomsa.ecommerce.model.OrderStatus;
 import com.firomsa.ecommerce.v1.dto.OrderRequestDTO;
 import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
 
 public class OrderMapper {
 
@@ -23,6 +26,15 @@ public class OrderMapper {
                 .build();
     }
 
+    public static PageDTO<OrderResponseDTO> toPageDTO(Page<Order> orders) {
+        return PageDTO.<OrderResponseDTO>builder()
+                .items(orders.getContent().stream().map(OrderMapper::toDTO).toList())
+                .page(orders.getNumber())
+                .size(orders.getSize())
+                .totalItems(orders.getTotalElements())
+                .build();
+    }
+
     public static Order toModel(OrderRequestDTO orderRequestDTO) {
         return Order.builder()
                 .status(OrderStatus.valueOf(orderRequestDTO.getStatus()))
@@ -19,6 +19,7 @@ public class ProductMapper {
                 .categories(product.getCategories().stream().map(CategoryMapper::toDTO).toList())
                 .active(product.isActive())
                 .productImages(product.getProductImages().stream().map(ImageMapper::toDTO).toList())
+                .rating(ProductRatingMapper.toDTO(product.getRating()))
                 .build();
     }
 
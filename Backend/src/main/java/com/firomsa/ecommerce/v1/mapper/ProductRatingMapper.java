@@ -0,0 +1,18 @@
+package com.firomsa.ecommerce.v1.mapper;
+
+import com.firomsa.ecommerce.model.ProductRating;
+import com.firomsa.ecommerce.v1.dto.ProductRatingDTO;
+
+public class ProductRatingMapper {
+
+    private ProductRatingMapper() {
+    }
+
+    public static ProductRatingDTO toDTO(ProductRating rating) {
+        return ProductRatingDTO.builder()
+                .count(rating.getRatingCount())
+                .average(rating.getAverageRating())
+                .histogram(rating.histogram())
+                .build();
+    }
+}
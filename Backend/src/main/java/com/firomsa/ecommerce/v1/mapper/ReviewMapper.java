@@ -1,6 +1,7 @@
 package com.firomsa.ecommerce.v1.mapper;
 
 import com.firomsa.ecommerce.model.Review;
+import com.firomsa.ecommerce.repository.ReviewRow;
 import com.firomsa.ecommerce.v1.dto.ReviewRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
 
@@ -20,6 +21,17 @@ public class ReviewMapper {
                 .build();
     }
 
+    public static ReviewResponseDTO toDTO(ReviewRow review) {
+        return ReviewResponseDTO.builder()
+                .id(review.getId())
+                .userId(review.getUserId().toString())
+                .productId(review.getProductId().toString())
+                .rating(review.getRating())
+                .comment(review.getComment())
+                .createdAt(review.getCreatedAt().toString())
+                .build();
+    }
+
     public static Review toModel(ReviewRequestDTO reviewRequestDTO) {
         return Review.builder()
                 .rating(reviewRequestDTO.getRating())
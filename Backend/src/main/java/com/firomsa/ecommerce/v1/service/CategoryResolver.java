@@ -0,0 +1,117 @@
+package com.firomsa.ecommerce.v1.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.firomsa.ecommerce.exception.ResourceNotFoundException;
+import com.firomsa.ecommerce.model.Category;
+import com.firomsa.ecommerce.repository.CategoryRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// category ids by name, so a product write resolves all of its categories with at most one query;
+// names not seen yet are loaded together, and the map is dropped once a category update or delete commits
+@Service
+public class CategoryResolver {
+
+    private final CategoryRepository categoryRepository;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CategoryResolver(CategoryRepository categoryRepository, EntityManagerFactory entityManagerFactory) {
+        this(categoryRepository);
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        Invalidation invalidation = new Invalidation();
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, invalidation);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, invalidation);
+    }
+
+    CategoryResolver(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    // categories come back in request order as references; every missing name is reported in one error,
+    // null or blank names never match a category and are reported without a lookup
+    public List<Category> resolve(Collection<String> names) {
+        Set<String> requested = new LinkedHashSet<>(names);
+        List<String> unknown = requested.stream().filter(name -> isName(name) && !ids.containsKey(name)).toList();
+        if (!unknown.isEmpty()) {
+            for (Category category : categoryRepository.findAllByNameIn(unknown)) {
+                ids.put(category.getName(), category.getId());
+            }
+        }
+        List<String> missing = requested.stream()
+                .filter(name -> !isName(name) || !ids.containsKey(name))
+                .map(String::valueOf)
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Category: " + String.join(", ", missing));
+        }
+        List<Category> categories = new ArrayList<>(requested.size());
+        for (String name : requested) {
+            categories.add(categoryRepository.getReferenceById(ids.get(name)));
+        }
+        return categories;
+    }
+
+    private static boolean isName(String name) {
+        return name != null && !name.isBlank();
+    }
+
+    public void clear() {
+        ids.clear();
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    // post-commit listeners see every entity type, so anything that isn't a category is ignored
+    private class Invalidation implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Category) {
+                clear();
+            }
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Category) {
+                clear();
+            }
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return Category.class.equals(persister.getMappedClass());
+        }
+    }
+}
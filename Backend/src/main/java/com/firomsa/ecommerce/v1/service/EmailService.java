@@ -1,32 +1,158 @@
 package com.firomsa.ecommerce.v1.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import com.firomsa.ecommerce.config.MailConfig;
+import com.firomsa.ecommerce.config.WorkerThreads;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+// mail is queued and sent by a small sender pool, so callers never wait on an SMTP round trip;
+// each sender drains a batch and hands it to the mail sender in one call, which uses a single connection
 @Service
 @Slf4j
 public class EmailService {
+    private static final long POLL_TIMEOUT_MS = 500;
+
     private final JavaMailSender emailSender;
     private final MailConfig mailConfig;
+    private final WorkerThreads workerThreads;
+    private final BlockingQueue<PendingMail> queue;
+    private final Counter sent;
+    private final Counter failures;
+    private final ScheduledExecutorService retries;
+    private ExecutorService senders;
+    private volatile boolean running;
 
-    public EmailService(JavaMailSender emailSender, MailConfig mailConfig) {
+    public EmailService(JavaMailSender emailSender, MailConfig mailConfig, WorkerThreads workerThreads,
+            MeterRegistry meterRegistry) {
         this.emailSender = emailSender;
         this.mailConfig = mailConfig;
+        this.workerThreads = workerThreads;
+        this.queue = new ArrayBlockingQueue<>(mailConfig.getQueueCapacity());
+        this.retries = Executors.newSingleThreadScheduledExecutor(workerThreads.named("mail-retry-"));
+        Gauge.builder("mail.queue.depth", queue, BlockingQueue::size)
+                .description("Mail messages waiting for a sender")
+                .register(meterRegistry);
+        this.sent = Counter.builder("mail.sent").register(meterRegistry);
+        this.failures = Counter.builder("mail.failed").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        senders = Executors.newFixedThreadPool(mailConfig.getSenders(), workerThreads.named("mail-sender-"));
+        for (int i = 0; i < mailConfig.getSenders(); i++) {
+            senders.execute(this::drain);
+        }
     }
 
+    // whatever is still queued is sent before the senders stop
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        retries.shutdownNow();
+        if (senders != null) {
+            senders.shutdown();
+            senders.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    // returns once the message is queued; delivery, batching and retries happen on the sender pool
     public void sendSimpleMessage(String to, String subject, String text) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(mailConfig.getEmail());
         message.setTo(to);
         message.setSubject(subject);
         message.setText(text);
-        emailSender.send(message);
-        log.info("Mail sent successfully");
+        if (!queue.offer(new PendingMail(message, 0))) {
+            failures.increment();
+            log.error("Mail queue full, dropped mail [{}] to [{}]", subject, to);
+        }
+    }
+
+    int getQueued() {
+        return queue.size();
     }
 
+    // sends at most one batch, waiting up to the timeout for the first message; returns the batch size
+    int sendBatch(long timeout, TimeUnit unit) throws InterruptedException {
+        PendingMail first = queue.poll(timeout, unit);
+        if (first == null) {
+            return 0;
+        }
+        List<PendingMail> batch = new ArrayList<>(mailConfig.getBatchSize());
+        batch.add(first);
+        queue.drainTo(batch, mailConfig.getBatchSize() - 1);
+        SimpleMailMessage[] messages = batch.stream().map(PendingMail::message).toArray(SimpleMailMessage[]::new);
+        try {
+            emailSender.send(messages);
+            sent.increment(batch.size());
+        } catch (MailSendException e) {
+            // only the reported messages are retried; an exception without that detail fails the whole batch
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (PendingMail mail : batch) {
+                if (failed.isEmpty() || failed.containsKey(mail.message())) {
+                    retry(mail, e);
+                } else {
+                    sent.increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            // anything else fails the whole batch
+            batch.forEach(mail -> retry(mail, e));
+        }
+        log.info("Mail batch of {} processed", batch.size());
+        return batch.size();
+    }
+
+    private void drain() {
+        try {
+            while (running || !queue.isEmpty()) {
+                sendBatch(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void retry(PendingMail mail, Exception cause) {
+        int attempts = mail.attempts() + 1;
+        String subject = mail.message().getSubject();
+        if (attempts >= mailConfig.getMaxAttempts() || retries.isShutdown()) {
+            failures.increment();
+            log.error("Giving up on mail [{}] after {} attempts", subject, attempts, cause);
+            return;
+        }
+        Duration backoff = mailConfig.getRetryBackoff().multipliedBy(1L << (attempts - 1));
+        log.warn("Mail [{}] failed on attempt {}, retrying in {}", subject, attempts, backoff);
+        retries.schedule(() -> {
+            if (!queue.offer(new PendingMail(mail.message(), attempts))) {
+                failures.increment();
+                log.error("Mail queue full, dropped retry of mail [{}]", subject);
+            }
+        }, backoff.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private record PendingMail(SimpleMailMessage message, int attempts) {
+    }
 }
@@ -2,9 +2,11 @@ package com.firomsa.ecommerce.v1.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import com.firomsa.ecommerce.event.ProductImageChangedEvent;
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
 import com.firomsa.ecommerce.model.Image;
 import com.firomsa.ecommerce.repository.ImageRepository;
@@ -14,9 +16,11 @@ import com.firomsa.ecommerce.v1.mapper.ImageMapper;
 @Service
 public class ImageService {
     private final ImageRepository imageRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ImageService(ImageRepository imageRepository) {
+    public ImageService(ImageRepository imageRepository, ApplicationEventPublisher eventPublisher) {
         this.imageRepository = imageRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -37,5 +41,9 @@ public class ImageService {
                 .orElseThrow(() -> new ResourceNotFoundException("Image: " +
                         name));
         imageRepository.delete(image);
+        if (image.getProduct() != null) {
+            eventPublisher.publishEvent(
+                    new ProductImageChangedEvent(image.getProduct().getId(), ImageMapper.toDTO(image), true));
+        }
     }
 }
@@ -4,11 +4,15 @@ import java.util.Date;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import javax.crypto.SecretKey;
+
 import org.springframework.stereotype.Service;
 
 import com.firomsa.ecommerce.config.AuthConfig;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 
 // service/JWTAuthService.java
@@ -19,6 +23,9 @@ public class JWTAuthService {
     private static final int JWT_DURATION_MINUTES = 15;
 
     private final AuthConfig authConfig;
+    // JwtParser is immutable and thread-safe, shared by every request and rebuilt only when AuthConfig
+    // derives a new key, i.e. after the secret was changed
+    private volatile KeyedParser parser;
 
     public JWTAuthService(AuthConfig authConfig) {
         this.authConfig = authConfig;
@@ -44,11 +51,13 @@ public class JWTAuthService {
     // code to get Claims
 
     public Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(authConfig.getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parseToken(token).getPayload();
+    }
+
+    // code to verify a token keeping its header, the key id identifies the token
+
+    public Jws<Claims> parseToken(String token) {
+        return parser().parseSignedClaims(token);
     }
 
     // code to check if token is valid
@@ -61,9 +70,14 @@ public class JWTAuthService {
     // code to check if token is valid as per username
 
     public boolean isValidToken(String token, String username) {
-        String tokenUserName = getSubject(token);
+        return isValidToken(getClaims(token), username);
+    }
 
-        return (username.equals(tokenUserName) && !isTokenExpired(token));
+    // code to check already parsed claims, so a request only verifies the signature once
+
+    public boolean isValidToken(Claims claims, String username) {
+        return username.equals(claims.getSubject())
+                && !claims.getExpiration().before(new Date(System.currentTimeMillis()));
     }
 
     // code to check if token is expired
@@ -84,4 +98,19 @@ public class JWTAuthService {
     public String getSubject(String token) {
         return getClaims(token).getSubject();
     }
+
+    private JwtParser parser() {
+        SecretKey key = authConfig.getSecretKey();
+        KeyedParser current = parser;
+        if (current == null || current.key() != key) {
+            current = new KeyedParser(key, Jwts.parser()
+                    .verifyWith(key)
+                    .build());
+            parser = current;
+        }
+        return current.parser();
+    }
+
+    private record KeyedParser(SecretKey key, JwtParser parser) {
+    }
 }
@@ -0,0 +1,86 @@
+package com.firomsa.ecommerce.v1.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.firomsa.ecommerce.exception.ValidationException;
+import com.firomsa.ecommerce.repository.OrderRepository;
+import com.firomsa.ecommerce.v1.dto.OrderExportRowDTO;
+import com.firomsa.ecommerce.v1.dto.OrderFilterDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+// rows go from a database cursor straight to the output, so an export of any size holds one fetch
+// of rows in memory
+@Service
+@Slf4j
+public class OrderExportService {
+    public static final String CSV = "csv";
+    public static final String JSON_LINES = "jsonl";
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)
+            .build();
+    private static final CsvSchema CSV_SCHEMA = CSV_MAPPER.schemaFor(OrderExportRowDTO.class).withHeader();
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(OrderRepository orderRepository, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public static MediaType contentType(String format) {
+        return switch (format) {
+            case CSV -> ProductImportService.TEXT_CSV;
+            case JSON_LINES -> MediaType.APPLICATION_NDJSON;
+            default -> throw new ValidationException("Unsupported export format: " + format);
+        };
+    }
+
+    // orders created from the start of from up to the end of to, both optional; returns the rows written
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    public long export(String format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        // the response stream belongs to the container, closing the writer must leave it open
+        ObjectWriter writer = switch (format) {
+            case CSV -> CSV_MAPPER.writer(CSV_SCHEMA);
+            case JSON_LINES -> objectMapper.writerFor(OrderExportRowDTO.class).withRootValueSeparator("\n");
+            default -> throw new ValidationException("Unsupported export format: " + format);
+        };
+        writer = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        OrderFilterDTO range = OrderFilterDTO.builder().from(from).to(to).build();
+        long rows = 0;
+        try (Stream<OrderExportRowDTO> stream = orderRepository.streamExportRows(range.createdFrom(),
+                range.createdBefore());
+                SequenceWriter sequence = writer.writeValues(out)) {
+            Iterator<OrderExportRowDTO> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                sequence.write(iterator.next());
+                rows++;
+            }
+        }
+        log.info("Exported {} order rows as {}", rows, format);
+        return rows;
+    }
+}
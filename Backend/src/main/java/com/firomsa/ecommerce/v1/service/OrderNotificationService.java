@@ -0,0 +1,53 @@
+package com.firomsa.ecommerce.v1.service;
+
+import java.util.Optional;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.firomsa.ecommerce.event.OrderLifecycleEvent;
+import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.repository.OrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// order mail, sent from the outbox relay rather than the request that changed the order;
+// the mail is only queued here, EmailService delivers it on its own senders
+@Service
+@Slf4j
+public class OrderNotificationService {
+
+    private final OrderRepository orderRepository;
+    private final EmailService emailService;
+
+    public OrderNotificationService(OrderRepository orderRepository, EmailService emailService) {
+        this.orderRepository = orderRepository;
+        this.emailService = emailService;
+    }
+
+    @EventListener
+    public void onOrderLifecycle(OrderLifecycleEvent event) {
+        switch (event.getType()) {
+            case PAID -> find(event).ifPresent(order -> send(order, "Order confirmation",
+                    "Your payment for order #" + order.getId() + " of " + order.getTotalPrice()
+                            + " was received, thank you for your order."));
+            case CANCELLED -> find(event).ifPresent(order -> send(order, "Order cancelled",
+                    "Your order #" + order.getId() + " was cancelled."));
+            default -> {
+            }
+        }
+    }
+
+    private Optional<Order> find(OrderLifecycleEvent event) {
+        Optional<Order> order = orderRepository.findById(event.getOrderId());
+        if (order.isEmpty()) {
+            log.warn("Order [{}] of outbox event [{}] no longer exists, no mail sent", event.getOrderId(),
+                    event.getOutboxId());
+        }
+        return order;
+    }
+
+    private void send(Order order, String subject, String text) {
+        emailService.sendSimpleMessage(order.getUser().getEmail(), subject, text);
+    }
+}
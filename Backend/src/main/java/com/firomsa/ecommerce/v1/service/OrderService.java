@@ -1,22 +1,23 @@
 package com.firomsa.ecommerce.v1.service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.firomsa.ecommerce.exception.OrderProcessException;
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
 import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderEventType;
 import com.firomsa.ecommerce.model.OrderStatus;
-import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.repository.OrderRepository;
-import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.v1.dto.OrderFilterDTO;
 import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
 import com.firomsa.ecommerce.v1.mapper.OrderMapper;
 
 import lombok.extern.slf4j.Slf4j;
@@ -24,17 +25,36 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Slf4j
 public class OrderService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
+    private final StockReservationService stockReservationService;
+    private final OutboxService outboxService;
 
-    public OrderService(OrderRepository orderRepository, ProductRepository productRepository) {
+    public OrderService(OrderRepository orderRepository, StockReservationService stockReservationService,
+            OutboxService outboxService) {
         this.orderRepository = orderRepository;
-        this.productRepository = productRepository;
+        this.stockReservationService = stockReservationService;
+        this.outboxService = outboxService;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
-    public List<OrderResponseDTO> getAll() {
-        return orderRepository.findAll().stream().map(OrderMapper::toDTO).toList();
+    @Transactional(readOnly = true)
+    public PageDTO<OrderResponseDTO> getAll(OrderFilterDTO filter, int page, int size) {
+        Page<Order> orders = orderRepository.findPage(filter.getStatus(), filter.createdFrom(),
+                filter.createdBefore(), pageRequest(page, size));
+        fetchOrderItems(orders);
+        return OrderMapper.toPageDTO(orders);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or authentication.principal.id.equals(#userId)")
+    @Transactional(readOnly = true)
+    public PageDTO<OrderResponseDTO> getAllByUser(UUID userId, OrderFilterDTO filter, int page, int size) {
+        Page<Order> orders = orderRepository.findPageByUserId(userId, filter.getStatus(), filter.createdFrom(),
+                filter.createdBefore(), pageRequest(page, size));
+        fetchOrderItems(orders);
+        return OrderMapper.toPageDTO(orders);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -56,29 +76,36 @@ public class OrderService {
     public void updateStatus(String status, String tx_ref) {
         Order order = orderRepository.findByTxRef(tx_ref).orElseThrow(() -> new ResourceNotFoundException("Order: " +
                 tx_ref));
+        if (order.getStatus() != OrderStatus.PENDING) {
+            log.warn("Ignoring payment status [{}] for order [{}] already in [{}]", status, tx_ref, order.getStatus());
+            return;
+        }
         log.info("Updating order [{}] to status [{}]", tx_ref, status);
         if (status.equals("success")) {
+            stockReservationService.convert(order);
             order.setStatus(OrderStatus.PAID);
-            Map<Product, Integer> productsMap = order.getOrderItems().stream()
-                    .map(orderItem -> Map.entry(orderItem.getProduct(), orderItem.getQuantity()))
-                    .collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue()));
-            List<Product> products = new ArrayList<>();
-            productsMap.forEach((pro, quantity) -> {
-                pro.setStock(pro.getStock() - quantity);
-                if (pro.getStock() < 0) {
-                    throw new OrderProcessException("Product Stock Limited");
-                }
-                products.add(pro);
-            });
-
-            productRepository.saveAll(products);
             orderRepository.save(order);
+            outboxService.record(order, OrderEventType.PAID);
 
         } else if (status.equals("failed/cancelled")) {
+            stockReservationService.release(order);
             order.setStatus(OrderStatus.CANCELLED);
             orderRepository.save(order);
+            outboxService.record(order, OrderEventType.CANCELLED);
         } else {
             log.warn("Unknown payment status [{}] received for tx_ref [{}]", status, tx_ref);
         }
     }
+
+    // newest first; the id breaks ties between orders created in the same instant
+    static Pageable pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_PAGE_SIZE),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+    }
+
+    private void fetchOrderItems(Page<Order> orders) {
+        if (orders.hasContent()) {
+            orderRepository.fetchOrderItems(orders.map(Order::getId).getContent());
+        }
+    }
 }
@@ -0,0 +1,117 @@
+package com.firomsa.ecommerce.v1.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.firomsa.ecommerce.config.OutboxConfig;
+import com.firomsa.ecommerce.event.OrderLifecycleEvent;
+import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderEventType;
+import com.firomsa.ecommerce.model.OutboxEvent;
+import com.firomsa.ecommerce.repository.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// order side effects are recorded with the order change and handed to in-process listeners by a polling relay,
+// so they add no latency to the request and are not lost when the process dies before running them
+@Service
+@Slf4j
+public class OutboxService {
+
+    static final int BATCH_SIZE = 100;
+    static final int MAX_ATTEMPTS = 10;
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxConfig outboxConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ApplicationEventPublisher eventPublisher,
+            OutboxConfig outboxConfig, PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.outboxConfig = outboxConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Order order, OrderEventType type) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .orderId(order.getId())
+                .type(type)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    // listeners run outside any relay transaction; a listener failure only delays that event to the next poll.
+    // every event is claimed before it is published, so relays of several instances never publish it twice
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        List<Integer> dispatched;
+        do {
+            batch = outboxEventRepository.findDue(MAX_ATTEMPTS, LocalDateTime.now(), Limit.of(BATCH_SIZE));
+            dispatched = new ArrayList<>(batch.size());
+            for (OutboxEvent event : batch) {
+                if (claim(event) && dispatch(event)) {
+                    dispatched.add(event.getId());
+                }
+            }
+            if (!dispatched.isEmpty()) {
+                List<Integer> ids = dispatched;
+                transactionTemplate.executeWithoutResult(
+                        status -> outboxEventRepository.markDispatched(ids, LocalDateTime.now()));
+            }
+        } while (batch.size() == BATCH_SIZE && dispatched.size() == batch.size());
+    }
+
+    // dispatched rows are only kept for inspection; undispatched ones stay whatever their age
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:3600000}")
+    public int purge() {
+        LocalDateTime before = LocalDateTime.now().minus(outboxConfig.getRetention());
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deleteDispatchedBefore(before));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} outbox events dispatched before {}", purged, before);
+        }
+        return purged == null ? 0 : purged;
+    }
+
+    private boolean claim(OutboxEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> outboxEventRepository.claim(event.getId(), now,
+                now.plus(outboxConfig.getClaimTimeout())));
+        return claimed != null && claimed == 1;
+    }
+
+    private boolean dispatch(OutboxEvent event) {
+        try {
+            eventPublisher.publishEvent(new OrderLifecycleEvent(event.getId(), event.getOrderId(), event.getType(),
+                    event.getCreatedAt()));
+            return true;
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(
+                    status -> outboxEventRepository.recordFailure(event.getId(), truncate(e.getMessage())));
+            log.warn("Outbox event [{}] {} for order [{}] failed on attempt {}", event.getId(), event.getType(),
+                    event.getOrderId(), event.getAttempts() + 1, e);
+            return false;
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
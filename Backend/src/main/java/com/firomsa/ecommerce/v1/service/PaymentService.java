@@ -1,19 +1,20 @@
 package com.firomsa.ecommerce.v1.service;
 
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.stereotype.Service;
 
 import com.firomsa.ecommerce.exception.OrderProcessException;
-import com.firomsa.ecommerce.model.Address;
-import com.firomsa.ecommerce.model.Order;
-import com.firomsa.ecommerce.repository.OrderRepository;
+import com.firomsa.ecommerce.v1.dto.PaymentRequestDTO;
 import com.yaphet.chapa.Chapa;
 import com.yaphet.chapa.model.Customization;
 import com.yaphet.chapa.model.InitializeResponseData;
 import com.yaphet.chapa.model.PostData;
 import com.yaphet.chapa.utility.Util;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -21,40 +22,51 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentService {
     private final Chapa chapa;
     private final Customization customization;
-    private final OrderRepository orderRepository;
+    // gateway latency by outcome, the error rate is the share of the error series
+    private final Timer initialized;
+    private final Timer failed;
 
-    public PaymentService(Chapa chapa, Customization customization, OrderRepository orderRepository) {
+    public PaymentService(Chapa chapa, Customization customization, MeterRegistry meterRegistry) {
         this.chapa = chapa;
         this.customization = customization;
-        this.orderRepository = orderRepository;
+        this.initialized = gatewayTimer(meterRegistry, "success");
+        this.failed = gatewayTimer(meterRegistry, "error");
     }
 
-    public InitializeResponseData startTransaction(Order order) {
-        String txRef = Util.generateToken();
-        Address defAddress = order.getUser().getAddresses()
-                .stream().filter(addr -> addr.getActive())
-                .toList()
-                .getFirst();
+    public String generateTxRef() {
+        return Util.generateToken();
+    }
+
+    // makes a blocking call to the gateway, never call it while holding a database transaction
+    public InitializeResponseData startTransaction(PaymentRequestDTO paymentRequestDTO) {
         PostData postData = new PostData()
-                .setAmount(BigDecimal.valueOf(order.getTotalPrice()))
+                .setAmount(BigDecimal.valueOf(paymentRequestDTO.getAmount()))
                 .setCurrency("ETB")
-                .setFirstName(defAddress.getFirstName())
-                .setLastName(defAddress.getLastName())
-                .setEmail(order.getUser().getEmail())
-                .setTxRef(txRef)
+                .setFirstName(paymentRequestDTO.getFirstName())
+                .setLastName(paymentRequestDTO.getLastName())
+                .setEmail(paymentRequestDTO.getEmail())
+                .setTxRef(paymentRequestDTO.getTxRef())
                 .setCallbackUrl("https://chapa.co")
                 .setSubAccountId("testSubAccountId")
                 .setCustomization(customization);
         InitializeResponseData responseData;
+        long start = System.nanoTime();
         try {
             responseData = chapa.initialize(postData);
         } catch (Throwable e) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             log.info(e.getMessage());
             throw new OrderProcessException("Failed to initialize payment gateway");
         }
-        order.setTxRef(txRef);
-        orderRepository.save(order);
-
+        initialized.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         return responseData;
     }
+
+    private static Timer gatewayTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("payment.gateway.requests")
+                .description("Chapa API calls")
+                .tag("operation", "initialize")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,291 @@
+package com.firomsa.ecommerce.v1.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.firomsa.ecommerce.event.ProductChangedEvent;
+import com.firomsa.ecommerce.exception.ResourceNotFoundException;
+import com.firomsa.ecommerce.exception.StorageException;
+import com.firomsa.ecommerce.exception.ValidationException;
+import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.v1.dto.CategoryRequestDTO;
+import com.firomsa.ecommerce.v1.dto.ProductImportErrorDTO;
+import com.firomsa.ecommerce.v1.dto.ProductImportResultDTO;
+import com.firomsa.ecommerce.v1.dto.ProductRequestDTO;
+import com.firomsa.ecommerce.v1.mapper.ProductMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+// rows are parsed one at a time off the request stream and written in chunks, each chunk in its own transaction;
+// a bad row is reported and skipped, it never fails the rows around it
+@Service
+@Slf4j
+public class ProductImportService {
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final String CATEGORY_SEPARATOR = "|";
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final ProductRepository productRepository;
+    private final CategoryResolver categoryResolver;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductImportService(ProductRepository productRepository, CategoryResolver categoryResolver,
+            Validator validator, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+            EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.categoryResolver = categoryResolver;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public ProductImportResultDTO importProducts(InputStream body, MediaType contentType) {
+        Import result = new Import();
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        try {
+            if (TEXT_CSV.isCompatibleWith(contentType)) {
+                readCsv(reader, result);
+            } else if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                readJsonLines(reader, result);
+            } else {
+                throw new ValidationException("Unsupported import format: " + contentType);
+            }
+            result.flush();
+        } catch (IOException e) {
+            // chunks written before the stream broke stay imported
+            log.warn("Product import stopped after {} imported rows", result.imported);
+            throw new StorageException("Failed to read product import", e);
+        }
+        log.info("Product import finished: {} imported, {} failed", result.imported, result.failed);
+        return ProductImportResultDTO.builder()
+                .imported(result.imported)
+                .failed(result.failed)
+                .errors(result.errors.stream().sorted(Comparator.comparingLong(ProductImportErrorDTO::getRow)).toList())
+                .build();
+    }
+
+    // columns: name, description, price, stock, categories (names joined by |); rows are read as plain lists
+    // so a row with a wrong column count is reported on its own instead of breaking the parser
+    private void readCsv(Reader reader, Import result) throws IOException {
+        try (MappingIterator<List<String>> rows = CSV_MAPPER.readerForListOf(String.class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .readValues(reader)) {
+            if (!rows.hasNextValue()) {
+                return;
+            }
+            List<String> header = rows.nextValue().stream().map(String::trim).toList();
+            long row = 0;
+            while (rows.hasNextValue()) {
+                row++;
+                try {
+                    result.accept(row, fromCsv(columns(header, rows.nextValue())));
+                } catch (JsonProcessingException e) {
+                    result.reject(row, e.getOriginalMessage());
+                } catch (RuntimeJsonMappingException | IllegalArgumentException e) {
+                    result.reject(row, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // one ProductRequestDTO object per line, blank lines are skipped
+    private void readJsonLines(Reader reader, Import result) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        long row = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            try {
+                ProductRequestDTO product = objectMapper.readValue(line, ProductRequestDTO.class);
+                if (product == null) {
+                    result.reject(row, "not a product object");
+                    continue;
+                }
+                result.accept(row, product);
+            } catch (JsonProcessingException e) {
+                result.reject(row, e.getOriginalMessage());
+            }
+        }
+    }
+
+    // missing trailing columns read as absent, extra columns reject the row
+    private static Map<String, String> columns(List<String> header, List<String> values) {
+        if (values.size() > header.size()) {
+            throw new IllegalArgumentException(
+                    "expected " + header.size() + " columns, found " + values.size());
+        }
+        Map<String, String> columns = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            columns.put(header.get(i), values.get(i));
+        }
+        return columns;
+    }
+
+    private static ProductRequestDTO fromCsv(Map<String, String> columns) {
+        String stock = columns.get("stock");
+        if (stock == null || stock.isBlank()) {
+            throw new IllegalArgumentException("stock: product stock is required");
+        }
+        String price = columns.get("price");
+        String categories = columns.get("categories");
+        return ProductRequestDTO.builder()
+                .name(columns.get("name"))
+                .description(columns.get("description"))
+                .price(price == null || price.isBlank() ? null : parse("price", price, Double::valueOf))
+                .stock(parse("stock", stock, Integer::valueOf))
+                .categories(categories == null ? null
+                        : Arrays.stream(categories.split("\\" + CATEGORY_SEPARATOR))
+                                .map(String::trim)
+                                .filter(name -> !name.isEmpty())
+                                .map(name -> CategoryRequestDTO.builder().name(name).build())
+                                .toList())
+                .build();
+    }
+
+    private static <T> T parse(String column, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": not a number: " + value);
+        }
+    }
+
+    private String violations(ProductRequestDTO product) {
+        Set<ConstraintViolation<ProductRequestDTO>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void insert(List<PendingRow> chunk, Import result) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductChangedEvent> events = new ArrayList<>(chunk.size());
+        Set<Long> missingCategories = new HashSet<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PendingRow pending : chunk) {
+                    Product product = ProductMapper.toModel(pending.product());
+                    try {
+                        product.setCategories(categoryResolver.resolve(pending.categoryNames()));
+                    } catch (ResourceNotFoundException e) {
+                        result.reject(pending.row(), e.getMessage());
+                        missingCategories.add(pending.row());
+                        continue;
+                    }
+                    product.setCreatedAt(now);
+                    product.setUpdatedAt(now);
+                    productRepository.save(product);
+                    events.add(new ProductChangedEvent(product.getId(), ProductMapper.toDTO(product)));
+                }
+                // the chunk leaves the persistence context with its transaction, so memory stays flat
+                // even when open-in-view holds one session across every chunk of the request
+                entityManager.flush();
+                entityManager.clear();
+                events.forEach(eventPublisher::publishEvent);
+            });
+            result.imported += events.size();
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            if (chunk.size() == 1) {
+                result.reject(chunk.getFirst().row(), "not imported: " + e.getMessage());
+                return;
+            }
+            // replay the rows one per transaction, so only the rows that fail on their own are rejected
+            log.warn("Product import chunk of {} rows rolled back, retrying row by row", chunk.size(), e);
+            for (PendingRow pending : chunk) {
+                if (!missingCategories.contains(pending.row())) {
+                    insert(List.of(pending), result);
+                }
+            }
+        }
+    }
+
+    private final class Import {
+        private final List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<ProductImportErrorDTO> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void accept(long row, ProductRequestDTO product) {
+            String violations = violations(product);
+            if (violations != null) {
+                reject(row, violations);
+                return;
+            }
+            chunk.add(new PendingRow(row, product));
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(ProductImportErrorDTO.builder().row(row).message(message).build());
+            }
+        }
+
+        void flush() {
+            if (!chunk.isEmpty()) {
+                insert(List.copyOf(chunk), this);
+                chunk.clear();
+            }
+        }
+    }
+
+    private record PendingRow(long row, ProductRequestDTO product) {
+        List<String> categoryNames() {
+            return product.getCategories().stream().map(CategoryRequestDTO::getName).toList();
+        }
+    }
+}
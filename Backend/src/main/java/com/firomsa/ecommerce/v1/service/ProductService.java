@@ -1,58 +1,121 @@
 package com.firomsa.ecommerce.v1.service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.firomsa.ecommerce.event.ProductChangedEvent;
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
-import com.firomsa.ecommerce.model.Category;
+import com.firomsa.ecommerce.exception.ValidationException;
 import com.firomsa.ecommerce.model.Image;
 import com.firomsa.ecommerce.model.Product;
-import com.firomsa.ecommerce.repository.CategoryRepository;
 import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.repository.ReviewRepository;
+import com.firomsa.ecommerce.repository.ReviewRow;
+import com.firomsa.ecommerce.search.ProductFacetIndex;
+import com.firomsa.ecommerce.search.ProductSearchIndex;
 import com.firomsa.ecommerce.v1.dto.CategoryRequestDTO;
+import com.firomsa.ecommerce.v1.dto.CursorDTO;
+import com.firomsa.ecommerce.v1.dto.CursorPageDTO;
 import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFilterDTO;
+import com.firomsa.ecommerce.v1.dto.ProductPageDTO;
 import com.firomsa.ecommerce.v1.dto.ProductRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
+import com.firomsa.ecommerce.v1.mapper.CursorMapper;
 import com.firomsa.ecommerce.v1.mapper.ImageMapper;
 import com.firomsa.ecommerce.v1.mapper.ProductMapper;
 import com.firomsa.ecommerce.v1.mapper.ReviewMapper;
 
 @Service
 public class ProductService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final String SORT_CREATED = "created";
+    public static final String SORT_RATING = "rating";
+    public static final String SORT_NEWEST = "newest";
+    private static final LocalDateTime FIRST_PAGE_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID FIRST_PAGE_ID = new UUID(0, 0);
+    // review pages run newest first, so the first page starts after every stored review
+    private static final LocalDateTime FIRST_REVIEW_PAGE_CREATED_AT = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
+    private final ReviewRepository reviewRepository;
+    private final CategoryResolver categoryResolver;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductService(CategoryRepository categoryRepository, ProductRepository productRepository) {
+    public ProductService(CategoryResolver categoryResolver, ProductRepository productRepository,
+            ReviewRepository reviewRepository, ProductSearchIndex productSearchIndex,
+            ProductFacetIndex productFacetIndex, ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
-        this.categoryRepository = categoryRepository;
+        this.reviewRepository = reviewRepository;
+        this.categoryResolver = categoryResolver;
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public List<ProductResponseDTO> getAll() {
-        return productRepository.findAll().stream()
-                .filter(Product::isActive)
-                .map(ProductMapper::toDTO).toList();
+    public ProductPageDTO getAll(ProductFilterDTO filter, int limit, String after, String sort) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new ValidationException("minPrice must not be greater than maxPrice");
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        // fetch one extra row to know whether another page exists
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        CursorDTO cursor = after == null || after.isBlank() ? null : CursorMapper.toDTO(after);
+        List<Product> products = switch (sort) {
+            case SORT_CREATED -> createdPage(filter, cursor, fetchLimit);
+            case SORT_RATING -> ratingPage(filter, cursor, fetchLimit);
+            default -> throw new ValidationException("Unsupported sort: " + sort);
+        };
+
+        String nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            Product last = products.getLast();
+            CursorDTO.CursorDTOBuilder next = CursorDTO.builder().id(last.getId().toString());
+            if (SORT_RATING.equals(sort)) {
+                next.averageRating(last.getRating().getAverageRating());
+            } else {
+                next.createdAt(last.getCreatedAt());
+            }
+            nextCursor = CursorMapper.toToken(next.build());
+        }
+        fetchAssociations(products);
+        return ProductPageDTO.builder()
+                .items(products.stream().map(ProductMapper::toDTO).toList())
+                .nextCursor(nextCursor)
+                .facets(productFacetIndex.facets(filter))
+                .build();
     }
 
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public List<ProductResponseDTO> getAllInActiveProducts() {
-        return productRepository.findAll().stream()
-                .filter(e -> (!e.isActive()))
-                .map(ProductMapper::toDTO).toList();
+        List<Product> products = productRepository.findAllByActiveFalse();
+        fetchAssociations(products);
+        return products.stream().map(ProductMapper::toDTO).toList();
     }
 
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
     public ProductResponseDTO get(UUID id) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findWithCategoriesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product: " + id.toString()));
+        productRepository.fetchProductImages(List.of(id));
         return ProductMapper.toDTO(product);
     }
 
@@ -60,21 +123,14 @@ public class ProductService {
     @PreAuthorize("hasRole('ADMIN')")
     public ProductResponseDTO create(ProductRequestDTO productRequestDTO) {
         Product product = ProductMapper.toModel(productRequestDTO);
-        List<CategoryRequestDTO> requestCategories = productRequestDTO.getCategories();
-        List<Category> categories = new ArrayList<>();
         LocalDateTime now = LocalDateTime.now();
-
-        for (CategoryRequestDTO cat : requestCategories) {
-            Optional<Category> category = categoryRepository.findByName(cat.getName());
-            if (category.isEmpty()) {
-                throw new ResourceNotFoundException("Category: " + cat.getName());
-            }
-            categories.add(category.get());
-        }
         product.setCreatedAt(now);
         product.setUpdatedAt(now);
-        product.setCategories(categories);
-        return ProductMapper.toDTO(productRepository.save(product));
+        product.setCategories(categoryResolver.resolve(categoryNames(productRequestDTO)));
+        Product savedProduct = productRepository.save(product);
+        ProductResponseDTO productResponseDTO = ProductMapper.toDTO(savedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), productResponseDTO));
+        return productResponseDTO;
     }
 
     @Transactional
@@ -87,20 +143,17 @@ public class ProductService {
         product.setDescription(productRequestDTO.getDescription());
         product.setPrice(productRequestDTO.getPrice());
         product.setStock(productRequestDTO.getStock());
-        List<CategoryRequestDTO> requestCategories = productRequestDTO.getCategories();
-        List<Category> categories = new ArrayList<>();
-
-        for (CategoryRequestDTO cat : requestCategories) {
-            Optional<Category> category = categoryRepository.findByName(cat.getName());
-            if (category.isEmpty()) {
-                throw new ResourceNotFoundException("Category: " + cat.getName());
-            }
-            categories.add(category.get());
-        }
-        product.setCategories(categories);
+        product.setCategories(categoryResolver.resolve(categoryNames(productRequestDTO)));
         product.setUpdatedAt(LocalDateTime.now());
 
-        return ProductMapper.toDTO(productRepository.save(product));
+        ProductResponseDTO productResponseDTO = ProductMapper.toDTO(productRepository.save(product));
+        eventPublisher.publishEvent(new ProductChangedEvent(id, productResponseDTO));
+        return productResponseDTO;
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public PageDTO<ProductResponseDTO> search(String query, int page, int size) {
+        return productSearchIndex.search(query, Math.max(page, 0), Math.clamp(size, 1, MAX_PAGE_SIZE));
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
@@ -117,6 +170,7 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product: " +
                         id.toString()));
         productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, null));
     }
 
     @Transactional
@@ -126,13 +180,123 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product: " + id.toString()));
         product.setActive(false);
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, null));
     }
 
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public List<ReviewResponseDTO> getReviews(UUID id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product: " + id.toString()));
-        return product.getReviews().stream().map(ReviewMapper::toDTO).toList();
+    public CursorPageDTO<ReviewResponseDTO> getReviews(UUID id, int limit, String after, String sort) {
+        if (!productRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Product: " + id.toString());
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        CursorDTO cursor = after == null || after.isBlank() ? null : CursorMapper.toDTO(after);
+        List<ReviewRow> reviews = switch (sort) {
+            case SORT_NEWEST -> newestReviewPage(id, cursor, fetchLimit);
+            case SORT_RATING -> topRatedReviewPage(id, cursor, fetchLimit);
+            default -> throw new ValidationException("Unsupported sort: " + sort);
+        };
+
+        String nextCursor = null;
+        if (reviews.size() > pageSize) {
+            reviews = reviews.subList(0, pageSize);
+            ReviewRow last = reviews.getLast();
+            CursorDTO.CursorDTOBuilder next = CursorDTO.builder().id(last.getId().toString());
+            if (SORT_RATING.equals(sort)) {
+                next.rating(last.getRating());
+            } else {
+                next.createdAt(last.getCreatedAt());
+            }
+            nextCursor = CursorMapper.toToken(next.build());
+        }
+        return CursorPageDTO.<ReviewResponseDTO>builder()
+                .items(reviews.stream().map(ReviewMapper::toDTO).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static List<String> categoryNames(ProductRequestDTO productRequestDTO) {
+        return productRequestDTO.getCategories().stream().map(CategoryRequestDTO::getName).toList();
+    }
+
+    private List<Product> createdPage(ProductFilterDTO filter, CursorDTO cursor, Limit fetchLimit) {
+        if (cursor != null && cursor.getCreatedAt() == null) {
+            throw new ValidationException("Cursor does not belong to sort: " + SORT_CREATED);
+        }
+        if (filter.hasCriteria()) {
+            return productRepository.findActiveFilteredPage(
+                    filter.getMinPrice() == null ? -Double.MAX_VALUE : filter.getMinPrice(),
+                    filter.getMaxPrice() == null ? Double.MAX_VALUE : filter.getMaxPrice(),
+                    filter.hasCategories(),
+                    filter.hasCategories() ? filter.getCategories() : List.of(""),
+                    cursor == null ? FIRST_PAGE_CREATED_AT : cursor.getCreatedAt(),
+                    cursor == null ? FIRST_PAGE_ID : parseCursorId(cursor),
+                    fetchLimit);
+        } else if (cursor == null) {
+            return productRepository.findActivePage(fetchLimit);
+        }
+        return productRepository.findActivePageAfter(cursor.getCreatedAt(), parseCursorId(cursor), fetchLimit);
+    }
+
+    // no average reaches Double.MAX_VALUE, so the first page starts before every product whatever the id
+    private List<Product> ratingPage(ProductFilterDTO filter, CursorDTO cursor, Limit fetchLimit) {
+        if (cursor != null && cursor.getAverageRating() == null) {
+            throw new ValidationException("Cursor does not belong to sort: " + SORT_RATING);
+        }
+        return productRepository.findActiveFilteredPageByRating(
+                filter.getMinPrice() == null ? -Double.MAX_VALUE : filter.getMinPrice(),
+                filter.getMaxPrice() == null ? Double.MAX_VALUE : filter.getMaxPrice(),
+                filter.hasCategories(),
+                filter.hasCategories() ? filter.getCategories() : List.of(""),
+                cursor == null ? Double.MAX_VALUE : cursor.getAverageRating(),
+                cursor == null ? FIRST_PAGE_ID : parseCursorId(cursor),
+                fetchLimit);
+    }
+
+    private List<ReviewRow> newestReviewPage(UUID productId, CursorDTO cursor, Limit fetchLimit) {
+        if (cursor != null && cursor.getCreatedAt() == null) {
+            throw new ValidationException("Cursor does not belong to sort: " + SORT_NEWEST);
+        }
+        return reviewRepository.findNewestPageByProductId(productId,
+                cursor == null ? FIRST_REVIEW_PAGE_CREATED_AT : cursor.getCreatedAt(),
+                cursor == null ? Integer.MAX_VALUE : parseReviewCursorId(cursor),
+                fetchLimit);
+    }
+
+    private List<ReviewRow> topRatedReviewPage(UUID productId, CursorDTO cursor, Limit fetchLimit) {
+        if (cursor != null && cursor.getRating() == null) {
+            throw new ValidationException("Cursor does not belong to sort: " + SORT_RATING);
+        }
+        return reviewRepository.findTopRatedPageByProductId(productId,
+                cursor == null ? Integer.MAX_VALUE : cursor.getRating(),
+                cursor == null ? Integer.MAX_VALUE : parseReviewCursorId(cursor),
+                fetchLimit);
+    }
+
+    private void fetchAssociations(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = products.stream().map(Product::getId).toList();
+        productRepository.fetchCategories(ids);
+        productRepository.fetchProductImages(ids);
+    }
+
+    private static int parseReviewCursorId(CursorDTO cursor) {
+        try {
+            return Integer.parseInt(cursor.getId());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid cursor id: " + cursor.getId());
+        }
+    }
+
+    private UUID parseCursorId(CursorDTO cursor) {
+        try {
+            return UUID.fromString(cursor.getId());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor id: " + cursor.getId());
+        }
     }
 
 }
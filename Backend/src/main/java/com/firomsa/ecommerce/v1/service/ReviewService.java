@@ -1,22 +1,38 @@
 package com.firomsa.ecommerce.v1.service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.firomsa.ecommerce.event.ProductRatingChangedEvent;
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
+import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.model.ProductRating;
 import com.firomsa.ecommerce.model.Review;
+import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.repository.RatingCount;
 import com.firomsa.ecommerce.repository.ReviewRepository;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
+import com.firomsa.ecommerce.v1.mapper.ProductRatingMapper;
 import com.firomsa.ecommerce.v1.mapper.ReviewMapper;
 
 @Service
 public class ReviewService {
     private final ReviewRepository reviewRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ReviewService(ReviewRepository reviewRepository) {
+    public ReviewService(ReviewRepository reviewRepository, ProductRepository productRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -31,11 +47,39 @@ public class ReviewService {
         return ReviewMapper.toDTO(image);
     }
 
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void remove(int id) {
-        Review image = reviewRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Review: " +
-                        id));
-        reviewRepository.delete(image);
+        UUID productId = reviewRepository.findProductIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review: " + id));
+        // the product is locked before the review loads it
+        Product product = productRepository.findForUpdateById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product: " + productId));
+        Review review = reviewRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review: " + id));
+        // ratings outside 1 to 5 predate the totals and were never counted
+        if (ProductRating.counts(review.getRating())) {
+            product.getRating().remove(review.getRating());
+            publishRating(product);
+        }
+        reviewRepository.delete(review);
+    }
+
+    // fills the totals of products reviewed before they were kept, returns the number of products filled
+    @Transactional
+    public int backfillRatings() {
+        Map<UUID, Product> products = new LinkedHashMap<>();
+        for (RatingCount count : reviewRepository.countRatingsOfUnratedProducts()) {
+            Product product = products.computeIfAbsent(count.getProductId(),
+                    id -> productRepository.findForUpdateById(id).orElseThrow());
+            product.getRating().add(count.getRating(), count.getReviews());
+        }
+        products.values().forEach(this::publishRating);
+        return products.size();
+    }
+
+    private void publishRating(Product product) {
+        eventPublisher.publishEvent(
+                new ProductRatingChangedEvent(product.getId(), ProductRatingMapper.toDTO(product.getRating())));
     }
 }
@@ -0,0 +1,194 @@
+package com.firomsa.ecommerce.v1.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.firomsa.ecommerce.event.ProductStockChangedEvent;
+import com.firomsa.ecommerce.exception.LimitedProductStockException;
+import com.firomsa.ecommerce.exception.OrderProcessException;
+import com.firomsa.ecommerce.model.Cart;
+import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.model.ReservationStatus;
+import com.firomsa.ecommerce.model.StockReservation;
+import com.firomsa.ecommerce.repository.OrderItemRepository;
+import com.firomsa.ecommerce.repository.ProductQuantity;
+import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.repository.StockReservationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// holds stock between checkout and payment; products.reserved is the authoritative total of active holds,
+// the in-memory counter mirrors it for committed work and only serves as a fast pre-check
+@Service
+@Slf4j
+public class StockReservationService {
+
+    public static final Duration HOLD_DURATION = Duration.ofMinutes(15);
+    private static final int SWEEP_BATCH_SIZE = 100;
+    private static final Comparator<StockReservation> BY_PRODUCT = Comparator
+            .comparing(reservation -> reservation.getProduct().getId());
+
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<UUID, Integer> held = new ConcurrentHashMap<>();
+
+    public StockReservationService(StockReservationRepository stockReservationRepository,
+            ProductRepository productRepository, OrderItemRepository orderItemRepository,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public int getAvailable(Product product) {
+        return product.getStock() - getHeld(product.getId());
+    }
+
+    public int getHeld(UUID productId) {
+        return held.getOrDefault(productId, 0);
+    }
+
+    // runs inside the checkout transaction, products are held in id order so concurrent checkouts lock rows alike
+    public void reserve(Order order, List<Cart> cartItems) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Cart> sorted = cartItems.stream()
+                .sorted(Comparator.comparing(cart -> cart.getProduct().getId()))
+                .toList();
+        for (Cart cart : sorted) {
+            Product product = cart.getProduct();
+            int quantity = cart.getQuantity();
+            if (quantity > getAvailable(product)
+                    || productRepository.reserveStock(product.getId(), quantity) == 0) {
+                throw new LimitedProductStockException("Product Stock Limited");
+            }
+            stockReservationRepository.save(StockReservation.builder()
+                    .order(order)
+                    .product(product)
+                    .quantity(quantity)
+                    .expiresAt(now.plus(HOLD_DURATION))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            afterCommit(() -> adjustHeld(product.getId(), quantity));
+        }
+    }
+
+    // settles every order item in product id order: active holds are converted, whatever they no longer cover
+    // (holds the sweeper released in the meantime) is taken from unreserved stock with a conditional UPDATE;
+    // any shortfall throws and rolls back the decrements already applied
+    public void convert(Order order) {
+        Map<UUID, List<StockReservation>> holds = activeReservations(order).stream()
+                .collect(Collectors.groupingBy(reservation -> reservation.getProduct().getId()));
+        LocalDateTime now = LocalDateTime.now();
+        for (ProductQuantity item : orderItemRepository.findProductQuantitiesByOrder(order)) {
+            UUID productId = item.getProductId();
+            int remaining = item.getQuantity().intValue();
+            for (StockReservation reservation : holds.getOrDefault(productId, List.of())) {
+                if (stockReservationRepository.transition(reservation.getId(), ReservationStatus.ACTIVE,
+                        ReservationStatus.CONVERTED, now) == 0) {
+                    continue;
+                }
+                int quantity = reservation.getQuantity();
+                if (productRepository.convertReservedStock(productId, quantity) == 0) {
+                    throw new OrderProcessException("Product Stock Limited");
+                }
+                afterCommit(() -> adjustHeld(productId, -quantity));
+                remaining -= quantity;
+            }
+            if (remaining > 0 && productRepository.decrementStock(productId, remaining) == 0) {
+                throw new OrderProcessException("Product Stock Limited");
+            }
+            eventPublisher.publishEvent(new ProductStockChangedEvent(productId, -item.getQuantity().intValue()));
+        }
+    }
+
+    public void release(Order order) {
+        LocalDateTime now = LocalDateTime.now();
+        activeReservations(order).forEach(reservation -> releaseReservation(reservation, now));
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.sweep-interval-ms:60000}")
+    public void releaseExpired() {
+        int released;
+        int total = 0;
+        do {
+            released = transactionTemplate.execute(status -> releaseExpiredBatch(LocalDateTime.now()));
+            total += released;
+        } while (released == SWEEP_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Released {} expired stock reservations", total);
+        }
+    }
+
+    public void reloadHeld() {
+        held.clear();
+        for (ProductQuantity item : stockReservationRepository.sumQuantitiesByStatus(ReservationStatus.ACTIVE)) {
+            held.put(item.getProductId(), item.getQuantity().intValue());
+        }
+    }
+
+    private int releaseExpiredBatch(LocalDateTime now) {
+        List<StockReservation> expired = stockReservationRepository.findAllByStatusAndExpiresAtBefore(
+                ReservationStatus.ACTIVE, now, Limit.of(SWEEP_BATCH_SIZE));
+        expired.stream().sorted(BY_PRODUCT).forEach(reservation -> releaseReservation(reservation, now));
+        return expired.size();
+    }
+
+    private void releaseReservation(StockReservation reservation, LocalDateTime now) {
+        if (stockReservationRepository.transition(reservation.getId(), ReservationStatus.ACTIVE,
+                ReservationStatus.RELEASED, now) == 0) {
+            return;
+        }
+        UUID productId = reservation.getProduct().getId();
+        int quantity = reservation.getQuantity();
+        productRepository.releaseReservedStock(productId, quantity);
+        afterCommit(() -> adjustHeld(productId, -quantity));
+    }
+
+    private List<StockReservation> activeReservations(Order order) {
+        return stockReservationRepository.findAllByOrderAndStatus(order, ReservationStatus.ACTIVE).stream()
+                .sorted(BY_PRODUCT)
+                .toList();
+    }
+
+    private void adjustHeld(UUID productId, int delta) {
+        held.compute(productId, (id, count) -> {
+            int next = (count == null ? 0 : count) + delta;
+            return next > 0 ? next : null;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,19 +2,31 @@ package com.firomsa.ecommerce.v1.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.UUID;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.firomsa.ecommerce.event.ProductImageChangedEvent;
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
 import com.firomsa.ecommerce.exception.StorageException;
 import com.firomsa.ecommerce.model.Image;
@@ -22,8 +34,11 @@ import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.repository.ImageRepository;
 import com.firomsa.ecommerce.repository.ProductRepository;
 import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.ImageFileDTO;
 import com.firomsa.ecommerce.v1.mapper.ImageMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -32,31 +47,89 @@ public class StorageService {
 
     private final ImageRepository imageRepository;
     private final ProductRepository productRepository;
-    private final Path rootLocation = Paths.get("/store");
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path rootLocation;
+    private final Timer imageReads;
+
+    @Autowired
+    public StorageService(ProductRepository productRepository, ImageRepository imageRepository,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this(productRepository, imageRepository, eventPublisher, meterRegistry, Paths.get("/store"));
+    }
 
-    public StorageService(ProductRepository productRepository, ImageRepository imageRepository) {
+    StorageService(ProductRepository productRepository, ImageRepository imageRepository,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry, Path rootLocation) {
         this.productRepository = productRepository;
         this.imageRepository = imageRepository;
+        this.eventPublisher = eventPublisher;
+        this.rootLocation = rootLocation;
+        this.imageReads = Timer.builder("storage.image.reads")
+                .description("Image lookups, from the database check to the file's size, date and hash")
+                .register(meterRegistry);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public Resource getImage(String imageName) {
-        if (!imageRepository.existsByName(imageName)) {
-            throw new ResourceNotFoundException("Image: " + imageName);
+    public ImageFileDTO getImage(String imageName) {
+        return imageReads.record(() -> readImage(imageName));
+    }
+
+    // copies count bytes from start; FileChannel.transferTo lets the kernel move the bytes where it can
+    public void writeImage(ImageFileDTO image, long start, long count, OutputStream out) throws IOException {
+        try (FileChannel file = FileChannel.open(image.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long sent = file.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    throw new StorageException("Image file shorter than expected: " + image.getPath().getFileName());
+                }
+                position += sent;
+            }
+        }
+    }
+
+    private ImageFileDTO readImage(String imageName) {
+        Image image = imageRepository.findByName(imageName)
+                .orElseThrow(() -> new ResourceNotFoundException("Image: " + imageName));
+        Path file = this.rootLocation.resolve(imageName);
+        if (!Files.isReadable(file)) {
+            throw new StorageException("Could not read file: " + imageName);
         }
         try {
-            Path file = this.rootLocation.resolve(imageName);
-            Resource resource = new UrlResource(file.toUri());
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new StorageException("Could not read file: " + imageName);
+            if (image.getContentHash() == null) {
+                image.setContentHash(sha256(file));
+                imageRepository.save(image);
+                log.info("Content hash stored for image {}", imageName);
             }
-        } catch (Exception e) {
+            return ImageFileDTO.builder()
+                    .path(file)
+                    .contentType(MediaTypeFactory.getMediaType(imageName).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                    .contentHash(image.getContentHash())
+                    .length(Files.size(file))
+                    .lastModified(Files.getLastModifiedTime(file).toMillis())
+                    .build();
+        } catch (IOException e) {
             throw new StorageException("Could not read file: " + imageName, e);
         }
     }
 
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     public ImageDTO addProductImage(MultipartFile file, UUID id) {
         Product product = productRepository.findById(id)
@@ -80,7 +153,9 @@ public class StorageService {
 
             log.info("adding image file storage");
 
-            try (InputStream inputStream = file.getInputStream()) {
+            // the hash is taken while the upload is copied, so the file is read once
+            MessageDigest digest = sha256();
+            try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
                 Files.copy(inputStream, destinationFile,
                         StandardCopyOption.REPLACE_EXISTING);
             }
@@ -88,12 +163,15 @@ public class StorageService {
             Image image = Image.builder()
                     .name(fileName)
                     .product(product)
+                    .contentHash(HexFormat.of().formatHex(digest.digest()))
                     .build();
 
             log.info("adding image entity to database");
 
             Image savedImage = imageRepository.save(image);
-            return ImageMapper.toDTO(savedImage);
+            ImageDTO imageDTO = ImageMapper.toDTO(savedImage);
+            eventPublisher.publishEvent(new ProductImageChangedEvent(id, imageDTO, false));
+            return imageDTO;
 
         } catch (IOException e) {
             throw new StorageException("Failed to store Product image", e);
@@ -4,15 +4,20 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.firomsa.ecommerce.event.ProductRatingChangedEvent;
 import com.firomsa.ecommerce.exception.EmailAlreadyExistsException;
 import com.firomsa.ecommerce.exception.LimitedProductStockException;
 import com.firomsa.ecommerce.exception.OrderProcessException;
@@ -21,7 +26,9 @@ import com.firomsa.ecommerce.exception.UserNameAlreadyExistsException;
 import com.firomsa.ecommerce.model.Address;
 import com.firomsa.ecommerce.model.Cart;
 import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderEventType;
 import com.firomsa.ecommerce.model.OrderItem;
+import com.firomsa.ecommerce.model.OrderStatus;
 import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.model.Review;
 import com.firomsa.ecommerce.model.Role;
@@ -34,12 +41,16 @@ import com.firomsa.ecommerce.repository.ProductRepository;
 import com.firomsa.ecommerce.repository.ReviewRepository;
 import com.firomsa.ecommerce.repository.RoleRepository;
 import com.firomsa.ecommerce.repository.UserRepository;
+import com.firomsa.ecommerce.security.PrincipalCache;
 import com.firomsa.ecommerce.v1.dto.AddressRequestDTO;
 import com.firomsa.ecommerce.v1.dto.AddressResponseDTO;
 import com.firomsa.ecommerce.v1.dto.CartRequestDTO;
 import com.firomsa.ecommerce.v1.dto.CartResponseDTO;
 import com.firomsa.ecommerce.v1.dto.OrderDetailDTO;
+import com.firomsa.ecommerce.v1.dto.OrderFilterDTO;
 import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
+import com.firomsa.ecommerce.v1.dto.PaymentRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
 import com.firomsa.ecommerce.v1.dto.UserRequestDTO;
@@ -47,10 +58,12 @@ import com.firomsa.ecommerce.v1.dto.UserResponseDTO;
 import com.firomsa.ecommerce.v1.mapper.AddressMapper;
 import com.firomsa.ecommerce.v1.mapper.CartMapper;
 import com.firomsa.ecommerce.v1.mapper.OrderMapper;
+import com.firomsa.ecommerce.v1.mapper.ProductRatingMapper;
 import com.firomsa.ecommerce.v1.mapper.ReviewMapper;
 import com.firomsa.ecommerce.v1.mapper.UserMapper;
-import com.yaphet.chapa.model.InitializeResponseData;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -66,12 +79,23 @@ public class UserService implements UserDetailsService {
     private final CartRepository cartRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
+    private final OrderService orderService;
     private final PaymentService paymentService;
+    private final PrincipalCache principalCache;
+    private final StockReservationService stockReservationService;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer checkoutSucceeded;
+    private final Timer checkoutFailed;
 
     public UserService(PasswordEncoder passwordEncoder, ReviewRepository reviewRepository,
             AddressRepository addressRepository, UserRepository userRepository, RoleRepository roleRepository,
             ProductRepository productRepository, CartRepository cartRepository,
-            OrderItemRepository orderItemRepository, OrderRepository orderRepository, PaymentService paymentService) {
+            OrderItemRepository orderItemRepository, OrderRepository orderRepository, OrderService orderService,
+            PaymentService paymentService, PrincipalCache principalCache, StockReservationService stockReservationService,
+            OutboxService outboxService, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
         this.passwordEncoder = passwordEncoder;
         this.reviewRepository = reviewRepository;
         this.addressRepository = addressRepository;
@@ -81,8 +105,15 @@ public class UserService implements UserDetailsService {
         this.cartRepository = cartRepository;
         this.orderItemRepository = orderItemRepository;
         this.orderRepository = orderRepository;
+        this.orderService = orderService;
         this.paymentService = paymentService;
-
+        this.principalCache = principalCache;
+        this.stockReservationService = stockReservationService;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkoutSucceeded = checkoutTimer(meterRegistry, "success");
+        this.checkoutFailed = checkoutTimer(meterRegistry, "error");
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -153,6 +184,8 @@ public class UserService implements UserDetailsService {
             throw new UserNameAlreadyExistsException(userRequestDTO.getUsername());
         }
 
+        // cached principals are keyed by the old username
+        String previousUsername = user.getUsername();
         user.setLastName(userRequestDTO.getLastName());
         user.setFirstName(userRequestDTO.getFirstName());
         user.setUsername(userRequestDTO.getUsername());
@@ -160,7 +193,9 @@ public class UserService implements UserDetailsService {
         user.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
         user.setUpdatedAt(LocalDateTime.now());
 
-        return UserMapper.toDTO(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        principalCache.invalidate(previousUsername);
+        return UserMapper.toDTO(savedUser);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -168,6 +203,7 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User: " + id.toString()));
         userRepository.delete(user);
+        principalCache.invalidate(user.getUsername());
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -176,6 +212,7 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new ResourceNotFoundException("User: " + id.toString()));
         user.setActive(false);
         userRepository.save(user);
+        principalCache.invalidate(user.getUsername());
     }
 
     @PreAuthorize("hasRole('ADMIN') or authentication.principal.id.equals(#id)")
@@ -195,7 +232,7 @@ public class UserService implements UserDetailsService {
         LocalDateTime now = LocalDateTime.now();
         Cart cart;
         Optional<Cart> existingCart = cartRepository.findByUserAndProduct(user, product);
-        if (cartRequestDTO.getQuantity() > product.getStock()) {
+        if (cartRequestDTO.getQuantity() > stockReservationService.getAvailable(product)) {
             throw new LimitedProductStockException("Product Stock Limited");
         }
         if (existingCart.isPresent()) {
@@ -214,15 +251,50 @@ public class UserService implements UserDetailsService {
     }
 
     @PreAuthorize("hasRole('ADMIN') or authentication.principal.id.equals(#id)")
-    public List<OrderResponseDTO> getOrders(UUID id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User: " + id.toString()));
-        return user.getOrders().stream().map(OrderMapper::toDTO).toList();
+    @Transactional(readOnly = true)
+    public PageDTO<OrderResponseDTO> getOrders(UUID id, OrderFilterDTO filter, int page, int size) {
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User: " + id.toString());
+        }
+        return orderService.getAllByUser(id, filter, page, size);
     }
 
+    // checkout is split so the gateway call never holds a connection or row locks:
+    // a short transaction persists the PENDING order, the gateway is called after it commits,
+    // and a failed initialization is compensated in a transaction of its own
     @PreAuthorize("hasRole('USER') and authentication.principal.id.equals(#id)")
-    @Transactional
     public OrderDetailDTO addOrder(UUID id) {
+        long start = System.nanoTime();
+        try {
+            OrderDetailDTO orderDetailDTO = checkout(id);
+            checkoutSucceeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return orderDetailDTO;
+        } catch (RuntimeException e) {
+            checkoutFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private OrderDetailDTO checkout(UUID id) {
+        String txRef = paymentService.generateTxRef();
+        PlacedOrder placedOrder = transactionTemplate.execute(status -> placeOrder(id, txRef));
+        OrderDetailDTO orderDetailDTO = placedOrder.orderDetail();
+        try {
+            orderDetailDTO.setResponse(paymentService.startTransaction(placedOrder.paymentRequest()));
+        } catch (RuntimeException e) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> cancelOrder(orderDetailDTO.getOrder().getId()));
+            } catch (RuntimeException compensationError) {
+                log.error("Failed to cancel order [{}] after payment initialization failed",
+                        orderDetailDTO.getOrder().getId(), compensationError);
+                e.addSuppressed(compensationError);
+            }
+            throw e;
+        }
+        return orderDetailDTO;
+    }
+
+    private PlacedOrder placeOrder(UUID id, String txRef) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User: " + id.toString()));
         Address defAddress = addressRepository.findByUserAndActive(user, true)
@@ -233,11 +305,6 @@ public class UserService implements UserDetailsService {
             throw new OrderProcessException("The cart doesn't contain any items");
         }
 
-        for (Cart cart : cartItems) {
-            if (cart.getQuantity() > cart.getProduct().getStock()) {
-                throw new LimitedProductStockException("Product Stock Limited");
-            }
-        }
         Double total = cartItems.stream().map(item -> item.getProduct().getPrice() * item.getQuantity())
                 .reduce(Double::sum).orElse(0.0);
         Order order = Order.builder()
@@ -245,8 +312,11 @@ public class UserService implements UserDetailsService {
                 .updatedAt(now)
                 .user(user)
                 .totalPrice(total)
+                .txRef(txRef)
                 .build();
         Order savedOrder = orderRepository.save(order);
+        // holds the stock until the payment webhook converts or releases it
+        stockReservationService.reserve(savedOrder, cartItems);
         List<OrderItem> orderItems = cartItems.stream()
                 .map(item -> OrderItem.builder()
                         .priceAtPurchase(item.getProduct().getPrice())
@@ -258,13 +328,54 @@ public class UserService implements UserDetailsService {
         List<OrderItem> savedOrderItems = orderItemRepository.saveAll(orderItems);
         cartRepository.deleteAllByUser(user);
         savedOrder.setOrderItems(savedOrderItems);
-        InitializeResponseData response = paymentService.startTransaction(savedOrder);
+        outboxService.record(savedOrder, OrderEventType.PLACED);
         OrderDetailDTO orderDetailDTO = OrderDetailDTO.builder()
-                .response(response)
                 .order(OrderMapper.toDTO(savedOrder))
                 .address(AddressMapper.toDTO(defAddress))
                 .build();
-        return orderDetailDTO;
+        PaymentRequestDTO paymentRequestDTO = PaymentRequestDTO.builder()
+                .txRef(txRef)
+                .amount(total)
+                .firstName(defAddress.getFirstName())
+                .lastName(defAddress.getLastName())
+                .email(user.getEmail())
+                .build();
+        return new PlacedOrder(orderDetailDTO, paymentRequestDTO);
+    }
+
+    // compensates placeOrder: the order is cancelled, its holds released and its items put back in the cart
+    private void cancelOrder(Integer orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order: " + orderId));
+        LocalDateTime now = LocalDateTime.now();
+        stockReservationService.release(order);
+        order.setStatus(OrderStatus.CANCELLED);
+        order.setUpdatedAt(now);
+        orderRepository.save(order);
+        outboxService.record(order, OrderEventType.CANCELLED);
+        // the user may have added the same product again meanwhile, a cart holds one row per product
+        List<Cart> carts = order.getOrderItems().stream()
+                .map(item -> restoreCartItem(order.getUser(), item, now))
+                .toList();
+        cartRepository.saveAll(carts);
+        log.warn("Payment initialization failed, cancelled order [{}]", orderId);
+    }
+
+    private Cart restoreCartItem(User user, OrderItem item, LocalDateTime now) {
+        Optional<Cart> existingCart = cartRepository.findByUserAndProduct(user, item.getProduct());
+        if (existingCart.isPresent()) {
+            Cart cart = existingCart.get();
+            cart.setQuantity(cart.getQuantity() + item.getQuantity());
+            cart.setUpdatedAt(now);
+            return cart;
+        }
+        return Cart.builder()
+                .user(user)
+                .product(item.getProduct())
+                .quantity(item.getQuantity())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
     }
 
     @PreAuthorize("hasRole('ADMIN') or authentication.principal.id.equals(#id)")
@@ -347,7 +458,7 @@ public class UserService implements UserDetailsService {
     public ReviewResponseDTO addReviewToReviews(UUID id, ReviewRequestDTO reviewRequestDTO, UUID productId) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User: " + id.toString()));
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findForUpdateById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product: " + productId.toString()));
         Review review = ReviewMapper.toModel(reviewRequestDTO);
         LocalDateTime now = LocalDateTime.now();
@@ -355,7 +466,11 @@ public class UserService implements UserDetailsService {
         review.setProduct(product);
         review.setCreatedAt(now);
         review.setUpdatedAt(now);
-        return ReviewMapper.toDTO(reviewRepository.save(review));
+        ReviewResponseDTO reviewResponseDTO = ReviewMapper.toDTO(reviewRepository.save(review));
+        product.getRating().add(review.getRating());
+        eventPublisher.publishEvent(
+                new ProductRatingChangedEvent(productId, ProductRatingMapper.toDTO(product.getRating())));
+        return reviewResponseDTO;
     }
 
     @Override
@@ -363,4 +478,15 @@ public class UserService implements UserDetailsService {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("USER: " + username + " Not found"));
     }
+
+    // checkout end to end, including the payment gateway call
+    private static Timer checkoutTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("orders.checkout")
+                .description("Order placement and payment initialization")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record PlacedOrder(OrderDetailDTO orderDetail, PaymentRequestDTO paymentRequest) {
+    }
 }
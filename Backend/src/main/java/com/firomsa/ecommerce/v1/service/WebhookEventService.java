@@ -0,0 +1,257 @@
+package com.firomsa.ecommerce.v1.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.firomsa.ecommerce.config.WebhookConfig;
+import com.firomsa.ecommerce.config.WorkerThreads;
+import com.firomsa.ecommerce.model.WebhookEvent;
+import com.firomsa.ecommerce.model.WebhookEventState;
+import com.firomsa.ecommerce.repository.WebhookEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// payment notifications are stored in webhook_events and acknowledged right away, a bounded worker pool
+// applies them to orders afterwards; the table is the durable queue and the pool only holds event ids
+@Service
+@Slf4j
+public class WebhookEventService {
+
+    private static final int RECENT_EVENTS = 10_000;
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final OrderService orderService;
+    private final WebhookConfig webhookConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    // ids handed to the pool and not finished yet, so the sweeper never queues an event twice
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+    // insertion ordered, the oldest keys are dropped first; a miss only means the event table is asked instead
+    private final Map<String, Boolean> recent = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > RECENT_EVENTS;
+        }
+    };
+    // guards recent; virtual threads park on a ReentrantLock, where a monitor would hold their carrier
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private final Timer lag;
+    private final Counter processed;
+    private final Counter failures;
+
+    @Autowired
+    public WebhookEventService(WebhookEventRepository webhookEventRepository, OrderService orderService,
+            WebhookConfig webhookConfig, PlatformTransactionManager transactionManager, WorkerThreads workerThreads,
+            MeterRegistry meterRegistry) {
+        this(webhookEventRepository, orderService, webhookConfig, transactionManager, meterRegistry,
+                new ThreadPoolExecutor(webhookConfig.getWorkers(), webhookConfig.getWorkers(), 0, TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(webhookConfig.getQueueCapacity()),
+                        workerThreads.named("webhook-")));
+    }
+
+    WebhookEventService(WebhookEventRepository webhookEventRepository, OrderService orderService,
+            WebhookConfig webhookConfig, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            Executor executor) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.orderService = orderService;
+        this.webhookConfig = webhookConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        // counted from the table, it includes events the pool had no room for and events waiting for a retry
+        Gauge.builder("webhook.queue.depth", this, WebhookEventService::getDepth)
+                .description("Webhook events received and not processed yet")
+                .register(meterRegistry);
+        this.lag = Timer.builder("webhook.queue.lag")
+                .description("Time between receiving a webhook event and a worker picking it up")
+                .register(meterRegistry);
+        this.processed = Counter.builder("webhook.events.processed").register(meterRegistry);
+        this.failures = Counter.builder("webhook.events.failed").register(meterRegistry);
+    }
+
+    // returns false for a duplicate delivery; the event is dispatched to a worker once its row is committed
+    public boolean enqueue(String txRef, String status, String payload) {
+        String key = key(txRef, status);
+        if (isRecent(key)) {
+            log.info("Duplicate webhook [{}] [{}] acknowledged", txRef, status);
+            return false;
+        }
+        try {
+            WebhookEvent event = transactionTemplate.execute(transaction -> {
+                if (webhookEventRepository.existsByTxRefAndStatus(txRef, status)) {
+                    return null;
+                }
+                // a concurrent delivery of the same notification fails here on the unique key
+                WebhookEvent saved = webhookEventRepository.saveAndFlush(WebhookEvent.builder()
+                        .txRef(txRef)
+                        .status(status)
+                        .payload(payload)
+                        .receivedAt(LocalDateTime.now())
+                        .build());
+                afterCommit(() -> {
+                    remember(key);
+                    dispatch(saved.getId());
+                });
+                return saved;
+            });
+            if (event == null) {
+                remember(key);
+                log.info("Duplicate webhook [{}] [{}] acknowledged", txRef, status);
+                return false;
+            }
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.info("Webhook [{}] [{}] already received by a concurrent delivery", txRef, status);
+            return false;
+        }
+    }
+
+    // picks up events the pool had no room for, events left over from a restart and failed events due a retry
+    @Scheduled(fixedDelayString = "${webhook.sweep-interval-ms:5000}")
+    public void redispatch() {
+        int capacity = webhookConfig.getQueueCapacity() - inFlight.size();
+        if (capacity <= 0) {
+            return;
+        }
+        webhookEventRepository.findAllByStateOrderByReceivedAtAsc(WebhookEventState.RECEIVED, Limit.of(capacity))
+                .forEach(event -> dispatch(event.getId()));
+    }
+
+    public long getDepth() {
+        return webhookEventRepository.countByState(WebhookEventState.RECEIVED);
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    void process(Integer id) {
+        try {
+            WebhookEvent event = webhookEventRepository.findById(id).orElse(null);
+            if (event == null || event.getState() != WebhookEventState.RECEIVED) {
+                return;
+            }
+            lag.record(Duration.between(event.getReceivedAt(), LocalDateTime.now()));
+            int attempts = event.getAttempts();
+            try {
+                boolean claimed = transactionTemplate.execute(transaction -> {
+                    if (webhookEventRepository.claim(id, WebhookEventState.RECEIVED, attempts) == 0) {
+                        return false;
+                    }
+                    orderService.updateStatus(event.getStatus(), event.getTxRef());
+                    event.setAttempts(attempts + 1);
+                    event.setState(WebhookEventState.PROCESSED);
+                    event.setProcessedAt(LocalDateTime.now());
+                    webhookEventRepository.save(event);
+                    return true;
+                });
+                if (claimed) {
+                    processed.increment();
+                }
+            } catch (RuntimeException e) {
+                // the claim was rolled back with the order update, so the attempt is recorded here
+                failures.increment();
+                boolean exhausted = attempts + 1 >= webhookConfig.getMaxAttempts();
+                log.warn("Webhook [{}] [{}] failed on attempt {}{}", event.getTxRef(), event.getStatus(),
+                        attempts + 1, exhausted ? ", giving up" : "", e);
+                WebhookEventState next = exhausted ? WebhookEventState.FAILED : WebhookEventState.RECEIVED;
+                int recorded = transactionTemplate.execute(transaction -> webhookEventRepository.recordFailure(id,
+                        WebhookEventState.RECEIVED, attempts, next, truncate(e.getMessage())));
+                if (recorded == 0) {
+                    log.info("Webhook [{}] [{}] was claimed elsewhere, failed attempt not recorded",
+                            event.getTxRef(), event.getStatus());
+                }
+            }
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    private void dispatch(Integer id) {
+        if (!inFlight.add(id)) {
+            return;
+        }
+        try {
+            executor.execute(() -> process(id));
+        } catch (RejectedExecutionException e) {
+            // backpressure: the event stays RECEIVED and the sweeper offers it again once workers catch up
+            inFlight.remove(id);
+            log.debug("Webhook queue full, event [{}] left for the sweeper", id);
+        }
+    }
+
+    private boolean isRecent(String key) {
+        recentLock.lock();
+        try {
+            return recent.containsKey(key);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private void remember(String key) {
+        recentLock.lock();
+        try {
+            recent.put(key, Boolean.TRUE);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private static String key(String txRef, String status) {
+        return txRef + '\n' + status;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.firomsa.ecommerce.config;
+
+import java.time.Duration;
+
+import com.yaphet.chapa.Chapa;
+import com.yaphet.chapa.model.InitializeResponseData;
+import com.yaphet.chapa.model.PostData;
+
+// answers initialize locally instead of calling the Chapa API, registered by StubChapaConfig
+public class StubChapa extends Chapa {
+
+    public static final String CHECKOUT_URL = "https://checkout.chapa.co/checkout/payment/stub";
+
+    private final Duration latency;
+
+    public StubChapa(String secretKey, Duration latency) {
+        super(secretKey);
+        this.latency = latency;
+    }
+
+    @Override
+    public InitializeResponseData initialize(PostData postData) throws Throwable {
+        if (!latency.isZero()) {
+            Thread.sleep(latency);
+        }
+        InitializeResponseData response = new InitializeResponseData()
+                .setData(new InitializeResponseData.Data().setCheckOutUrl(CHECKOUT_URL));
+        response.setMessage("Hosted Link").setStatus("success").setStatusCode(200);
+        return response;
+    }
+}
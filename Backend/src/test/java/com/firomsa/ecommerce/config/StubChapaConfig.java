@@ -0,0 +1,23 @@
+package com.firomsa.ecommerce.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import com.yaphet.chapa.Chapa;
+
+// replaces the gateway client for tests and load runs that place orders
+@TestConfiguration(proxyBeanMethods = false)
+public class StubChapaConfig {
+
+    // simulated gateway round trip, so load runs block on payment like production does
+    @Bean
+    @Primary
+    public Chapa stubChapa(PaymentConfig paymentConfig,
+            @Value("${chapa.stub-latency:0ms}") Duration latency) {
+        return new StubChapa(paymentConfig.getSecret(), latency);
+    }
+}
@@ -0,0 +1,76 @@
+package com.firomsa.ecommerce.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class VirtualThreadPinningMonitorTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10));
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    public void VirtualThreadPinningMonitor_CountsPinning_WhenBlockingInsideSynchronized() throws Exception {
+        // Arrange
+        Object monitorLock = new Object();
+
+        // Act
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitorLock) {
+                sleep(100);
+            }
+        }).join();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> meterRegistry.counter("jvm.threads.virtual.pinned").count() >= 1);
+    }
+
+    @Test
+    public void VirtualThreadPinningMonitor_Ignores_WhenBlockingInsideLock() throws Exception {
+        // Arrange
+        ReentrantLock lock = new ReentrantLock();
+
+        // Act
+        Thread.ofVirtual().start(() -> {
+            lock.lock();
+            try {
+                sleep(100);
+            } finally {
+                lock.unlock();
+            }
+        }).join();
+
+        // Assert
+        Thread.sleep(1500);
+        assertThat(meterRegistry.counter("jvm.threads.virtual.pinned").count()).isZero();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.firomsa.ecommerce.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.firomsa.ecommerce.model.Address;
+import com.firomsa.ecommerce.model.Cart;
+import com.firomsa.ecommerce.model.Category;
+import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.model.Role;
+import com.firomsa.ecommerce.model.User;
+import com.firomsa.ecommerce.repository.AddressRepository;
+import com.firomsa.ecommerce.repository.CartRepository;
+import com.firomsa.ecommerce.repository.CategoryRepository;
+import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.repository.RoleRepository;
+import com.firomsa.ecommerce.repository.UserRepository;
+
+// writes the dataset straight through the repositories; every row carries the run id, so runs against a shared
+// database never collide and a run is reproducible from its settings alone
+class DatasetSeeder {
+
+    static final String PASSWORD = "load-test-password";
+    private static final int CATEGORIES = 10;
+    private static final int CART_ITEMS = 2;
+    private static final int STOCK = 1_000_000;
+
+    private DatasetSeeder() {
+    }
+
+    static Dataset seed(ApplicationContext context, LoadTestSettings settings, String runId) {
+        LocalDateTime now = LocalDateTime.now();
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        List<Category> categories = categoryRepository.saveAll(IntStream.range(0, CATEGORIES)
+                .mapToObj(i -> Category.builder().name(runId + "-category-" + i).build())
+                .toList());
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Product> products = productRepository.saveAll(IntStream.range(0, settings.products())
+                .mapToObj(i -> Product.builder()
+                        .name(runId + " product " + i)
+                        .description("Load test product " + i)
+                        .price(5.0 + i % 200)
+                        .stock(STOCK)
+                        .categories(new ArrayList<>(List.of(categories.get(i % CATEGORIES))))
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build())
+                .toList());
+
+        // one hash for everybody, BCrypt per user would make seeding take minutes
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        Role role = context.getBean(RoleRepository.class).findByName("USER").orElseThrow();
+        List<User> users = context.getBean(UserRepository.class).saveAll(IntStream.range(0, settings.users())
+                .mapToObj(i -> User.builder()
+                        .username(runId + "-user-" + i)
+                        .email(runId + "-user-" + i + "@example.com")
+                        .firstName("Load")
+                        .lastName("User " + i)
+                        .password(password)
+                        .role(role)
+                        .active(true)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build())
+                .toList());
+
+        context.getBean(AddressRepository.class).saveAll(users.stream()
+                .map(user -> Address.builder()
+                        .user(user)
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .street("Bole Road")
+                        .city("Addis Ababa")
+                        .state("Addis Ababa")
+                        .zipCode("1000")
+                        .country("Ethiopia")
+                        .phone("+251911234567")
+                        .active(true)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build())
+                .toList());
+
+        List<Cart> carts = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            for (int j = 0; j < CART_ITEMS; j++) {
+                carts.add(Cart.builder()
+                        .user(users.get(i))
+                        .product(products.get((i * CART_ITEMS + j) % products.size()))
+                        .quantity(1)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            }
+        }
+        context.getBean(CartRepository.class).saveAll(carts);
+
+        return new Dataset(
+                users.stream().map(user -> new SeededUser(user.getId(), user.getUsername())).toList(),
+                products.stream().map(Product::getId).toList());
+    }
+
+    record Dataset(List<SeededUser> users, List<UUID> productIds) {
+    }
+
+    record SeededUser(UUID id, String username) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.firomsa.ecommerce.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firomsa.ecommerce.loadtest.DatasetSeeder.Dataset;
+import com.firomsa.ecommerce.loadtest.DatasetSeeder.SeededUser;
+
+// closed-loop load: each connection is one shopper on a virtual thread, logged in as its own seeded user,
+// picking the next action from a fixed mix as soon as the previous response arrives
+class LoadGenerator {
+
+    // weights in percent; checkout only happens with something in the cart, otherwise the shopper adds an item
+    enum Action {
+        LOGIN("POST /api/v1/auth/login", 1),
+        LIST_PRODUCTS("GET /api/v1/products", 45),
+        GET_CART("GET /api/v1/users/{id}/carts", 20),
+        ADD_TO_CART("POST /api/v1/users/{id}/carts", 16),
+        GET_ORDERS("GET /api/v1/users/{id}/orders", 12),
+        CHECKOUT("POST /api/v1/users/{id}/orders", 6);
+
+        private final String endpoint;
+        private final int weight;
+
+        Action(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+
+        String endpoint() {
+            return endpoint;
+        }
+
+        static Action pick(int roll) {
+            int bound = 0;
+            for (Action action : values()) {
+                bound += action.weight;
+                if (roll < bound) {
+                    return action;
+                }
+            }
+            return LIST_PRODUCTS;
+        }
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final List<Shopper> shoppers;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // every shopper draws from its own generator seeded from the run seed, so a rerun with the same seed
+    // replays the same action, product and quantity sequence per shopper
+    LoadGenerator(HttpClient client, String baseUrl, Dataset dataset, int connections, long seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.shoppers = IntStream.range(0, connections)
+                .mapToObj(i -> new Shopper(dataset.users().get(i % dataset.users().size()), new Random(seed + i)))
+                .toList();
+    }
+
+    // sessions are opened before any window starts, at most one BCrypt check per core at a time;
+    // a thousand concurrent logins would otherwise swamp the warmup and spill into the measurement
+    void logIn() throws Exception {
+        Semaphore permits = new Semaphore(Runtime.getRuntime().availableProcessors());
+        List<Future<String>> tokens = new ArrayList<>();
+        try (ExecutorService logins = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Shopper shopper : shoppers) {
+                tokens.add(logins.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return shopper.login();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        for (int i = 0; i < shoppers.size(); i++) {
+            shoppers.get(i).token = tokens.get(i).get();
+        }
+    }
+
+    LoadReport run(Duration duration) throws InterruptedException {
+        LoadReport report = new LoadReport();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Shopper shopper : shoppers) {
+                connections.execute(() -> shopper.shopUntil(deadline, report));
+            }
+        }
+        return report;
+    }
+
+    private class Shopper {
+        private final SeededUser user;
+        private final Random random;
+        private String token;
+        // the seeded cart is not empty
+        private boolean cartFilled = true;
+
+        Shopper(SeededUser user, Random random) {
+            this.user = user;
+            this.random = random;
+        }
+
+        void shopUntil(long deadline, LoadReport report) {
+            try {
+                while (System.nanoTime() < deadline) {
+                    Action action = Action.pick(random.nextInt(100));
+                    if (action == Action.CHECKOUT && !cartFilled) {
+                        action = Action.ADD_TO_CART;
+                    }
+                    long start = System.nanoTime();
+                    boolean ok = perform(action);
+                    report.record(action.endpoint(), System.nanoTime() - start, ok);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private boolean perform(Action action) throws InterruptedException {
+            try {
+                return switch (action) {
+                    case LOGIN -> {
+                        token = login();
+                        yield true;
+                    }
+                    case LIST_PRODUCTS -> send(get("/api/v1/products?limit=20")) == 200;
+                    case GET_CART -> send(get("/api/v1/users/" + user.id() + "/carts")) == 200;
+                    case ADD_TO_CART -> {
+                        List<UUID> productIds = dataset.productIds();
+                        UUID productId = productIds.get(random.nextInt(productIds.size()));
+                        int quantity = random.nextInt(1, 4);
+                        boolean ok = send(post("/api/v1/users/" + user.id() + "/carts?productId=" + productId,
+                                "{\"quantity\":" + quantity + "}")) == 201;
+                        cartFilled |= ok;
+                        yield ok;
+                    }
+                    case GET_ORDERS -> send(get("/api/v1/users/" + user.id() + "/orders")) == 200;
+                    case CHECKOUT -> {
+                        boolean ok = send(post("/api/v1/users/" + user.id() + "/orders", "")) == 200;
+                        cartFilled = false;
+                        yield ok;
+                    }
+                };
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private String login() throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + user.username()
+                            + "\",\"password\":\"" + DatasetSeeder.PASSWORD + "\"}"))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + user.username() + ": " + response.body());
+            }
+            return objectMapper.readTree(response.body()).get("accessToken").asText();
+        }
+
+        private int send(HttpRequest request) throws Exception {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+        }
+
+        private HttpRequest post(String path, String body) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.firomsa.ecommerce.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// per-endpoint latencies of one measurement window; every sample is kept so the tail percentiles are exact
+class LoadReport {
+
+    static final String TOTAL = "total";
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        Samples samples = endpoints.computeIfAbsent(endpoint, key -> new Samples());
+        if (ok) {
+            samples.latencies.add(nanos);
+        } else {
+            samples.errors.incrementAndGet();
+        }
+    }
+
+    // rows sorted by endpoint, followed by the total over all endpoints
+    List<Row> rows(Duration window) {
+        List<Row> rows = new ArrayList<>();
+        List<Long> all = new ArrayList<>();
+        long errors = 0;
+        for (String endpoint : endpoints.keySet().stream().sorted().toList()) {
+            Samples samples = endpoints.get(endpoint);
+            List<Long> latencies = List.copyOf(samples.latencies);
+            rows.add(Row.of(endpoint, latencies, samples.errors.get(), window));
+            all.addAll(latencies);
+            errors += samples.errors.get();
+        }
+        rows.add(Row.of(TOTAL, all, errors, window));
+        return rows;
+    }
+
+    static String format(String title, List<Row> rows) {
+        StringBuilder out = new StringBuilder(String.format("%n%s%n%-34s %10s %9s %9s %9s %8s%n", title, "endpoint",
+                "req/s", "p50 ms", "p99 ms", "p999 ms", "errors"));
+        for (Row row : rows) {
+            out.append(String.format("%-34s %10.1f %9.1f %9.1f %9.1f %8d%n", row.endpoint(), row.throughput(),
+                    row.p50(), row.p99(), row.p999(), row.errors()));
+        }
+        return out.toString();
+    }
+
+    static void write(Path file, Object report) throws IOException {
+        new ObjectMapper().findAndRegisterModules().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private static class Samples {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+    }
+
+    record Row(String endpoint, long requests, double throughput, double p50, double p99, double p999, long errors) {
+
+        static Row of(String endpoint, List<Long> latencies, long errors, Duration window) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return new Row(endpoint, sorted.length, sorted.length * 1000.0 / window.toMillis(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999), errors);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
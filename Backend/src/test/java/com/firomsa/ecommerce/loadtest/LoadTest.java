@@ -0,0 +1,27 @@
+package com.firomsa.ecommerce.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+// mvn test -Dtest=LoadTest -Dloadtest=true [-Dloadtest.users=200 -Dloadtest.connections=200 ...],
+// see LoadTestSettings for the knobs; the report is printed and written to target/loadtest-report.json
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class LoadTest {
+
+    @Test
+    public void LoadTest_ShoppingMix_ReportsLatencyPerEndpoint() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        List<LoadReport.Row> rows = LoadTestHarness.run(settings);
+
+        System.out.println(LoadReport.format(settings.toString(), rows));
+        LoadReport.write(Path.of("target", "loadtest-report.json"), Map.of("settings", settings, "endpoints", rows));
+        assertThat(rows.getLast().requests()).isPositive();
+    }
+}
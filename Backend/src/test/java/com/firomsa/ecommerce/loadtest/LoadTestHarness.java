@@ -0,0 +1,64 @@
+package com.firomsa.ecommerce.loadtest;
+
+import java.net.http.HttpClient;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import com.firomsa.ecommerce.EcommerceApplication;
+import com.firomsa.ecommerce.config.StubChapaConfig;
+import com.firomsa.ecommerce.loadtest.DatasetSeeder.Dataset;
+
+// boots the app on a random port with the Chapa stub, seeds a fresh dataset, warms up, then measures one window
+class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    static List<LoadReport.Row> run(LoadTestSettings settings) throws Exception {
+        String runId = "lt" + Long.toString(System.currentTimeMillis(), 36);
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(
+                EcommerceApplication.class, StubChapaConfig.class)
+                .properties(properties(settings, runId))
+                .run()) {
+            Dataset dataset = DatasetSeeder.seed(context, settings, runId);
+            String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            try (HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build()) {
+                LoadGenerator generator = new LoadGenerator(client, baseUrl, dataset, settings.connections(),
+                        settings.seed());
+                generator.logIn();
+                generator.run(settings.warmup());
+                return generator.run(settings.duration()).rows(settings.duration());
+            }
+        }
+    }
+
+    private static String[] properties(LoadTestSettings settings, String runId) throws Exception {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "server.tomcat.max-connections=" + Math.max(8192, settings.connections() * 2),
+                "spring.threads.virtual.enabled=" + settings.virtualThreads(),
+                "chapa.stub-latency=" + settings.gatewayLatency().toMillis() + "ms",
+                // the sweepers and relays run as they do in production
+                "scheduling.enabled=true",
+                "spring.jpa.show-sql=false"));
+        if (settings.inMemory()) {
+            properties.add("spring.datasource.url=jdbc:h2:mem:" + runId);
+        } else {
+            // never drop tables in a database the run did not create, seeded rows are prefixed with the run id
+            properties.add("spring.datasource.url=" + settings.datasourceUrl());
+            properties.add("spring.datasource.driverClassName="
+                    + DriverManager.getDriver(settings.datasourceUrl()).getClass().getName());
+            properties.add("spring.datasource.username=" + settings.datasourceUsername());
+            properties.add("spring.datasource.password=" + settings.datasourcePassword());
+            properties.add("spring.jpa.hibernate.ddl-auto=update");
+        }
+        return properties.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,52 @@
+package com.firomsa.ecommerce.loadtest;
+
+import java.time.Duration;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// load run parameters, read from -Dloadtest.* system properties; without a datasource url the run uses in-memory H2,
+// otherwise e.g. -Dloadtest.datasource.url=jdbc:mariadb://localhost:3306/ecommerce for docker/compose.db.yaml
+record LoadTestSettings(
+        int users,
+        int products,
+        int connections,
+        Duration warmup,
+        Duration duration,
+        Duration gatewayLatency,
+        long seed,
+        boolean virtualThreads,
+        String datasourceUrl,
+        String datasourceUsername,
+        @JsonIgnore String datasourcePassword) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 200),
+                Integer.getInteger("loadtest.products", 500),
+                Integer.getInteger("loadtest.connections", 200),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                Duration.ofMillis(Long.getLong("loadtest.gateway-latency-ms", 300)),
+                Long.getLong("loadtest.seed", 42),
+                Boolean.getBoolean("loadtest.virtual-threads"),
+                System.getProperty("loadtest.datasource.url"),
+                System.getProperty("loadtest.datasource.username"),
+                System.getProperty("loadtest.datasource.password"));
+    }
+
+    LoadTestSettings withVirtualThreads(boolean virtualThreads) {
+        return new LoadTestSettings(users, products, connections, warmup, duration, gatewayLatency, seed,
+                virtualThreads, datasourceUrl, datasourceUsername, datasourcePassword);
+    }
+
+    boolean inMemory() {
+        return datasourceUrl == null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("users=%d products=%d connections=%d warmup=%ss duration=%ss gateway=%sms seed=%d threads=%s db=%s",
+                users, products, connections, warmup.toSeconds(), duration.toSeconds(), gatewayLatency.toMillis(), seed,
+                virtualThreads ? "virtual" : "platform", inMemory() ? "h2" : datasourceUrl);
+    }
+}
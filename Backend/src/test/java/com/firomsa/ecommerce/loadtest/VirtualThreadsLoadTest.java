@@ -0,0 +1,36 @@
+package com.firomsa.ecommerce.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+// the shopping mix at 1k concurrent connections, on Tomcat's platform pool and on virtual threads;
+// run with mvn test -Dtest=VirtualThreadsLoadTest -Dloadtest=true
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class VirtualThreadsLoadTest {
+
+    private static final int CONNECTIONS = 1000;
+
+    @Test
+    public void VirtualThreadsLoadTest_ShoppingMix_ComparesThreadingModes() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        settings = new LoadTestSettings(Math.max(settings.users(), CONNECTIONS), settings.products(), CONNECTIONS,
+                settings.warmup(), settings.duration(), settings.gatewayLatency(), settings.seed(), false,
+                settings.datasourceUrl(), settings.datasourceUsername(), settings.datasourcePassword());
+
+        List<LoadReport.Row> platform = LoadTestHarness.run(settings.withVirtualThreads(false));
+        List<LoadReport.Row> virtual = LoadTestHarness.run(settings.withVirtualThreads(true));
+
+        System.out.println(LoadReport.format(settings.withVirtualThreads(false).toString(), platform));
+        System.out.println(LoadReport.format(settings.withVirtualThreads(true).toString(), virtual));
+        LoadReport.write(Path.of("target", "loadtest-threads-report.json"),
+                Map.of("settings", settings, "platform", platform, "virtual", virtual));
+        assertThat(platform.getLast().requests()).isPositive();
+        assertThat(virtual.getLast().requests()).isPositive();
+    }
+}
@@ -0,0 +1,76 @@
+package com.firomsa.ecommerce.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheRegionMetricsTests {
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private CacheRegionStatistics products;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        given(statistics.getSecondLevelCacheRegionNames())
+                .willReturn(new String[] { "products", "default-update-timestamps-region" });
+        // regions are only read when a meter is, so not every test touches them
+        lenient().when(statistics.getCacheRegionStatistics("products")).thenReturn(products);
+    }
+
+    @Test
+    public void CacheRegionMetrics_BindTo_ReportsHitRatioPerRegion() {
+        // Arrange
+        given(products.getHitCount()).willReturn(30L);
+        given(products.getMissCount()).willReturn(10L);
+        given(products.getPutCount()).willReturn(10L);
+
+        // Act
+        new CacheRegionMetrics(statistics).bindTo(meterRegistry);
+
+        // Assert
+        assertThat(meterRegistry.get("hibernate.cache.hit.ratio").tag("region", "products").gauge().value())
+                .isEqualTo(0.75);
+        assertThat(meterRegistry.get("hibernate.cache.requests").tag("region", "products").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(30);
+        assertThat(meterRegistry.get("hibernate.cache.requests").tag("region", "products").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("hibernate.cache.puts").tag("region", "products").functionCounter().count())
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void CacheRegionMetrics_BindTo_SkipsTimestampsRegion() {
+        // Act
+        new CacheRegionMetrics(statistics).bindTo(meterRegistry);
+
+        // Assert
+        assertThat(meterRegistry.find("hibernate.cache.hit.ratio")
+                .tag("region", "default-update-timestamps-region").gauge()).isNull();
+    }
+
+    @Test
+    public void CacheRegionMetrics_BindTo_ReportsNaN_BeforeAnyLookup() {
+        // Act
+        new CacheRegionMetrics(statistics).bindTo(meterRegistry);
+
+        // Assert
+        assertThat(meterRegistry.get("hibernate.cache.hit.ratio").tag("region", "products").gauge().value()).isNaN();
+    }
+}
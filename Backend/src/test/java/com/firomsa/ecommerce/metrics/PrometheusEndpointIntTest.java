@@ -0,0 +1,72 @@
+package com.firomsa.ecommerce.metrics;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(properties = "management.endpoints.web.exposure.include=health,metrics,prometheus")
+class PrometheusEndpointIntTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "admin", roles = { "ADMIN" })
+    public void PrometheusEndpoint_Scrape_ExposesRequestAndPoolMetrics() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/v1/products"));
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CoreMatchers.containsString("http_server_requests_queries")))
+                .andExpect(content().string(CoreMatchers.containsString("hikaricp_connections_active")))
+                .andExpect(content().string(CoreMatchers.containsString("webhook_queue_lag")));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    public void PrometheusEndpoint_Scrape_Returns403_WhenNotAdmin() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void PrometheusEndpoint_Scrape_ReturnsMetrics_WithScrapeCredential() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CoreMatchers.containsString("hikaricp_connections_active")));
+    }
+
+    @Test
+    public void PrometheusEndpoint_Scrape_Returns401_WhenScrapePasswordWrong() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().exists("WWW-Authenticate"));
+    }
+
+    @Test
+    public void PrometheusEndpoint_ScrapeCredential_IsRejectedOutsideScrapeEndpoint() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("prometheus", "scrape")))
+                .andExpect(status().isUnauthorized());
+    }
+}
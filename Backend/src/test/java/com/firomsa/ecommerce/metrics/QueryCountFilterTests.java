@@ -0,0 +1,74 @@
+package com.firomsa.ecommerce.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+public class QueryCountFilterTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryCountFilter queryCountFilter;
+    private QueryCountInspector inspector;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryCountFilter = new QueryCountFilter(meterRegistry);
+        inspector = new QueryCountInspector();
+    }
+
+    @Test
+    public void QueryCountFilter_DoFilter_RecordsStatementsPerRoute() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/42");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/products/{id}");
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+            inspector.inspect("select 3");
+        };
+
+        // Act
+        queryCountFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        DistributionSummary summary = meterRegistry.get(QueryCountFilter.METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/products/{id}")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    public void QueryCountFilter_DoFilter_TagsUnknown_WhenNoRouteMatched() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/missing");
+
+        // Act
+        queryCountFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        // Assert
+        assertThat(meterRegistry.get(QueryCountFilter.METRIC).tag("uri", "UNKNOWN").summary().totalAmount())
+                .isZero();
+    }
+
+    @Test
+    public void QueryCountInspector_Inspect_IgnoresStatementsOutsideRequest() {
+        // Act
+        inspector.inspect("select 1");
+
+        // Assert
+        QueryCountInspector.begin();
+        assertThat(QueryCountInspector.end()).isZero();
+    }
+}
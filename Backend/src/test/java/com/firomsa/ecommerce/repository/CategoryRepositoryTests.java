@@ -5,13 +5,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.firomsa.ecommerce.model.Category;
 
+import jakarta.persistence.EntityManagerFactory;
+
 @DataJpaTest
 @ActiveProfiles("test")
 public class CategoryRepositoryTests {
@@ -19,6 +26,9 @@ public class CategoryRepositoryTests {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private final Category testCategory1 = Category.builder()
             .name("Electronics")
             .build();
@@ -116,6 +126,19 @@ public class CategoryRepositoryTests {
         assertThat(foundCategory).isEmpty();
     }
 
+    @Test
+    public void CategoryRepository_FindAllByNameIn_ReturnMatchingCategories() {
+        // Arrange
+        categoryRepository.save(testCategory1);
+        categoryRepository.save(testCategory2);
+
+        // Act
+        List<Category> foundCategories = categoryRepository.findAllByNameIn(List.of("Electronics", "NonExistent"));
+
+        // Assert
+        assertThat(foundCategories).extracting(Category::getName).containsExactly("Electronics");
+    }
+
     @Test
     public void CategoryRepository_DeleteById_DeleteCategory() {
         // Arrange
@@ -141,4 +164,42 @@ public class CategoryRepositoryTests {
         // Assert
         assertThat(categoryRepository.existsById(savedCategory.getId())).isFalse();
     }
+
+    // the query cache tests commit their writes, so they clean up after themselves
+    @AfterEach
+    void cleanup() {
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void CategoryRepository_FindByName_ServedFromQueryCache() {
+        // Arrange
+        categoryRepository.save(testCategory1);
+        categoryRepository.findByName("Electronics");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long hits = statistics.getQueryCacheHitCount();
+
+        // Act
+        Optional<Category> foundCategory = categoryRepository.findByName("Electronics");
+
+        // Assert
+        assertThat(foundCategory).isPresent();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void CategoryRepository_FindByName_SeesCategoryAddedAfterCachedMiss() {
+        // Arrange
+        categoryRepository.save(testCategory1);
+        categoryRepository.findByName("Clothing");
+
+        // Act
+        categoryRepository.save(testCategory2);
+        Optional<Category> foundCategory = categoryRepository.findByName("Clothing");
+
+        // Assert
+        assertThat(foundCategory).isPresent();
+    }
 }
@@ -5,16 +5,28 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderItem;
+import com.firomsa.ecommerce.model.OrderStatus;
+import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.model.Role;
 import com.firomsa.ecommerce.model.User;
+import com.firomsa.ecommerce.v1.dto.OrderExportRowDTO;
+
+import jakarta.persistence.EntityManager;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -29,6 +41,15 @@ public class OrderRepositoryTests {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private Role role;
     private User testUser;
     private Order testOrder1;
@@ -199,4 +220,120 @@ public class OrderRepositoryTests {
         // Assert
         assertThat(orderRepository.existsById(savedOrder.getId())).isFalse();
     }
+
+    @Test
+    public void OrderRepository_StreamExportRows_ReturnOneRowPerItem() {
+        // Arrange
+        User savedUser = userRepository.save(testUser);
+        Product product = productRepository.save(Product.builder()
+                .name("Phone")
+                .description("Smart phone")
+                .price(100.0)
+                .stock(10)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        testOrder1.setUser(savedUser);
+        testOrder2.setUser(savedUser);
+        Order withItems = orderRepository.save(testOrder1);
+        Order withoutItems = orderRepository.save(testOrder2);
+        orderItemRepository.save(OrderItem.builder().order(withItems).product(product).priceAtPurchase(100.0)
+                .quantity(1).build());
+        orderItemRepository.save(OrderItem.builder().order(withItems).product(product).priceAtPurchase(90.0)
+                .quantity(2).build());
+
+        // Act
+        List<OrderExportRowDTO> rows;
+        try (Stream<OrderExportRowDTO> stream = orderRepository.streamExportRows(null, null)) {
+            rows = stream.toList();
+        }
+
+        // Assert
+        assertThat(rows).hasSize(3);
+        assertThat(rows).extracting(OrderExportRowDTO::getOrderId)
+                .containsExactly(withItems.getId(), withItems.getId(), withoutItems.getId());
+        assertThat(rows.get(1).getQuantity()).isEqualTo(2);
+        assertThat(rows.get(1).getProductId()).isEqualTo(product.getId());
+        assertThat(rows.get(0).getUserId()).isEqualTo(savedUser.getId());
+        assertThat(rows.get(2).getProductId()).isNull();
+        assertThat(rows.get(2).getTxRef()).isEqualTo("TXN789012");
+    }
+
+    @Test
+    public void OrderRepository_StreamExportRows_FilterByCreatedAt() {
+        // Arrange
+        User savedUser = userRepository.save(testUser);
+        testOrder1.setUser(savedUser);
+        testOrder1.setCreatedAt(LocalDateTime.of(2024, 1, 10, 12, 0));
+        testOrder2.setUser(savedUser);
+        testOrder2.setCreatedAt(LocalDateTime.of(2024, 2, 10, 12, 0));
+        orderRepository.save(testOrder1);
+        orderRepository.save(testOrder2);
+
+        // Act
+        List<OrderExportRowDTO> rows;
+        try (Stream<OrderExportRowDTO> stream = orderRepository
+                .streamExportRows(LocalDateTime.of(2024, 2, 1, 0, 0), null)) {
+            rows = stream.toList();
+        }
+
+        // Assert
+        assertThat(rows).extracting(OrderExportRowDTO::getTxRef).containsExactly("TXN789012");
+    }
+
+    @Test
+    public void OrderRepository_FindPageByUserId_ReturnNewestFirstWithItemsInOneQuery() {
+        // Arrange
+        User savedUser = userRepository.save(testUser);
+        Product product = productRepository.save(Product.builder()
+                .name("Phone")
+                .description("Smart phone")
+                .price(100.0)
+                .stock(10)
+                .active(true)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        for (int day = 1; day <= 3; day++) {
+            Order order = orderRepository.save(Order.builder()
+                    .user(savedUser)
+                    .status(OrderStatus.PAID)
+                    .totalPrice(100.0)
+                    .createdAt(LocalDateTime.of(2024, 3, day, 12, 0))
+                    .updatedAt(LocalDateTime.of(2024, 3, day, 12, 0))
+                    .build());
+            orderItemRepository.save(OrderItem.builder().order(order).product(product).priceAtPurchase(100.0)
+                    .quantity(day).build());
+        }
+        orderRepository.save(Order.builder()
+                .user(savedUser)
+                .status(OrderStatus.CANCELLED)
+                .totalPrice(100.0)
+                .createdAt(LocalDateTime.of(2024, 3, 4, 12, 0))
+                .updatedAt(LocalDateTime.of(2024, 3, 4, 12, 0))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        Page<Order> page = orderRepository.findPageByUserId(savedUser.getId(), OrderStatus.PAID, null, null,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+        orderRepository.fetchOrderItems(page.map(Order::getId).getContent());
+        List<Integer> quantities = page.getContent().stream()
+                .map(order -> order.getOrderItems().getFirst().getQuantity())
+                .toList();
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(Order::getCreatedAt)
+                .containsExactly(LocalDateTime.of(2024, 3, 3, 12, 0), LocalDateTime.of(2024, 3, 2, 12, 0));
+        assertThat(quantities).containsExactly(3, 2);
+        // page, count and items, with no item collection or product loaded on its own
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(3);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Product.class.getName()).getFetchCount()).isZero();
+    }
 }
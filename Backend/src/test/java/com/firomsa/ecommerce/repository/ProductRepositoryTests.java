@@ -7,12 +7,23 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.model.ProductRating;
+
+import jakarta.persistence.EntityManagerFactory;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -21,6 +32,12 @@ public class ProductRepositoryTests {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private final Product testProduct1 = Product.builder()
             .name("Test Product 1")
             .description("A test product")
@@ -127,4 +144,84 @@ public class ProductRepositoryTests {
         // Assert
         assertThat(productRepository.existsById(savedProduct.getId())).isFalse();
     }
+
+    // the cache tests commit their writes, so they clean up after themselves
+    @AfterEach
+    void cleanup() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void ProductRepository_FindById_ServedFromSecondLevelCache() {
+        // Arrange
+        Product savedProduct = productRepository.save(testProduct1);
+        productRepository.findById(savedProduct.getId());
+        CacheRegionStatistics products = productsRegion();
+        long hits = products.getHitCount();
+
+        // Act
+        Optional<Product> foundProduct = productRepository.findById(savedProduct.getId());
+
+        // Assert
+        assertThat(foundProduct).isPresent();
+        assertThat(products.getHitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void ProductRepository_DecrementStock_EvictsCachedProduct() {
+        // Arrange
+        Product savedProduct = productRepository.save(testProduct1);
+        productRepository.findById(savedProduct.getId());
+
+        // Act
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> productRepository.decrementStock(savedProduct.getId(), 3));
+        Optional<Product> foundProduct = productRepository.findById(savedProduct.getId());
+
+        // Assert
+        assertThat(foundProduct).isPresent();
+        assertThat(foundProduct.get().getStock()).isEqualTo(7);
+    }
+
+    @Test
+    public void ProductRepository_FindActiveFilteredPageByRating_OrdersByAverageRatingThenId() {
+        // Arrange
+        Product unrated = productRepository.save(testProduct1);
+        testProduct2.setRating(rated(4, 5));
+        Product best = productRepository.save(testProduct2);
+        Product middle = productRepository.save(Product.builder()
+                .name("Test Product 3")
+                .description("A third test product")
+                .price(300.0)
+                .stock(1)
+                .rating(rated(3, 5))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        // Act
+        List<Product> firstPage = productRepository.findActiveFilteredPageByRating(-Double.MAX_VALUE,
+                Double.MAX_VALUE, false, List.of(""), Double.MAX_VALUE, new UUID(0, 0), Limit.of(2));
+        List<Product> nextPage = productRepository.findActiveFilteredPageByRating(-Double.MAX_VALUE,
+                Double.MAX_VALUE, false, List.of(""), middle.getRating().getAverageRating(), middle.getId(),
+                Limit.of(2));
+
+        // Assert
+        assertThat(firstPage).extracting(Product::getId).containsExactly(best.getId(), middle.getId());
+        assertThat(nextPage).extracting(Product::getId).containsExactly(unrated.getId());
+    }
+
+    private static ProductRating rated(int... ratings) {
+        ProductRating rating = new ProductRating();
+        for (int value : ratings) {
+            rating.add(value);
+        }
+        return rating;
+    }
+
+    private CacheRegionStatistics productsRegion() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCacheRegionStatistics("products");
+    }
 }
@@ -1,16 +1,21 @@
 package com.firomsa.ecommerce.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.firomsa.ecommerce.model.Category;
@@ -19,6 +24,8 @@ import com.firomsa.ecommerce.model.Review;
 import com.firomsa.ecommerce.model.Role;
 import com.firomsa.ecommerce.model.User;
 
+import jakarta.persistence.EntityManager;
+
 @DataJpaTest
 @ActiveProfiles("test")
 public class ReviewRepositoryTests {
@@ -35,6 +42,8 @@ public class ReviewRepositoryTests {
     private RoleRepository roleRepository;
     @Autowired
     private CategoryRepository categoryRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     private Role role;
     private User testUser;
@@ -195,4 +204,115 @@ public class ReviewRepositoryTests {
         // Assert
         assertThat(reviewRepository.existsById(savedReview.getId())).isFalse();
     }
+
+    @Test
+    public void ReviewRepository_FindProductIdById_ReturnProductId() {
+        // Arrange
+        testReview1.setUser(testUser);
+        Review savedReview = reviewRepository.save(testReview1);
+
+        // Act
+        Optional<UUID> productId = reviewRepository.findProductIdById(savedReview.getId());
+
+        // Assert
+        assertThat(productId).contains(testProduct.getId());
+    }
+
+    @Test
+    public void ReviewRepository_CountRatingsOfUnratedProducts_GroupsByRating() {
+        // Arrange
+        testReview1.setUser(testUser);
+        testReview2.setUser(testUser);
+        reviewRepository.save(testReview1);
+        reviewRepository.save(testReview2);
+        reviewRepository.save(Review.builder()
+                .rating(5)
+                .comment("Still great")
+                .user(testUser)
+                .product(testProduct)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        // Act
+        List<RatingCount> counts = reviewRepository.countRatingsOfUnratedProducts();
+
+        // Assert
+        assertThat(counts).extracting(RatingCount::getProductId).containsOnly(testProduct.getId());
+        assertThat(counts).extracting(RatingCount::getRating, RatingCount::getReviews)
+                .containsExactlyInAnyOrder(tuple(4, 1L), tuple(5, 2L));
+    }
+
+    @Test
+    public void ReviewRepository_CountRatingsOfUnratedProducts_SkipsProductsWithTotals() {
+        // Arrange
+        testReview1.setUser(testUser);
+        reviewRepository.save(testReview1);
+        testProduct.getRating().add(testReview1.getRating());
+        productRepository.saveAndFlush(testProduct);
+
+        // Act
+        List<RatingCount> counts = reviewRepository.countRatingsOfUnratedProducts();
+
+        // Assert
+        assertThat(counts).isEmpty();
+    }
+
+    @Test
+    public void ReviewRepository_FindNewestPageByProductId_PagesNewestFirstWithoutLoadingUsers() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Review oldest = reviewRepository.save(review(3, now.minusDays(2)));
+        Review middle = reviewRepository.save(review(5, now.minusDays(1)));
+        Review newest = reviewRepository.save(review(4, now));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<ReviewRow> firstPage = reviewRepository.findNewestPageByProductId(testProduct.getId(),
+                LocalDateTime.of(9999, 12, 31, 0, 0), Integer.MAX_VALUE, Limit.of(2));
+        ReviewRow last = firstPage.getLast();
+        List<ReviewRow> nextPage = reviewRepository.findNewestPageByProductId(testProduct.getId(),
+                last.getCreatedAt(), last.getId(), Limit.of(2));
+
+        // Assert
+        assertThat(firstPage).extracting(ReviewRow::getId).containsExactly(newest.getId(), middle.getId());
+        assertThat(nextPage).extracting(ReviewRow::getId).containsExactly(oldest.getId());
+        assertThat(firstPage.getFirst().getUserId()).isEqualTo(testUser.getId());
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void ReviewRepository_FindTopRatedPageByProductId_PagesHighestRatingFirst() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Review low = reviewRepository.save(review(2, now));
+        Review high = reviewRepository.save(review(5, now));
+        Review alsoHigh = reviewRepository.save(review(5, now));
+
+        // Act
+        List<ReviewRow> firstPage = reviewRepository.findTopRatedPageByProductId(testProduct.getId(),
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Limit.of(2));
+        ReviewRow last = firstPage.getLast();
+        List<ReviewRow> nextPage = reviewRepository.findTopRatedPageByProductId(testProduct.getId(),
+                last.getRating(), last.getId(), Limit.of(2));
+
+        // Assert
+        assertThat(firstPage).extracting(ReviewRow::getId).containsExactly(alsoHigh.getId(), high.getId());
+        assertThat(nextPage).extracting(ReviewRow::getId).containsExactly(low.getId());
+    }
+
+    private Review review(int rating, LocalDateTime createdAt) {
+        return Review.builder()
+                .rating(rating)
+                .comment("Rated " + rating)
+                .user(testUser)
+                .product(testProduct)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
 }
@@ -0,0 +1,180 @@
+package com.firomsa.ecommerce.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.firomsa.ecommerce.event.ProductChangedEvent;
+import com.firomsa.ecommerce.v1.dto.CategoryResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PriceBucketDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFacetsDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFilterDTO;
+import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
+
+public class ProductFacetIndexTests {
+
+    private ProductFacetIndex productFacetIndex;
+    private ProductResponseDTO phone;
+    private ProductResponseDTO laptop;
+    private ProductResponseDTO book;
+
+    @BeforeEach
+    void setup() {
+        productFacetIndex = new ProductFacetIndex();
+        phone = product(299.0, "Electronics", "Mobile Phones");
+        laptop = product(1200.0, "Electronics");
+        book = product(20.0, "Books");
+        productFacetIndex.put(phone);
+        productFacetIndex.put(laptop);
+        productFacetIndex.put(book);
+    }
+
+    @Test
+    public void ProductFacetIndex_Facets_CountsWholeCatalog_WhenNoFilter() {
+        // Act
+        ProductFacetsDTO result = productFacetIndex.facets(ProductFilterDTO.builder().build());
+
+        // Assert
+        assertThat(result.getTotalItems()).isEqualTo(3);
+        assertThat(result.getCategories()).containsEntry("Electronics", 2L)
+                .containsEntry("Mobile Phones", 1L)
+                .containsEntry("Books", 1L);
+        assertThat(result.getPriceBuckets()).extracting(PriceBucketDTO::getCount)
+                .containsExactly(1L, 0L, 0L, 1L, 0L, 1L);
+        assertThat(result.getPriceBuckets().getLast().getMax()).isNull();
+    }
+
+    @Test
+    public void ProductFacetIndex_Facets_KeepsSiblingCategoryCounts_WhenCategorySelected() {
+        // Act
+        ProductFacetsDTO result = productFacetIndex.facets(ProductFilterDTO.builder()
+                .categories(List.of("Books"))
+                .build());
+
+        // Assert
+        assertThat(result.getTotalItems()).isEqualTo(1);
+        assertThat(result.getCategories()).containsEntry("Electronics", 2L).containsEntry("Books", 1L);
+        assertThat(result.getPriceBuckets()).extracting(PriceBucketDTO::getCount)
+                .containsExactly(1L, 0L, 0L, 0L, 0L, 0L);
+    }
+
+    @Test
+    public void ProductFacetIndex_Facets_AppliesPriceRangeToCategoryCounts() {
+        // Act
+        ProductFacetsDTO result = productFacetIndex.facets(ProductFilterDTO.builder()
+                .categories(List.of("Electronics"))
+                .minPrice(100.0)
+                .maxPrice(500.0)
+                .build());
+
+        // Assert
+        assertThat(result.getTotalItems()).isEqualTo(1);
+        assertThat(result.getCategories()).containsEntry("Electronics", 1L).containsEntry("Books", 0L);
+        assertThat(result.getPriceBuckets()).extracting(PriceBucketDTO::getCount)
+                .containsExactly(0L, 0L, 0L, 1L, 0L, 1L);
+    }
+
+    @Test
+    public void ProductFacetIndex_Facets_ChecksEdgeBucketsByPrice() {
+        // Arrange
+        productFacetIndex.put(product(50.0, "Books"));
+        productFacetIndex.put(product(99.0, "Books"));
+        productFacetIndex.put(product(250.0, "Books"));
+        productFacetIndex.put(product(300.0, "Books"));
+
+        // Act
+        ProductFacetsDTO result = productFacetIndex.facets(ProductFilterDTO.builder()
+                .minPrice(60.0)
+                .maxPrice(299.0)
+                .build());
+
+        // Assert
+        // 99 from the lower edge bucket, the whole 100-250 bucket is empty, 250 and 299 from the upper edge
+        assertThat(result.getTotalItems()).isEqualTo(3);
+        assertThat(result.getCategories()).containsEntry("Books", 2L).containsEntry("Electronics", 1L);
+    }
+
+    @Test
+    public void ProductFacetIndex_Facets_TakesOpenEndedBucketsWhole() {
+        // Act
+        ProductFacetsDTO result = productFacetIndex.facets(ProductFilterDTO.builder()
+                .minPrice(250.0)
+                .build());
+
+        // Assert
+        assertThat(result.getTotalItems()).isEqualTo(2);
+        assertThat(result.getCategories()).containsEntry("Electronics", 2L).containsEntry("Books", 0L);
+    }
+
+    @Test
+    public void ProductFacetIndex_Put_ReplacesPreviousFacets() {
+        // Arrange
+        ProductResponseDTO updated = phone.toBuilder()
+                .price(40.0)
+                .categories(List.of(CategoryResponseDTO.builder().name("Books").build()))
+                .build();
+
+        // Act
+        productFacetIndex.put(updated);
+        ProductFacetsDTO result = productFacetIndex.facets(ProductFilterDTO.builder().build());
+
+        // Assert
+        assertThat(result.getTotalItems()).isEqualTo(3);
+        assertThat(result.getCategories()).containsEntry("Mobile Phones", 0L).containsEntry("Books", 2L);
+        assertThat(result.getPriceBuckets().getFirst().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void ProductFacetIndex_OnProductChanged_RemovesDeletedProducts() {
+        // Act
+        productFacetIndex.onProductChanged(new ProductChangedEvent(UUID.fromString(laptop.getId()), null));
+        ProductFacetsDTO result = productFacetIndex.facets(ProductFilterDTO.builder().build());
+
+        // Assert
+        assertThat(result.getTotalItems()).isEqualTo(2);
+        assertThat(result.getCategories()).containsEntry("Electronics", 1L);
+    }
+
+    @Test
+    public void ProductFacetIndex_Put_ReusesOrdinalsOfRemovedProducts() {
+        // Arrange
+        productFacetIndex.remove(UUID.fromString(book.getId()));
+        ProductResponseDTO another = product(60.0, "Books");
+
+        // Act
+        productFacetIndex.put(another);
+        ProductFacetsDTO result = productFacetIndex.facets(ProductFilterDTO.builder()
+                .categories(List.of("Books"))
+                .build());
+
+        // Assert
+        assertThat(result.getTotalItems()).isEqualTo(1);
+        assertThat(result.getPriceBuckets().get(1).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void ProductFacetIndex_BucketOf_ReturnsBucketForPrice() {
+        assertThat(ProductFacetIndex.bucketOf(0)).isEqualTo(0);
+        assertThat(ProductFacetIndex.bucketOf(49.99)).isEqualTo(0);
+        assertThat(ProductFacetIndex.bucketOf(50)).isEqualTo(1);
+        assertThat(ProductFacetIndex.bucketOf(999)).isEqualTo(4);
+        assertThat(ProductFacetIndex.bucketOf(5000)).isEqualTo(5);
+    }
+
+    private static ProductResponseDTO product(double price, String... categories) {
+        return ProductResponseDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .name("Product")
+                .price(price)
+                .active(true)
+                .categories(Arrays.stream(categories)
+                        .map(name -> CategoryResponseDTO.builder().name(name).build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,179 @@
+package com.firomsa.ecommerce.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.firomsa.ecommerce.event.ProductChangedEvent;
+import com.firomsa.ecommerce.event.ProductImageChangedEvent;
+import com.firomsa.ecommerce.event.ProductRatingChangedEvent;
+import com.firomsa.ecommerce.event.ProductStockChangedEvent;
+import com.firomsa.ecommerce.v1.dto.CategoryResponseDTO;
+import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
+import com.firomsa.ecommerce.v1.dto.ProductRatingDTO;
+import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
+
+public class ProductSearchIndexTests {
+
+    private ProductSearchIndex productSearchIndex;
+    private ProductResponseDTO phone;
+    private ProductResponseDTO laptop;
+    private ProductResponseDTO phoneCase;
+
+    @BeforeEach
+    void setup() {
+        productSearchIndex = new ProductSearchIndex();
+        phone = product("Smartphone X", "A fast phone with a great camera", "Electronics");
+        laptop = product("Laptop Pro", "Portable computer for work", "Computers");
+        phoneCase = product("Leather Case", "Protective case for your smartphone", "Accessories");
+        productSearchIndex.put(phone);
+        productSearchIndex.put(laptop);
+        productSearchIndex.put(phoneCase);
+    }
+
+    @Test
+    public void ProductSearchIndex_Search_RanksNameMatchesFirst() {
+        // Act
+        PageDTO<ProductResponseDTO> result = productSearchIndex.search("smartphone", 0, 10);
+
+        // Assert
+        assertThat(result.getTotalItems()).isEqualTo(2);
+        assertThat(result.getItems()).extracting(ProductResponseDTO::getId)
+                .containsExactly(phone.getId(), phoneCase.getId());
+    }
+
+    @Test
+    public void ProductSearchIndex_Search_MatchesPrefix() {
+        // Act
+        PageDTO<ProductResponseDTO> result = productSearchIndex.search("lap", 0, 10);
+
+        // Assert
+        assertThat(result.getItems()).extracting(ProductResponseDTO::getId).containsExactly(laptop.getId());
+    }
+
+    @Test
+    public void ProductSearchIndex_Search_MatchesMisspelledTerms() {
+        // Act
+        PageDTO<ProductResponseDTO> result = productSearchIndex.search("computr", 0, 10);
+
+        // Assert
+        assertThat(result.getItems()).extracting(ProductResponseDTO::getId).containsExactly(laptop.getId());
+    }
+
+    @Test
+    public void ProductSearchIndex_Search_MatchesCategoryNames() {
+        // Act
+        PageDTO<ProductResponseDTO> result = productSearchIndex.search("accessories", 0, 10);
+
+        // Assert
+        assertThat(result.getItems()).extracting(ProductResponseDTO::getId).containsExactly(phoneCase.getId());
+    }
+
+    @Test
+    public void ProductSearchIndex_Search_Paginates() {
+        // Act
+        PageDTO<ProductResponseDTO> result = productSearchIndex.search("smartphone", 1, 1);
+
+        // Assert
+        assertThat(result.getTotalItems()).isEqualTo(2);
+        assertThat(result.getItems()).extracting(ProductResponseDTO::getId).containsExactly(phoneCase.getId());
+    }
+
+    @Test
+    public void ProductSearchIndex_Put_ReplacesPreviousTerms() {
+        // Arrange
+        laptop.setName("Notebook Air");
+
+        // Act
+        productSearchIndex.put(laptop);
+
+        // Assert
+        assertThat(productSearchIndex.search("laptop", 0, 10).getItems()).isEmpty();
+        assertThat(productSearchIndex.search("notebook", 0, 10).getItems()).hasSize(1);
+        assertThat(productSearchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void ProductSearchIndex_OnProductChanged_RemovesDeletedProducts() {
+        // Act
+        productSearchIndex.onProductChanged(new ProductChangedEvent(UUID.fromString(phone.getId()), null));
+
+        // Assert
+        assertThat(productSearchIndex.search("smartphone", 0, 10).getItems())
+                .extracting(ProductResponseDTO::getId).containsExactly(phoneCase.getId());
+        assertThat(productSearchIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void ProductSearchIndex_Put_SkipsInactiveProducts() {
+        // Arrange
+        laptop.setActive(false);
+
+        // Act
+        productSearchIndex.put(laptop);
+
+        // Assert
+        assertThat(productSearchIndex.search("laptop", 0, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    public void ProductSearchIndex_OnProductImageChanged_UpdatesStoredProduct() {
+        // Arrange
+        ImageDTO image = ImageDTO.builder().name("laptop.png").url("/api/images/laptop.png").build();
+
+        // Act
+        productSearchIndex.onProductImageChanged(
+                new ProductImageChangedEvent(UUID.fromString(laptop.getId()), image, false));
+
+        // Assert
+        assertThat(productSearchIndex.search("laptop", 0, 10).getItems().getFirst().getProductImages())
+                .containsExactly(image);
+    }
+
+    @Test
+    public void ProductSearchIndex_OnProductRatingChanged_UpdatesStoredProduct() {
+        // Arrange
+        ProductRatingDTO rating = ProductRatingDTO.builder().count(1).average(4.0)
+                .histogram(List.of(0L, 0L, 0L, 1L, 0L)).build();
+
+        // Act
+        productSearchIndex.onProductRatingChanged(new ProductRatingChangedEvent(UUID.fromString(laptop.getId()), rating));
+
+        // Assert
+        assertThat(productSearchIndex.search("laptop", 0, 10).getItems().getFirst().getRating()).isEqualTo(rating);
+    }
+
+    @Test
+    public void ProductSearchIndex_OnProductStockChanged_UpdatesStoredProduct() {
+        // Act
+        productSearchIndex.onProductStockChanged(new ProductStockChangedEvent(UUID.fromString(laptop.getId()), -1));
+
+        // Assert
+        assertThat(productSearchIndex.search("laptop", 0, 10).getItems().getFirst().getStock()).isZero();
+    }
+
+    @Test
+    public void ProductSearchIndex_WithinEditDistance_Works() {
+        assertThat(ProductSearchIndex.withinEditDistance("phone", "phnoe", 2)).isTrue();
+        assertThat(ProductSearchIndex.withinEditDistance("phone", "phones", 1)).isTrue();
+        assertThat(ProductSearchIndex.withinEditDistance("phone", "drone", 1)).isFalse();
+    }
+
+    private static ProductResponseDTO product(String name, String description, String category) {
+        return ProductResponseDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .name(name)
+                .description(description)
+                .price(10.0)
+                .stock(1)
+                .active(true)
+                .categories(List.of(CategoryResponseDTO.builder().name(category).build()))
+                .productImages(List.of())
+                .build();
+    }
+}
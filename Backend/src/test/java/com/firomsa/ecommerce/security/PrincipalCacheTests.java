@@ -0,0 +1,120 @@
+package com.firomsa.ecommerce.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.firomsa.ecommerce.model.User;
+
+public class PrincipalCacheTests {
+
+    private MutableClock clock;
+    private PrincipalCache principalCache;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        principalCache = new PrincipalCache(2, Duration.ofMinutes(5), clock);
+        user = User.builder().username("firo").build();
+    }
+
+    @Test
+    public void PrincipalCache_Get_ReturnsCachedPrincipal() {
+        // Arrange
+        principalCache.put("firo", "token-1", user, null);
+
+        // Act & Assert
+        assertThat(principalCache.get("firo", "token-1")).isSameAs(user);
+        assertThat(principalCache.get("firo", "token-2")).isNull();
+    }
+
+    @Test
+    public void PrincipalCache_Get_ReturnsNull_AfterTtl() {
+        // Arrange
+        principalCache.put("firo", "token-1", user, null);
+
+        // Act
+        clock.advance(Duration.ofMinutes(5));
+
+        // Assert
+        assertThat(principalCache.get("firo", "token-1")).isNull();
+        assertThat(principalCache.size()).isZero();
+    }
+
+    @Test
+    public void PrincipalCache_Get_ReturnsNull_AfterTokenExpires() {
+        // Arrange
+        principalCache.put("firo", "token-1", user, clock.instant().plus(Duration.ofMinutes(1)));
+
+        // Act
+        clock.advance(Duration.ofMinutes(2));
+
+        // Assert
+        assertThat(principalCache.get("firo", "token-1")).isNull();
+    }
+
+    @Test
+    public void PrincipalCache_Put_EvictsLeastRecentlyUsed_WhenFull() {
+        // Arrange
+        principalCache.put("firo", "token-1", user, null);
+        principalCache.put("abebe", "token-2", user, null);
+        principalCache.get("firo", "token-1");
+
+        // Act
+        principalCache.put("kebede", "token-3", user, null);
+
+        // Assert
+        assertThat(principalCache.size()).isEqualTo(2);
+        assertThat(principalCache.get("firo", "token-1")).isNotNull();
+        assertThat(principalCache.get("abebe", "token-2")).isNull();
+    }
+
+    @Test
+    public void PrincipalCache_Invalidate_RemovesEveryTokenOfUser() {
+        // Arrange
+        principalCache.put("firo", "token-1", user, null);
+        principalCache.put("firo", "token-2", user, null);
+
+        // Act
+        principalCache.invalidate("firo");
+
+        // Assert
+        assertThat(principalCache.size()).isZero();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -17,7 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -29,6 +30,7 @@ import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.repository.CategoryRepository;
 import com.firomsa.ecommerce.repository.ImageRepository;
 import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.v1.dto.ImageFileDTO;
 import com.firomsa.ecommerce.v1.service.StorageService;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -101,13 +103,22 @@ class ImageControllerIntTest {
         @WithMockUser(username = "admin", roles = { "ADMIN" })
         void ImageController_GetImage_ReturnsResource_WhenImageExists() throws Exception {
                 // Arrange
-                UrlResource resource = new UrlResource(Path.of("/tmp").toUri());
-                given(storageService.getImage("img")).willReturn(resource);
+                ImageFileDTO image = ImageFileDTO.builder()
+                                .path(Path.of("/store/img.png"))
+                                .contentType(MediaType.IMAGE_PNG)
+                                .contentHash("abc")
+                                .length(3)
+                                .lastModified(1_700_000_000_000L)
+                                .build();
+                given(storageService.getImage("img")).willReturn(image);
 
                 // Act and Assert
                 mockMvc.perform(get("/api/v1/images/{id}", "img"))
                                 .andDo(print())
-                                .andExpect(status().isOk());
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
+                                .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+                                                "max-age=31536000, private, immutable"));
 
         }
 
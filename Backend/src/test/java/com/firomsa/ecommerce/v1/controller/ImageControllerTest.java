@@ -1,11 +1,17 @@
 package com.firomsa.ecommerce.v1.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.nio.file.Path;
@@ -14,12 +20,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.firomsa.ecommerce.security.JWTSecurityFilter;
 import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.ImageFileDTO;
 import com.firomsa.ecommerce.v1.service.ImageService;
 import com.firomsa.ecommerce.v1.service.JWTAuthService;
 import com.firomsa.ecommerce.v1.service.StorageService;
@@ -53,13 +61,60 @@ class ImageControllerTest {
     }
 
     @Test
-    void getImage_returnsResource() throws Exception {
-        UrlResource resource = new UrlResource(Path.of("/tmp").toUri());
-        given(storageService.getImage("img")).willReturn(resource);
+    void getImage_returnsFileWithCacheHeaders() throws Exception {
+        ImageFileDTO image = image();
+        given(storageService.getImage("img")).willReturn(image);
         mockMvc.perform(get("/api/v1/images/{id}", "img"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 11))
+                .andExpect(content().contentType(MediaType.IMAGE_PNG));
+        verify(storageService, times(1)).writeImage(eq(image), eq(0L), eq(11L), any());
+    }
+
+    @Test
+    void getImage_notModified_whenEtagMatches() throws Exception {
+        given(storageService.getImage("img")).willReturn(image());
+        mockMvc.perform(get("/api/v1/images/{id}", "img").header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+        verify(storageService, never()).writeImage(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getImage_partialContent_forRange() throws Exception {
+        ImageFileDTO image = image();
+        given(storageService.getImage("img")).willReturn(image);
+        mockMvc.perform(get("/api/v1/images/{id}", "img").header(HttpHeaders.RANGE, "bytes=6-"))
+                .andDo(print())
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-10/11"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5));
+        verify(storageService, times(1)).writeImage(eq(image), eq(6L), eq(5L), any());
+    }
+
+    @Test
+    void getImage_rangeNotSatisfiable_whenPastEnd() throws Exception {
+        given(storageService.getImage("img")).willReturn(image());
+        mockMvc.perform(get("/api/v1/images/{id}", "img").header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andDo(print())
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */11"));
+        verify(storageService, never()).writeImage(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getImage_ignoresRange_whenIfRangeIsStale() throws Exception {
+        ImageFileDTO image = image();
+        given(storageService.getImage("img")).willReturn(image);
+        mockMvc.perform(get("/api/v1/images/{id}", "img").header(HttpHeaders.RANGE, "bytes=6-")
+                .header(HttpHeaders.IF_RANGE, "\"old\""))
                 .andDo(print())
                 .andExpect(status().isOk());
-        verify(storageService, times(1)).getImage("img");
+        verify(storageService, times(1)).writeImage(eq(image), eq(0L), eq(11L), any());
     }
 
     @Test
@@ -69,4 +124,14 @@ class ImageControllerTest {
                 .andExpect(status().isNoContent());
         verify(imageService, times(1)).remove("img");
     }
+
+    private static ImageFileDTO image() {
+        return ImageFileDTO.builder()
+                .path(Path.of("/store/img.png"))
+                .contentType(MediaType.IMAGE_PNG)
+                .contentHash("abc")
+                .length(11)
+                .lastModified(1_700_000_000_000L)
+                .build();
+    }
 }
@@ -3,6 +3,8 @@ package com.firomsa.ecommerce.v1.controller;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,16 +26,20 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.firomsa.ecommerce.model.Address;
 import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderItem;
 import com.firomsa.ecommerce.model.OrderStatus;
 import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.model.Role;
 import com.firomsa.ecommerce.model.User;
 import com.firomsa.ecommerce.repository.AddressRepository;
 import com.firomsa.ecommerce.repository.CategoryRepository;
+import com.firomsa.ecommerce.repository.OrderItemRepository;
 import com.firomsa.ecommerce.repository.OrderRepository;
 import com.firomsa.ecommerce.repository.ProductRepository;
 import com.firomsa.ecommerce.repository.UserRepository;
 
+import jakarta.persistence.EntityManager;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
 @Transactional
@@ -56,6 +63,12 @@ class OrderControllerIntTest {
         @Autowired
         private AddressRepository addressRepository;
 
+        @Autowired
+        private OrderItemRepository orderItemRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
         private Role role;
         private User testUser;
         private Product testProduct;
@@ -123,15 +136,112 @@ class OrderControllerIntTest {
                 // Act and Assert
                 mockMvc.perform(get("/api/v1/orders").contentType(MediaType.APPLICATION_JSON))
                                 .andDo(print()).andExpect(status().isOk())
-                                .andExpect(jsonPath("$.size()", CoreMatchers.is(orders.size())))
-                                .andExpect(jsonPath("$[0].status",
+                                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(orders.size())))
+                                .andExpect(jsonPath("$.totalItems", CoreMatchers.is(orders.size())))
+                                .andExpect(jsonPath("$.items[0].status",
                                                 CoreMatchers.is(orders.getFirst().getStatus().toString())))
-                                .andExpect(jsonPath("$[0].totalPrice",
+                                .andExpect(jsonPath("$.items[0].totalPrice",
                                                 CoreMatchers.is(orders.getFirst().getTotalPrice())))
-                                .andExpect(jsonPath("$[0].userId",
+                                .andExpect(jsonPath("$.items[0].userId",
                                                 CoreMatchers.is(orders.getFirst().getUser().getId().toString())));
         }
 
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void OrderController_GetAllOrders_FiltersByStatusAndDate() throws Exception {
+                // Arrange
+                User savedUser = userRepository.save(testUser);
+                productRepository.save(testProduct);
+                Order paid = orderRepository.save(Order.builder()
+                                .user(savedUser)
+                                .status(OrderStatus.PAID)
+                                .totalPrice(99.99)
+                                .createdAt(LocalDateTime.of(2024, 3, 15, 10, 0))
+                                .updatedAt(LocalDateTime.of(2024, 3, 15, 10, 0))
+                                .build());
+                orderItemRepository.save(OrderItem.builder().order(paid).product(testProduct).priceAtPurchase(99.99)
+                                .quantity(1).build());
+                orderRepository.save(Order.builder()
+                                .user(savedUser)
+                                .status(OrderStatus.PENDING)
+                                .totalPrice(10.0)
+                                .createdAt(LocalDateTime.of(2024, 3, 16, 10, 0))
+                                .updatedAt(LocalDateTime.of(2024, 3, 16, 10, 0))
+                                .build());
+                orderRepository.save(Order.builder()
+                                .user(savedUser)
+                                .status(OrderStatus.PAID)
+                                .totalPrice(20.0)
+                                .createdAt(LocalDateTime.of(2024, 4, 1, 0, 0))
+                                .updatedAt(LocalDateTime.of(2024, 4, 1, 0, 0))
+                                .build());
+                entityManager.flush();
+                entityManager.clear();
+
+                // Act and Assert
+                mockMvc.perform(get("/api/v1/orders")
+                                .param("status", "PAID")
+                                .param("from", "2024-03-01")
+                                .param("to", "2024-03-31"))
+                                .andDo(print()).andExpect(status().isOk())
+                                .andExpect(jsonPath("$.totalItems", CoreMatchers.is(1)))
+                                .andExpect(jsonPath("$.items[0].id", CoreMatchers.is(paid.getId())))
+                                .andExpect(jsonPath("$.items[0].orderItems.size()", CoreMatchers.is(1)))
+                                .andExpect(jsonPath("$.items[0].orderItems[0].productId",
+                                                CoreMatchers.is(testProduct.getId().toString())));
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void OrderController_ExportOrders_StreamsOrdersInRange() throws Exception {
+                // Arrange
+                User savedUser = userRepository.save(testUser);
+                Order inRange = orderRepository.save(Order.builder()
+                                .user(savedUser)
+                                .status(OrderStatus.PAID)
+                                .totalPrice(199.98)
+                                .txRef("tx-in-range")
+                                .createdAt(LocalDateTime.of(2024, 3, 15, 10, 0))
+                                .updatedAt(LocalDateTime.of(2024, 3, 15, 10, 0))
+                                .build());
+                orderRepository.save(Order.builder()
+                                .user(savedUser)
+                                .totalPrice(10.0)
+                                .txRef("tx-out-of-range")
+                                .createdAt(LocalDateTime.of(2024, 4, 1, 0, 0))
+                                .updatedAt(LocalDateTime.of(2024, 4, 1, 0, 0))
+                                .build());
+
+                // Act and Assert
+                mockMvc.perform(get("/api/v1/orders/export")
+                                .param("format", "jsonl")
+                                .param("from", "2024-03-01")
+                                .param("to", "2024-03-31"))
+                                .andDo(print()).andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                                .andExpect(content().string(CoreMatchers.containsString(
+                                                "\"orderId\":" + inRange.getId() + ",\"userId\":\"" + savedUser.getId())))
+                                .andExpect(content().string(CoreMatchers.not(
+                                                CoreMatchers.containsString("tx-out-of-range"))));
+        }
+
+        @Test
+        void OrderController_ExportOrders_Returns401_WhenNotAuthenticated() throws Exception {
+                // Act and Assert
+                mockMvc.perform(get("/api/v1/orders/export"))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @WithMockUser(username = "user", roles = { "USER" })
+        void OrderController_ExportOrders_Returns403_WhenNotAdmin() throws Exception {
+                // Act and Assert
+                mockMvc.perform(get("/api/v1/orders/export"))
+                                .andDo(print()).andExpect(status().isForbidden())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+        }
+
         @Test
         void OrderController_GetAllOrders_Returns401_WhenNotAuthenticated() throws Exception {
                 // Act and Assert
@@ -1,14 +1,21 @@
 package com.firomsa.ecommerce.v1.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.hamcrest.CoreMatchers;
@@ -19,9 +26,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.firomsa.ecommerce.model.OrderStatus;
 import com.firomsa.ecommerce.security.JWTSecurityFilter;
+import com.firomsa.ecommerce.v1.dto.OrderFilterDTO;
 import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
 import com.firomsa.ecommerce.v1.service.JWTAuthService;
+import com.firomsa.ecommerce.v1.service.OrderExportService;
 import com.firomsa.ecommerce.v1.service.OrderService;
 
 @WebMvcTest(OrderController.class)
@@ -31,6 +42,9 @@ class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private OrderExportService orderExportService;
+
     @MockitoBean
     private JWTAuthService jwtAuthService;
 
@@ -42,12 +56,38 @@ class OrderControllerTest {
 
     @Test
     void getAllOrders_returnsList() throws Exception {
-        given(orderService.getAll()).willReturn(List.of(OrderResponseDTO.builder().id(1).totalPrice(10.0).build()));
-        mockMvc.perform(get("/api/v1/orders"))
+        OrderFilterDTO filter = OrderFilterDTO.builder().status(OrderStatus.PAID).to(LocalDate.of(2024, 3, 31)).build();
+        given(orderService.getAll(filter, 0, OrderService.DEFAULT_PAGE_SIZE)).willReturn(PageDTO.<OrderResponseDTO>builder()
+                .items(List.of(OrderResponseDTO.builder().id(1).totalPrice(10.0).build()))
+                .page(0)
+                .size(OrderService.DEFAULT_PAGE_SIZE)
+                .totalItems(1)
+                .build());
+        mockMvc.perform(get("/api/v1/orders").param("status", "PAID").param("to", "2024-03-31"))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()", CoreMatchers.is(1)));
-        verify(orderService, times(1)).getAll();
+                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.totalItems", CoreMatchers.is(1)));
+        verify(orderService, times(1)).getAll(filter, 0, OrderService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void exportOrders_streamsCsv() throws Exception {
+        mockMvc.perform(get("/api/v1/orders/export").param("from", "2024-03-01").param("to", "2024-03-31"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", CoreMatchers.startsWith("text/csv")))
+                .andExpect(header().string("Content-Disposition", CoreMatchers.containsString("orders.csv")));
+        verify(orderExportService, times(1)).export(eq("csv"), eq(LocalDate.of(2024, 3, 1)),
+                eq(LocalDate.of(2024, 3, 31)), any(OutputStream.class));
+    }
+
+    @Test
+    void exportOrders_rejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/orders/export").param("format", "xml"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        verify(orderExportService, never()).export(any(), isNull(), isNull(), any(OutputStream.class));
     }
 
     @Test
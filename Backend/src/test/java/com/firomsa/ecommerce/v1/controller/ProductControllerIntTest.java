@@ -1,5 +1,6 @@
 package com.firomsa.ecommerce.v1.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -16,6 +17,8 @@ import java.util.List;
 import java.util.UUID;
 
 import org.hamcrest.CoreMatchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,13 +32,20 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firomsa.ecommerce.model.Image;
 import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.repository.CategoryRepository;
+import com.firomsa.ecommerce.repository.ImageRepository;
 import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.search.ProductFacetIndex;
+import com.firomsa.ecommerce.search.ProductSearchIndex;
 import com.firomsa.ecommerce.v1.dto.ImageDTO;
 import com.firomsa.ecommerce.v1.dto.ProductRequestDTO;
+import com.firomsa.ecommerce.v1.mapper.ProductMapper;
 import com.firomsa.ecommerce.v1.service.StorageService;
 
+import jakarta.persistence.EntityManager;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
 @Transactional
@@ -50,6 +60,18 @@ class ProductControllerIntTest {
         @Autowired
         private CategoryRepository categoryRepository;
 
+        @Autowired
+        private ImageRepository imageRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private ProductSearchIndex productSearchIndex;
+
+        @Autowired
+        private ProductFacetIndex productFacetIndex;
+
         @MockitoBean
         private StorageService storageService;
 
@@ -83,13 +105,203 @@ class ProductControllerIntTest {
                 // Act and Assert
                 mockMvc.perform(get("/api/v1/products").contentType(MediaType.APPLICATION_JSON))
                                 .andDo(print()).andExpect(status().isOk())
-                                .andExpect(jsonPath("$.size()", CoreMatchers.is(products.size())))
-                                .andExpect(jsonPath("$[0].name", CoreMatchers.is(products.getFirst().getName())))
-                                .andExpect(jsonPath("$[0].description",
+                                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(products.size())))
+                                .andExpect(jsonPath("$.items[0].name", CoreMatchers.is(products.getFirst().getName())))
+                                .andExpect(jsonPath("$.items[0].description",
                                                 CoreMatchers.is(products.getFirst().getDescription())))
-                                .andExpect(jsonPath("$[0].price", CoreMatchers.is(products.getFirst().getPrice())))
-                                .andExpect(jsonPath("$[0].stock", CoreMatchers.is(products.getFirst().getStock())))
-                                .andExpect(jsonPath("$[0].active", CoreMatchers.is(products.getFirst().isActive())));
+                                .andExpect(jsonPath("$.items[0].price", CoreMatchers.is(products.getFirst().getPrice())))
+                                .andExpect(jsonPath("$.items[0].stock", CoreMatchers.is(products.getFirst().getStock())))
+                                .andExpect(jsonPath("$.items[0].active", CoreMatchers.is(products.getFirst().isActive())));
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void ProductController_GetAllProducts_PaginatesWithCursor() throws Exception {
+                // Arrange
+                LocalDateTime base = LocalDateTime.now().withNano(0);
+                for (int i = 0; i < 3; i++) {
+                        productRepository.save(Product.builder()
+                                        .name("Paged Product " + i)
+                                        .description("Paged")
+                                        .price(10.0)
+                                        .stock(1)
+                                        .createdAt(base.plusSeconds(i))
+                                        .updatedAt(base.plusSeconds(i))
+                                        .build());
+                }
+                productRepository.save(Product.builder()
+                                .name("Inactive Product")
+                                .description("Hidden")
+                                .price(10.0)
+                                .stock(1)
+                                .active(false)
+                                .createdAt(base)
+                                .updatedAt(base)
+                                .build());
+
+                // Act
+                String firstPage = mockMvc.perform(get("/api/v1/products").param("limit", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(2)))
+                                .andExpect(jsonPath("$.items[0].name", CoreMatchers.is("Paged Product 0")))
+                                .andExpect(jsonPath("$.items[1].name", CoreMatchers.is("Paged Product 1")))
+                                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                                .andReturn().getResponse().getContentAsString();
+                String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+                // Assert
+                mockMvc.perform(get("/api/v1/products").param("limit", "2").param("after", cursor))
+                                .andDo(print()).andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(1)))
+                                .andExpect(jsonPath("$.items[0].name", CoreMatchers.is("Paged Product 2")))
+                                .andExpect(jsonPath("$.nextCursor", CoreMatchers.nullValue()));
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void ProductController_GetAllProducts_UsesConstantQueryCount() throws Exception {
+                // Arrange
+                var categories = categoryRepository.findAll().subList(0, 2);
+                LocalDateTime base = LocalDateTime.now().withNano(0);
+                for (int i = 0; i < 5; i++) {
+                        Product product = productRepository.save(Product.builder()
+                                        .name("Planned Product " + i)
+                                        .description("Planned")
+                                        .price(10.0)
+                                        .stock(1)
+                                        .categories(new ArrayList<>(categories))
+                                        .createdAt(base.plusSeconds(i))
+                                        .updatedAt(base.plusSeconds(i))
+                                        .build());
+                        imageRepository.save(Image.builder().name("planned-" + i + ".png").product(product).build());
+                }
+                entityManager.flush();
+                entityManager.clear();
+                Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                                .getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+
+                // Act
+                mockMvc.perform(get("/api/v1/products").param("limit", "5"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(5)))
+                                .andExpect(jsonPath("$.items[4].categories.size()", CoreMatchers.is(2)))
+                                .andExpect(jsonPath("$.items[4].productImages.size()", CoreMatchers.is(1)));
+
+                // Assert: one page query plus one batched fetch per collection, not 2N+1
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+                statistics.setStatisticsEnabled(false);
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void ProductController_GetProduct_UsesConstantQueryCount() throws Exception {
+                // Arrange
+                var category = categoryRepository.findByName("Electronics").get();
+                testProduct.setCategories(new ArrayList<>(List.of(category)));
+                Product savedProduct = productRepository.save(testProduct);
+                imageRepository.save(Image.builder().name("detail-1.png").product(savedProduct).build());
+                imageRepository.save(Image.builder().name("detail-2.png").product(savedProduct).build());
+                entityManager.flush();
+                entityManager.clear();
+                Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                                .getStatistics();
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+
+                // Act
+                mockMvc.perform(get("/api/v1/products/{id}", savedProduct.getId()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.categories.size()", CoreMatchers.is(1)))
+                                .andExpect(jsonPath("$.productImages.size()", CoreMatchers.is(2)));
+
+                // Assert
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+                statistics.setStatisticsEnabled(false);
+        }
+
+        @Test
+        @WithMockUser(username = "user", roles = { "USER" })
+        void ProductController_SearchProducts_ReturnsRankedMatches() throws Exception {
+                // Arrange
+                var category = categoryRepository.findByName("Electronics").get();
+                testProduct.setName("Searchable Speaker");
+                testProduct.setCategories(new ArrayList<>(List.of(category)));
+                Product savedProduct = productRepository.save(testProduct);
+                productSearchIndex.put(ProductMapper.toDTO(savedProduct));
+
+                try {
+                        // Act and Assert
+                        mockMvc.perform(get("/api/v1/products/search").param("q", "speakr"))
+                                        .andDo(print()).andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.totalItems", CoreMatchers.is(1)))
+                                        .andExpect(jsonPath("$.items[0].id",
+                                                        CoreMatchers.is(savedProduct.getId().toString())));
+                } finally {
+                        productSearchIndex.remove(savedProduct.getId());
+                }
+        }
+
+        @Test
+        @WithMockUser(username = "user", roles = { "USER" })
+        void ProductController_GetAllProducts_FiltersByCategoryAndPrice() throws Exception {
+                // Arrange
+                var electronics = categoryRepository.findByName("Electronics").get();
+                var books = categoryRepository.findByName("Books").get();
+                testProduct.setCategories(new ArrayList<>(List.of(electronics)));
+                Product cheap = productRepository.save(testProduct);
+                Product expensive = productRepository.save(Product.builder()
+                                .name("Expensive Product")
+                                .description("Expensive")
+                                .price(600.0)
+                                .stock(1)
+                                .categories(new ArrayList<>(List.of(electronics)))
+                                .createdAt(LocalDateTime.now())
+                                .updatedAt(LocalDateTime.now())
+                                .build());
+                Product book = productRepository.save(Product.builder()
+                                .name("Book Product")
+                                .description("Book")
+                                .price(30.0)
+                                .stock(1)
+                                .categories(new ArrayList<>(List.of(books)))
+                                .createdAt(LocalDateTime.now())
+                                .updatedAt(LocalDateTime.now())
+                                .build());
+                List<Product> saved = List.of(cheap, expensive, book);
+                saved.forEach(product -> productFacetIndex.put(ProductMapper.toDTO(product)));
+
+                try {
+                        // Act and Assert
+                        mockMvc.perform(get("/api/v1/products").param("category", "Electronics")
+                                        .param("maxPrice", "200"))
+                                        .andDo(print()).andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.items.size()", CoreMatchers.is(1)))
+                                        .andExpect(jsonPath("$.items[0].id",
+                                                        CoreMatchers.is(cheap.getId().toString())))
+                                        .andExpect(jsonPath("$.facets.totalItems", CoreMatchers.is(1)))
+                                        .andExpect(jsonPath("$.facets.categories.Electronics", CoreMatchers.is(1)))
+                                        .andExpect(jsonPath("$.facets.categories.Books", CoreMatchers.is(1)))
+                                        .andExpect(jsonPath("$.facets.priceBuckets[4].count", CoreMatchers.is(1)));
+                } finally {
+                        saved.forEach(product -> productFacetIndex.remove(product.getId()));
+                }
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void ProductController_GetAllProducts_Returns400_WhenMinPriceAboveMaxPrice() throws Exception {
+                // Act and Assert
+                mockMvc.perform(get("/api/v1/products").param("minPrice", "50").param("maxPrice", "10"))
+                                .andDo(print()).andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void ProductController_GetAllProducts_Returns400_WhenCursorInvalid() throws Exception {
+                mockMvc.perform(get("/api/v1/products").param("after", "%%%"))
+                                .andExpect(status().isBadRequest());
         }
 
         @Test
@@ -146,6 +358,36 @@ class ProductControllerIntTest {
                                 .andExpect(jsonPath("$.stock", CoreMatchers.is(productRequest.getStock())));
         }
 
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void ProductController_ImportProducts_ImportsValidRowsAndReportsOthers() throws Exception {
+                // Arrange
+                String csv = """
+                                name,description,price,stock,categories
+                                Imported Phone,Smart phone,199.5,4,Electronics
+                                Imported Shirt,Cotton shirt,abc,2,
+                                Imported Toy,Wooden toy,12,3,NoSuchCategory
+                                ,Nameless,5,1,
+                                Imported Lamp,Desk lamp,30,7,
+                                """;
+                long before = productRepository.count();
+
+                // Act and Assert
+                mockMvc.perform(post("/api/v1/products/import")
+                                .contentType(MediaType.parseMediaType("text/csv"))
+                                .content(csv))
+                                .andDo(print()).andExpect(status().isOk())
+                                .andExpect(jsonPath("$.imported", CoreMatchers.is(2)))
+                                .andExpect(jsonPath("$.failed", CoreMatchers.is(3)))
+                                .andExpect(jsonPath("$.errors[0].row", CoreMatchers.is(2)))
+                                .andExpect(jsonPath("$.errors[0].message", CoreMatchers.is("price: not a number: abc")))
+                                .andExpect(jsonPath("$.errors[1].row", CoreMatchers.is(3)))
+                                .andExpect(jsonPath("$.errors[1].message", CoreMatchers.is("Category: NoSuchCategory")))
+                                .andExpect(jsonPath("$.errors[2].row", CoreMatchers.is(4)))
+                                .andExpect(jsonPath("$.errors[2].message", CoreMatchers.is("name: product name is required")));
+                assertThat(productRepository.count()).isEqualTo(before + 2);
+        }
+
         @Test
         @WithMockUser(username = "admin", roles = { "ADMIN" })
         void ProductController_AddProduct_Returns400_WhenInvalidData() throws Exception {
@@ -288,7 +530,7 @@ class ProductControllerIntTest {
 
         @Test
         @WithMockUser(username = "admin", roles = { "ADMIN" })
-        void ProductController_GetProductReviews_ReturnsListOfReviews_WhenProductExists() throws Exception {
+        void ProductController_GetProductReviews_ReturnsPageOfReviews_WhenProductExists() throws Exception {
                 // Arrange
                 var category = categoryRepository.findByName("Electronics").get();
                 testProduct.setCategories(List.of(category));
@@ -298,7 +540,19 @@ class ProductControllerIntTest {
                 mockMvc.perform(get("/api/v1/products/{id}/reviews", savedProduct.getId())
                                 .contentType(MediaType.APPLICATION_JSON))
                                 .andDo(print()).andExpect(status().isOk())
-                                .andExpect(jsonPath("$", CoreMatchers.isA(List.class)));
+                                .andExpect(jsonPath("$.items", CoreMatchers.isA(List.class)))
+                                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = { "ADMIN" })
+        void ProductController_GetProductReviews_Returns400_WhenSortUnsupported() throws Exception {
+                // Arrange
+                Product savedProduct = productRepository.save(testProduct);
+
+                // Act and Assert
+                mockMvc.perform(get("/api/v1/products/{id}/reviews", savedProduct.getId()).param("sort", "oldest"))
+                                .andExpect(status().isBadRequest());
         }
 
         @Test
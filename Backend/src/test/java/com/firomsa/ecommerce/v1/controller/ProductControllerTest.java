@@ -1,6 +1,9 @@
 package com.firomsa.ecommerce.v1.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -12,7 +15,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.hamcrest.CoreMatchers;
@@ -27,11 +32,19 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.firomsa.ecommerce.security.JWTSecurityFilter;
+import com.firomsa.ecommerce.v1.dto.CursorPageDTO;
 import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFacetsDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFilterDTO;
+import com.firomsa.ecommerce.v1.dto.ProductImportErrorDTO;
+import com.firomsa.ecommerce.v1.dto.ProductImportResultDTO;
+import com.firomsa.ecommerce.v1.dto.ProductPageDTO;
 import com.firomsa.ecommerce.v1.dto.ProductRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
 import com.firomsa.ecommerce.v1.service.JWTAuthService;
+import com.firomsa.ecommerce.v1.service.ProductImportService;
 import com.firomsa.ecommerce.v1.service.ProductService;
 import com.firomsa.ecommerce.v1.service.StorageService;
 
@@ -42,6 +55,9 @@ class ProductControllerTest {
         @MockitoBean
         private ProductService productService;
 
+        @MockitoBean
+        private ProductImportService productImportService;
+
         @MockitoBean
         private JWTAuthService jwtAuthService;
 
@@ -69,12 +85,95 @@ class ProductControllerTest {
 
         @Test
         void getAllProducts_returnsList() throws Exception {
-                given(productService.getAll()).willReturn(List.of(res));
+                given(productService.getAll(ProductFilterDTO.builder().build(), 20, null, ProductService.SORT_CREATED))
+                                .willReturn(ProductPageDTO.builder().items(List.of(res)).build());
                 mockMvc.perform(get("/api/v1/products"))
                                 .andDo(print())
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$.size()", CoreMatchers.is(1)));
-                verify(productService, times(1)).getAll();
+                                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(1)));
+                verify(productService, times(1)).getAll(ProductFilterDTO.builder().build(), 20, null, ProductService.SORT_CREATED);
+        }
+
+        @Test
+        void getAllProducts_passesLimitAndCursor() throws Exception {
+                given(productService.getAll(ProductFilterDTO.builder().build(), 5, "cursor", ProductService.SORT_CREATED))
+                                .willReturn(ProductPageDTO.builder().items(List.of(res))
+                                                .nextCursor("next").build());
+                mockMvc.perform(get("/api/v1/products").param("limit", "5").param("after", "cursor"))
+                                .andDo(print())
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.nextCursor", CoreMatchers.is("next")));
+                verify(productService, times(1)).getAll(ProductFilterDTO.builder().build(), 5, "cursor", ProductService.SORT_CREATED);
+        }
+
+        @Test
+        void getAllProducts_passesSort() throws Exception {
+                given(productService.getAll(ProductFilterDTO.builder().build(), 20, null, ProductService.SORT_RATING))
+                                .willReturn(ProductPageDTO.builder().items(List.of(res)).build());
+                mockMvc.perform(get("/api/v1/products").param("sort", "rating"))
+                                .andDo(print())
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(1)));
+                verify(productService, times(1)).getAll(ProductFilterDTO.builder().build(), 20, null,
+                                ProductService.SORT_RATING);
+        }
+
+        @Test
+        void getAllProducts_passesFilterAndReturnsFacets() throws Exception {
+                ProductFilterDTO filter = ProductFilterDTO.builder()
+                                .categories(List.of("Electronics", "Audio"))
+                                .minPrice(10.0)
+                                .maxPrice(200.0)
+                                .build();
+                ProductFacetsDTO facets = ProductFacetsDTO.builder().totalItems(1)
+                                .categories(Map.of("Electronics", 1L)).build();
+                given(productService.getAll(filter, 20, null, ProductService.SORT_CREATED))
+                                .willReturn(ProductPageDTO.builder().items(List.of(res)).facets(facets).build());
+                mockMvc.perform(get("/api/v1/products").param("category", "Electronics", "Audio")
+                                .param("minPrice", "10").param("maxPrice", "200"))
+                                .andDo(print())
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.facets.totalItems", CoreMatchers.is(1)))
+                                .andExpect(jsonPath("$.facets.categories.Electronics", CoreMatchers.is(1)));
+                verify(productService, times(1)).getAll(filter, 20, null, ProductService.SORT_CREATED);
+        }
+
+        @Test
+        void searchProducts_returnsPage() throws Exception {
+                given(productService.search("phone", 0, 20))
+                                .willReturn(PageDTO.<ProductResponseDTO>builder().items(List.of(res)).totalItems(1)
+                                                .build());
+                mockMvc.perform(get("/api/v1/products/search").param("q", "phone"))
+                                .andDo(print())
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(1)))
+                                .andExpect(jsonPath("$.totalItems", CoreMatchers.is(1)));
+                verify(productService, times(1)).search("phone", 0, 20);
+        }
+
+        @Test
+        void importProducts_returnsResult() throws Exception {
+                MediaType csv = MediaType.parseMediaType("text/csv");
+                ProductImportResultDTO result = ProductImportResultDTO.builder().imported(1).failed(1)
+                                .errors(List.of(ProductImportErrorDTO.builder().row(2)
+                                                .message("price: not a number: x").build()))
+                                .build();
+                given(productImportService.importProducts(any(InputStream.class), eq(csv))).willReturn(result);
+                mockMvc.perform(post("/api/v1/products/import").contentType(csv)
+                                .content("name,description,price,stock,categories\nPhone,Smart,10,5,\nTV,Big,x,1,\n"))
+                                .andDo(print())
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.imported", CoreMatchers.is(1)))
+                                .andExpect(jsonPath("$.errors[0].row", CoreMatchers.is(2)));
+                verify(productImportService, times(1)).importProducts(any(InputStream.class), eq(csv));
+        }
+
+        @Test
+        void importProducts_rejectsUnsupportedFormat() throws Exception {
+                mockMvc.perform(post("/api/v1/products/import").contentType(MediaType.APPLICATION_JSON)
+                                .content("[]"))
+                                .andDo(print())
+                                .andExpect(status().isUnsupportedMediaType());
         }
 
         @Test
@@ -99,6 +198,17 @@ class ProductControllerTest {
                 verify(productService, times(1)).create(org.mockito.ArgumentMatchers.any(ProductRequestDTO.class));
         }
 
+        @Test
+        void addProduct_returns400_whenCategoryNameMissing() throws Exception {
+                mockMvc.perform(post("/api/v1/products")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"name\":\"Phone\",\"description\":\"Smart\",\"price\":10.0,"
+                                                + "\"stock\":5,\"categories\":[{}]}"))
+                                .andDo(print())
+                                .andExpect(status().isBadRequest());
+                verify(productService, never()).create(org.mockito.ArgumentMatchers.any(ProductRequestDTO.class));
+        }
+
         @Test
         void updateProduct_updates() throws Exception {
                 given(productService.update(org.mockito.ArgumentMatchers.any(ProductRequestDTO.class),
@@ -162,13 +272,27 @@ class ProductControllerTest {
         }
 
         @Test
-        void getProductReviews_returnsList() throws Exception {
-                given(productService.getReviews(productId))
-                                .willReturn(List.of(ReviewResponseDTO.builder().id(1).build()));
+        void getProductReviews_returnsPage() throws Exception {
+                given(productService.getReviews(productId, 20, null, ProductService.SORT_NEWEST))
+                                .willReturn(CursorPageDTO.<ReviewResponseDTO>builder()
+                                                .items(List.of(ReviewResponseDTO.builder().id(1).build()))
+                                                .nextCursor("next").build());
                 mockMvc.perform(get("/api/v1/products/{id}/reviews", productId))
                                 .andDo(print())
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$.size()", CoreMatchers.is(1)));
-                verify(productService, times(1)).getReviews(productId);
+                                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(1)))
+                                .andExpect(jsonPath("$.nextCursor", CoreMatchers.is("next")));
+                verify(productService, times(1)).getReviews(productId, 20, null, ProductService.SORT_NEWEST);
+        }
+
+        @Test
+        void getProductReviews_passesLimitCursorAndSort() throws Exception {
+                given(productService.getReviews(productId, 5, "cursor", ProductService.SORT_RATING))
+                                .willReturn(CursorPageDTO.<ReviewResponseDTO>builder().items(List.of()).build());
+                mockMvc.perform(get("/api/v1/products/{id}/reviews", productId).param("limit", "5")
+                                .param("after", "cursor").param("sort", "rating"))
+                                .andDo(print())
+                                .andExpect(status().isOk());
+                verify(productService, times(1)).getReviews(productId, 5, "cursor", ProductService.SORT_RATING);
         }
 }
@@ -1,7 +1,6 @@
 package com.firomsa.ecommerce.v1.controller;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.BDDMockito.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -20,36 +19,38 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firomsa.ecommerce.config.StubChapaConfig;
 import com.firomsa.ecommerce.model.Address;
 import com.firomsa.ecommerce.model.Cart;
-import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderEventType;
+import com.firomsa.ecommerce.model.OutboxEvent;
 import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.model.Role;
 import com.firomsa.ecommerce.model.User;
 import com.firomsa.ecommerce.repository.AddressRepository;
 import com.firomsa.ecommerce.repository.CartRepository;
 import com.firomsa.ecommerce.repository.CategoryRepository;
+import com.firomsa.ecommerce.repository.OutboxEventRepository;
 import com.firomsa.ecommerce.repository.ProductRepository;
 import com.firomsa.ecommerce.repository.UserRepository;
 import com.firomsa.ecommerce.v1.dto.AddressRequestDTO;
 import com.firomsa.ecommerce.v1.dto.CartRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewRequestDTO;
 import com.firomsa.ecommerce.v1.dto.UserRequestDTO;
-import com.firomsa.ecommerce.v1.service.PaymentService;
-import com.yaphet.chapa.model.InitializeResponseData;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@Import(StubChapaConfig.class)
 @Transactional
 class UserControllerIntTest {
 
@@ -72,10 +73,10 @@ class UserControllerIntTest {
         private CartRepository cartRepository;
 
         @Autowired
-        private ObjectMapper objectMapper;
+        private OutboxEventRepository outboxEventRepository;
 
-        @MockitoBean
-        private PaymentService paymentService;
+        @Autowired
+        private ObjectMapper objectMapper;
 
         private Role role;
         private User firstUser;
@@ -285,7 +286,7 @@ class UserControllerIntTest {
                 mockMvc.perform(get("/api/v1/users/{id}/orders", savedUser.getId())
                                 .contentType(MediaType.APPLICATION_JSON))
                                 .andDo(print()).andExpect(status().isOk())
-                                .andExpect(jsonPath("$", CoreMatchers.isA(List.class)));
+                                .andExpect(jsonPath("$.items", CoreMatchers.isA(List.class)));
         }
 
         @Test
@@ -302,12 +303,45 @@ class UserControllerIntTest {
                 Product savedProduct = productRepository.save(testProduct);
                 cartRepository.save(Cart.builder().product(savedProduct).quantity(1).user(savedUser)
                                 .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now()).build());
-                given(paymentService.startTransaction(any(Order.class))).willReturn(new InitializeResponseData());
                 SecurityContextHolder.setContext(getContext(savedUser));
                 // Act and Assert
+                // StubChapaConfig answers payment initialization without calling the gateway
                 mockMvc.perform(post("/api/v1/users/{id}/orders", savedUser.getId())
                                 .contentType(MediaType.APPLICATION_JSON))
-                                .andDo(print()).andExpect(status().isOk());
+                                .andDo(print()).andExpect(status().isOk())
+                                .andExpect(jsonPath("$.order.status", CoreMatchers.is("PENDING")))
+                                .andExpect(jsonPath("$.order.txRef", CoreMatchers.notNullValue()))
+                                .andExpect(jsonPath("$.response.status", CoreMatchers.is("success")));
+                assertThat(cartRepository.findAllByUser(savedUser)).isEmpty();
+                // recorded with the order, the relay only sees it once the order commits
+                assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getType)
+                                .contains(OrderEventType.PLACED);
+        }
+
+        @Test
+        void UserController_CreateOrder_Returns400_WhenStockHeldByPendingOrder() throws Exception {
+                // Arrange
+                testProduct.setStock(1);
+                Product savedProduct = productRepository.save(testProduct);
+                User savedUser = userRepository.save(firstUser);
+                addressRepository.save(Address.builder().firstName("John").lastName("Doe").street("123 Main St")
+                                .city("New York").state("NY").zipCode("10001").country("USA").phone("1234567890")
+                                .active(true).user(savedUser).createdAt(LocalDateTime.now())
+                                .updatedAt(LocalDateTime.now()).build());
+                Cart cart = Cart.builder().product(savedProduct).quantity(1).user(savedUser)
+                                .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now()).build();
+                cartRepository.save(cart);
+                SecurityContextHolder.setContext(getContext(savedUser));
+                mockMvc.perform(post("/api/v1/users/{id}/orders", savedUser.getId()))
+                                .andExpect(status().isOk());
+                cartRepository.save(Cart.builder().product(savedProduct).quantity(1).user(savedUser)
+                                .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now()).build());
+
+                // Act and Assert
+                // the pending order holds the only unit until its payment is converted or released
+                mockMvc.perform(post("/api/v1/users/{id}/orders", savedUser.getId()))
+                                .andDo(print()).andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message", CoreMatchers.is("Product Stock Limited")));
         }
 
         // ========== ADDRESS TESTS ==========
@@ -10,6 +10,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import org.hamcrest.CoreMatchers;
@@ -24,12 +25,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.firomsa.ecommerce.model.Role;
 import com.firomsa.ecommerce.model.User;
 import com.firomsa.ecommerce.security.JWTSecurityFilter;
+import com.firomsa.ecommerce.model.OrderStatus;
 import com.firomsa.ecommerce.v1.dto.AddressRequestDTO;
 import com.firomsa.ecommerce.v1.dto.AddressResponseDTO;
 import com.firomsa.ecommerce.v1.dto.CartRequestDTO;
 import com.firomsa.ecommerce.v1.dto.CartResponseDTO;
 import com.firomsa.ecommerce.v1.dto.OrderDetailDTO;
+import com.firomsa.ecommerce.v1.dto.OrderFilterDTO;
 import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
 import com.firomsa.ecommerce.v1.dto.UserRequestDTO;
@@ -272,15 +276,23 @@ class UserControllerTest {
     @Test
     public void UserController_GetUserOrders_ReturnsOrders() throws Exception {
         // Arrange
-        given(userService.getOrders(firstUser.getId())).willReturn(List.of(orderResponseDTO));
+        OrderFilterDTO filter = OrderFilterDTO.builder().status(OrderStatus.PAID).from(LocalDate.of(2024, 3, 1)).build();
+        given(userService.getOrders(firstUser.getId(), filter, 2, 5)).willReturn(
+                PageDTO.<OrderResponseDTO>builder().items(List.of(orderResponseDTO)).page(2).size(5).totalItems(11)
+                        .build());
 
         // Act & Assert
-        mockMvc.perform(get("/api/v1/users/{id}/orders", firstUser.getId()))
+        mockMvc.perform(get("/api/v1/users/{id}/orders", firstUser.getId())
+                .param("status", "PAID")
+                .param("from", "2024-03-01")
+                .param("page", "2")
+                .param("size", "5"))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()", CoreMatchers.is(1)));
+                .andExpect(jsonPath("$.items.size()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.totalItems", CoreMatchers.is(11)));
 
-        verify(userService, times(1)).getOrders(firstUser.getId());
+        verify(userService, times(1)).getOrders(firstUser.getId(), filter, 2, 5);
     }
 
     @Test
@@ -1,39 +1,56 @@
 package com.firomsa.ecommerce.v1.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.firomsa.ecommerce.config.PaymentConfig;
 import com.firomsa.ecommerce.model.Address;
 import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderItem;
 import com.firomsa.ecommerce.model.OrderStatus;
 import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.model.Role;
 import com.firomsa.ecommerce.model.User;
+import com.firomsa.ecommerce.model.WebhookEvent;
+import com.firomsa.ecommerce.model.WebhookEventState;
 import com.firomsa.ecommerce.repository.AddressRepository;
 import com.firomsa.ecommerce.repository.CategoryRepository;
+import com.firomsa.ecommerce.repository.OrderItemRepository;
 import com.firomsa.ecommerce.repository.OrderRepository;
 import com.firomsa.ecommerce.repository.ProductRepository;
 import com.firomsa.ecommerce.repository.UserRepository;
+import com.firomsa.ecommerce.repository.WebhookEventRepository;
 import com.firomsa.ecommerce.v1.dto.ChapaResponse;
+import com.firomsa.ecommerce.v1.service.WebhookEventService;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
@@ -46,6 +63,9 @@ class WebhookControllerIntTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -58,9 +78,16 @@ class WebhookControllerIntTest {
     @Autowired
     private AddressRepository addressRepository;
 
+    @Autowired
+    private WebhookEventRepository webhookEventRepository;
+
+    @Autowired
+    private WebhookEventService webhookEventService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+
     @Autowired
     private PaymentConfig paymentConfig;
 
@@ -148,6 +175,51 @@ class WebhookControllerIntTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void WebhookController_ChapaWebhook_ProcessesOnce_WhenDeliveredTwice() throws Exception {
+        // Arrange
+        User savedUser = userRepository.save(testUser);
+        Product savedProduct = productRepository.save(testProduct);
+        testOrder.setUser(savedUser);
+        Order savedOrder = orderRepository.save(testOrder);
+        OrderItem savedItem = orderItemRepository.save(OrderItem.builder()
+                .order(savedOrder)
+                .product(savedProduct)
+                .quantity(2)
+                .priceAtPurchase(savedProduct.getPrice())
+                .build());
+        String body = objectMapper.writeValueAsString(ChapaResponse.builder()
+                .status("success")
+                .tx_ref(savedOrder.getTxRef())
+                .build());
+
+        try {
+            // Act
+            for (int i = 0; i < 2; i++) {
+                mockMvc.perform(post("/api/v1/webhook/payment").header("x-chapa-signature", sign(body))
+                        .content(body))
+                        .andExpect(status().isNoContent());
+            }
+
+            // Assert
+            awaitProcessed();
+            assertThat(webhookEventRepository.findAll())
+                    .filteredOn(event -> event.getTxRef().equals(savedOrder.getTxRef()))
+                    .singleElement()
+                    .extracting(WebhookEvent::getState)
+                    .isEqualTo(WebhookEventState.PROCESSED);
+            assertThat(productRepository.findById(savedProduct.getId()).get().getStock()).isEqualTo(8);
+            assertThat(orderRepository.findById(savedOrder.getId()).get().getStatus()).isEqualTo(OrderStatus.PAID);
+        } finally {
+            webhookEventRepository.deleteAll();
+            orderItemRepository.delete(savedItem);
+            orderRepository.delete(savedOrder);
+            productRepository.delete(savedProduct);
+            userRepository.delete(savedUser);
+        }
+    }
+
     @Test
     void WebhookController_ChapaWebhook_Returns401_WhenInvalidSignature() throws Exception {
         // Arrange
@@ -199,4 +271,93 @@ class WebhookControllerIntTest {
                 .content(requestBody))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void WebhookController_ChapaWebhook_DecrementsStockExactly_WhenPaidConcurrently() throws Exception {
+        // Arrange
+        int stock = 5;
+        int orders = 12;
+        testProduct.setStock(stock);
+        User savedUser = userRepository.save(testUser);
+        Product savedProduct = productRepository.save(testProduct);
+        List<Order> savedOrders = new ArrayList<>();
+        List<OrderItem> savedItems = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            Order order = orderRepository.save(Order.builder()
+                    .status(OrderStatus.PENDING)
+                    .totalPrice(savedProduct.getPrice())
+                    .txRef("concurrent-tx-" + i)
+                    .user(savedUser)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            savedOrders.add(order);
+            savedItems.add(orderItemRepository.save(OrderItem.builder()
+                    .order(order)
+                    .product(savedProduct)
+                    .quantity(1)
+                    .priceAtPurchase(savedProduct.getPrice())
+                    .build()));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(orders);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            // Act
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (Order order : savedOrders) {
+                String body = objectMapper.writeValueAsString(ChapaResponse.builder()
+                        .status("success")
+                        .tx_ref(order.getTxRef())
+                        .build());
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/v1/webhook/payment")
+                            .header("x-chapa-signature", sign(body))
+                            .content(body))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> response : responses) {
+                assertThat(response.get(30, TimeUnit.SECONDS)).isEqualTo(HttpStatus.NO_CONTENT.value());
+            }
+
+            // Assert
+            // every delivery is acknowledged, the workers pay what the stock covers and retry the rest until
+            // they give up
+            awaitProcessed();
+            assertThat(webhookEventRepository.findAll())
+                    .filteredOn(event -> event.getState() == WebhookEventState.PROCESSED)
+                    .hasSize(stock);
+            assertThat(productRepository.findById(savedProduct.getId()).get().getStock()).isZero();
+            assertThat(orderRepository.findAllById(savedOrders.stream().map(Order::getId).toList()))
+                    .filteredOn(order -> order.getStatus() == OrderStatus.PAID)
+                    .hasSize(stock);
+        } finally {
+            executor.shutdownNow();
+            webhookEventRepository.deleteAll();
+            orderItemRepository.deleteAll(savedItems);
+            orderRepository.deleteAll(savedOrders);
+            productRepository.delete(savedProduct);
+            userRepository.delete(savedUser);
+        }
+    }
+
+    // scheduling is off in tests, so the sweeper is run here to retry failed events
+    private void awaitProcessed() {
+        Awaitility.await().atMost(30, TimeUnit.SECONDS).pollInterval(100, TimeUnit.MILLISECONDS).until(() -> {
+            webhookEventService.redispatch();
+            return webhookEventRepository.findAll().stream()
+                    .noneMatch(event -> event.getState() == WebhookEventState.RECEIVED);
+        });
+    }
+
+    private String sign(String body) throws Exception {
+        Mac sha256_HMAC = Mac.getInstance("HmacSHA256");
+        sha256_HMAC.init(new SecretKeySpec(paymentConfig.getEncription().getBytes(StandardCharsets.UTF_8),
+                "HmacSHA256"));
+        return HexFormat.of().formatHex(sha256_HMAC.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
 }
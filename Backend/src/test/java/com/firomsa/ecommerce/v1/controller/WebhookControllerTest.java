@@ -24,7 +24,7 @@ import com.firomsa.ecommerce.config.PaymentConfig;
 import com.firomsa.ecommerce.security.JWTSecurityFilter;
 import com.firomsa.ecommerce.v1.dto.ChapaResponse;
 import com.firomsa.ecommerce.v1.service.JWTAuthService;
-import com.firomsa.ecommerce.v1.service.OrderService;
+import com.firomsa.ecommerce.v1.service.WebhookEventService;
 
 @WebMvcTest(WebhookController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -40,7 +40,7 @@ class WebhookControllerTest {
     private JWTSecurityFilter jwtSecurityFilter;
 
     @MockitoBean
-    private OrderService orderService;
+    private WebhookEventService webhookEventService;
 
     @Autowired
     private MockMvc mockMvc;
@@ -71,7 +71,7 @@ class WebhookControllerTest {
                 .andDo(print())
                 .andExpect(status().isNoContent());
 
-        verify(orderService, times(1)).updateStatus("success", "tx");
+        verify(webhookEventService, times(1)).enqueue("tx", "success", body);
     }
 
     @Test
@@ -0,0 +1,111 @@
+package com.firomsa.ecommerce.v1.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.firomsa.ecommerce.exception.ResourceNotFoundException;
+import com.firomsa.ecommerce.model.Category;
+import com.firomsa.ecommerce.repository.CategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryResolverTests {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryResolver categoryResolver;
+    private Category electronics;
+    private Category clothing;
+
+    @BeforeEach
+    void setup() {
+        categoryResolver = new CategoryResolver(categoryRepository);
+        electronics = Category.builder().id(1).name("Electronics").build();
+        clothing = Category.builder().id(2).name("Clothing").build();
+    }
+
+    @Test
+    public void CategoryResolver_Resolve_LoadsUnknownNamesInOneQuery() {
+        // Arrange
+        given(categoryRepository.findAllByNameIn(List.of("Electronics", "Clothing")))
+                .willReturn(List.of(clothing, electronics));
+        given(categoryRepository.getReferenceById(1)).willReturn(electronics);
+        given(categoryRepository.getReferenceById(2)).willReturn(clothing);
+
+        // Act
+        List<Category> categories = categoryResolver.resolve(List.of("Electronics", "Clothing"));
+
+        // Assert
+        assertThat(categories).containsExactly(electronics, clothing);
+        verify(categoryRepository, times(1)).findAllByNameIn(List.of("Electronics", "Clothing"));
+    }
+
+    @Test
+    public void CategoryResolver_Resolve_SkipsQuery_WhenNamesKnown() {
+        // Arrange
+        given(categoryRepository.findAllByNameIn(List.of("Electronics"))).willReturn(List.of(electronics));
+        given(categoryRepository.getReferenceById(1)).willReturn(electronics);
+        categoryResolver.resolve(List.of("Electronics"));
+
+        // Act
+        List<Category> categories = categoryResolver.resolve(List.of("Electronics", "Electronics"));
+
+        // Assert
+        assertThat(categories).containsExactly(electronics);
+        verify(categoryRepository, times(1)).findAllByNameIn(List.of("Electronics"));
+    }
+
+    @Test
+    public void CategoryResolver_Resolve_ReportsEveryMissingName() {
+        // Arrange
+        given(categoryRepository.findAllByNameIn(List.of("Electronics", "Toys", "Books")))
+                .willReturn(List.of(electronics));
+
+        // Act & Assert
+        assertThatThrownBy(() -> categoryResolver.resolve(List.of("Electronics", "Toys", "Books")))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Category: Toys, Books");
+        verify(categoryRepository, never()).getReferenceById(1);
+    }
+
+    @Test
+    public void CategoryResolver_Clear_ReloadsOnNextResolve() {
+        // Arrange
+        given(categoryRepository.findAllByNameIn(List.of("Electronics"))).willReturn(List.of(electronics));
+        given(categoryRepository.getReferenceById(1)).willReturn(electronics);
+        categoryResolver.resolve(List.of("Electronics"));
+
+        // Act
+        categoryResolver.clear();
+        categoryResolver.resolve(List.of("Electronics"));
+
+        // Assert
+        assertThat(categoryResolver.size()).isEqualTo(1);
+        verify(categoryRepository, times(2)).findAllByNameIn(List.of("Electronics"));
+    }
+
+    @Test
+    public void CategoryResolver_Resolve_ReportsNullAndBlankNamesAsMissing() {
+        // Arrange
+        given(categoryRepository.findAllByNameIn(List.of("Electronics"))).willReturn(List.of(electronics));
+
+        // Act & Assert
+        assertThatThrownBy(() -> categoryResolver.resolve(Arrays.asList("Electronics", null, " ")))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Category: null,  ");
+        verify(categoryRepository, times(1)).findAllByNameIn(List.of("Electronics"));
+    }
+}
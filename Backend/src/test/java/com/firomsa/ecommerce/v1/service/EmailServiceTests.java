@@ -1,41 +1,187 @@
 package com.firomsa.ecommerce.v1.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.test.context.ActiveProfiles;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mock.env.MockEnvironment;
 
 import com.firomsa.ecommerce.config.MailConfig;
+import com.firomsa.ecommerce.config.WorkerThreads;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
 
-@ExtendWith(MockitoExtension.class)
-@ActiveProfiles("test")
 public class EmailServiceTests {
 
-    @Mock
-    private JavaMailSender mailSender;
+    // in-memory SMTP server on a local port, stands in for the real mail provider
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
 
-    @Mock
     private MailConfig mailConfig;
-
-    @InjectMocks
+    private WorkerThreads workerThreads;
+    private SimpleMeterRegistry meterRegistry;
     private EmailService emailService;
 
+    @BeforeEach
+    void setup() {
+        mailConfig = new MailConfig();
+        mailConfig.setEmail("no-reply@example.com");
+        mailConfig.setRetryBackoff(Duration.ofMillis(10));
+        workerThreads = new WorkerThreads(new MockEnvironment());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        emailService.stop();
+    }
+
+    @Test
+    public void EmailService_SendSimpleMessage_QueuesWithoutSending() {
+        // Arrange
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        emailService = new EmailService(mailSender, mailConfig, workerThreads, meterRegistry);
+
+        // Act
+        emailService.sendSimpleMessage("to@example.com", "Subject", "Body");
+
+        // Assert
+        assertThat(emailService.getQueued()).isEqualTo(1);
+        verify(mailSender, never()).send(any(SimpleMailMessage[].class));
+    }
+
+    @Test
+    public void EmailService_SendBatch_DeliversQueuedMailOverSmtp() throws Exception {
+        // Arrange
+        emailService = new EmailService(smtpSender(), mailConfig, workerThreads, meterRegistry);
+        for (int i = 0; i < 3; i++) {
+            emailService.sendSimpleMessage("user" + i + "@example.com", "Account Verification", "12345" + i);
+        }
+
+        // Act
+        int sent = emailService.sendBatch(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(sent).isEqualTo(3);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getSubject()).isEqualTo("Account Verification");
+        assertThat(meterRegistry.counter("mail.sent").count()).isEqualTo(3);
+    }
+
+    @Test
+    public void EmailService_SendBatch_SplitsQueueIntoBatches() throws Exception {
+        // Arrange
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        mailConfig.setBatchSize(2);
+        emailService = new EmailService(mailSender, mailConfig, workerThreads, meterRegistry);
+        for (int i = 0; i < 3; i++) {
+            emailService.sendSimpleMessage("user" + i + "@example.com", "Subject", "Body");
+        }
+
+        // Act & Assert
+        assertThat(emailService.sendBatch(1, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(emailService.sendBatch(1, TimeUnit.SECONDS)).isEqualTo(1);
+        verify(mailSender, times(2)).send(any(SimpleMailMessage[].class));
+    }
+
+    @Test
+    public void EmailService_SendBatch_RetriesFailedMessages() throws Exception {
+        // Arrange
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        willThrow(new MailSendException("Mail server connection failed")).willDoNothing().given(mailSender)
+                .send(any(SimpleMailMessage[].class));
+        emailService = new EmailService(mailSender, mailConfig, workerThreads, meterRegistry);
+        emailService.sendSimpleMessage("to@example.com", "Subject", "Body");
+
+        // Act
+        emailService.sendBatch(1, TimeUnit.SECONDS);
+        int retried = emailService.sendBatch(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(retried).isEqualTo(1);
+        verify(mailSender, times(2)).send(any(SimpleMailMessage[].class));
+        assertThat(meterRegistry.counter("mail.sent").count()).isEqualTo(1);
+    }
+
     @Test
-    public void EmailService_SendSimpleMessage_SendsMail() {
+    public void EmailService_SendBatch_RetriesOnlyRejectedMessages() throws Exception {
         // Arrange
-        org.mockito.BDDMockito.given(mailConfig.getEmail()).willReturn("no-reply@example.com");
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        emailService = new EmailService(mailSender, mailConfig, workerThreads, meterRegistry);
+        emailService.sendSimpleMessage("ok@example.com", "Subject", "Body");
+        emailService.sendSimpleMessage("bad@example.com", "Subject", "Body");
+        SimpleMailMessage rejected = new SimpleMailMessage();
+        rejected.setFrom("no-reply@example.com");
+        rejected.setTo("bad@example.com");
+        rejected.setSubject("Subject");
+        rejected.setText("Body");
+        willThrow(new MailSendException(Map.of(rejected, new IllegalStateException("mailbox unavailable"))))
+                .willDoNothing().given(mailSender).send(any(SimpleMailMessage[].class));
 
         // Act
+        emailService.sendBatch(1, TimeUnit.SECONDS);
+        int retried = emailService.sendBatch(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(retried).isEqualTo(1);
+        assertThat(meterRegistry.counter("mail.sent").count()).isEqualTo(2);
+    }
+
+    @Test
+    public void EmailService_SendBatch_GivesUp_AfterMaxAttempts() throws Exception {
+        // Arrange
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        willThrow(new MailSendException("Mail server connection failed")).given(mailSender)
+                .send(any(SimpleMailMessage[].class));
+        mailConfig.setMaxAttempts(1);
+        emailService = new EmailService(mailSender, mailConfig, workerThreads, meterRegistry);
         emailService.sendSimpleMessage("to@example.com", "Subject", "Body");
 
+        // Act
+        emailService.sendBatch(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(emailService.sendBatch(100, TimeUnit.MILLISECONDS)).isZero();
+        assertThat(meterRegistry.counter("mail.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void EmailService_Start_SendsInBackground() throws Exception {
+        // Arrange
+        emailService = new EmailService(smtpSender(), mailConfig, workerThreads, meterRegistry);
+        emailService.start();
+
+        // Act
+        emailService.sendSimpleMessage("to@example.com", "Account Verification", "123456");
+
         // Assert
-        verify(mailSender, times(1)).send(org.mockito.ArgumentMatchers.any(SimpleMailMessage.class));
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+    }
+
+    private static JavaMailSender smtpSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        return mailSender;
     }
 }
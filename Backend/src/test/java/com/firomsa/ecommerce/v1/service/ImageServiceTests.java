@@ -8,16 +8,20 @@ import static org.mockito.Mockito.verify;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.firomsa.ecommerce.event.ProductImageChangedEvent;
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
 import com.firomsa.ecommerce.model.Image;
+import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.repository.ImageRepository;
 import com.firomsa.ecommerce.v1.dto.ImageDTO;
 
@@ -28,6 +32,9 @@ public class ImageServiceTests {
     @Mock
     private ImageRepository imageRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ImageService imageService;
 
@@ -85,6 +92,22 @@ public class ImageServiceTests {
         verify(imageRepository, times(1)).delete(image);
     }
 
+    @Test
+    public void ImageService_Remove_PublishesImageChangedEvent_WhenImageHasProduct() {
+        // Arrange
+        Product product = Product.builder().id(UUID.randomUUID()).build();
+        Image image = Image.builder().id(1).name("img.png").product(product).build();
+        given(imageRepository.findByName("img.png")).willReturn(Optional.of(image));
+
+        // Act
+        imageService.remove("img.png");
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(org.mockito.ArgumentMatchers
+                .<Object>argThat(event -> event instanceof ProductImageChangedEvent changed
+                        && changed.getProductId().equals(product.getId()) && changed.isRemoved()));
+    }
+
     @Test
     public void ImageService_Remove_Throws_WhenNotFound() {
         // Arrange
@@ -1,6 +1,7 @@
 package com.firomsa.ecommerce.v1.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.Date;
 
@@ -12,6 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.firomsa.ecommerce.config.AuthConfig;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.security.SignatureException;
 import io.jsonwebtoken.security.Keys;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,4 +56,34 @@ public class JWTAuthServiceTests {
         assertThat(jwtAuthService.isValidToken(token, "user1")).isTrue();
         assertThat(jwtAuthService.isValidToken(token, "user2")).isFalse();
     }
+
+    @Test
+    public void JWTAuthService_GetClaims_RebuildsParser_WhenSecretKeyChanges() {
+        // Arrange
+        var oldKey = Keys.hmacShaKeyFor(new byte[32]);
+        var newKey = Keys.hmacShaKeyFor("0123456789abcdef0123456789abcdef".getBytes());
+        org.mockito.BDDMockito.given(authConfig.getSecretKey()).willReturn(oldKey);
+        String oldToken = jwtAuthService.generateToken("user1");
+        jwtAuthService.getClaims(oldToken);
+        org.mockito.BDDMockito.given(authConfig.getSecretKey()).willReturn(newKey);
+
+        // Act
+        String newToken = jwtAuthService.generateToken("user2");
+
+        // Assert
+        assertThat(jwtAuthService.getSubject(newToken)).isEqualTo("user2");
+        assertThatThrownBy(() -> jwtAuthService.getClaims(oldToken)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    public void JWTAuthService_IsValidToken_ChecksParsedClaims() {
+        // Arrange
+        var secretKey = Keys.hmacShaKeyFor(new byte[32]);
+        org.mockito.BDDMockito.given(authConfig.getSecretKey()).willReturn(secretKey);
+        Claims claims = jwtAuthService.getClaims(jwtAuthService.generateToken("user1"));
+
+        // Act & Assert
+        assertThat(jwtAuthService.isValidToken(claims, "user1")).isTrue();
+        assertThat(jwtAuthService.isValidToken(claims, "user2")).isFalse();
+    }
 }
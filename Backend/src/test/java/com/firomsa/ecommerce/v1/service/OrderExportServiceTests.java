@@ -0,0 +1,129 @@
+package com.firomsa.ecommerce.v1.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.firomsa.ecommerce.exception.ValidationException;
+import com.firomsa.ecommerce.model.OrderStatus;
+import com.firomsa.ecommerce.repository.OrderRepository;
+import com.firomsa.ecommerce.v1.dto.OrderExportRowDTO;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderExportServiceTests {
+
+    private static final UUID USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID PRODUCT_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 9, 30);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setup() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        orderExportService = new OrderExportService(orderRepository, objectMapper);
+    }
+
+    @Test
+    public void OrderExportService_Export_WritesCsvWithHeader() throws Exception {
+        // Arrange
+        given(orderRepository.streamExportRows(null, null)).willReturn(Stream.of(item(1), empty(2)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = orderExportService.export(OrderExportService.CSV, null, null, out);
+
+        // Assert
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "orderId,userId,status,totalPrice,txRef,createdAt,updatedAt,productId,quantity,priceAtPurchase",
+                "1," + USER_ID + ",PAID,20.0,tx-1,2024-03-01T09:30:00,2024-03-01T09:30:00," + PRODUCT_ID
+                        + ",2,10.0",
+                "2," + USER_ID + ",PAID,20.0,tx-2,2024-03-01T09:30:00,2024-03-01T09:30:00,,,");
+    }
+
+    @Test
+    public void OrderExportService_Export_WritesOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        given(orderRepository.streamExportRows(null, null)).willReturn(Stream.of(item(1), item(1), empty(2)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        orderExportService.export(OrderExportService.JSON_LINES, null, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"orderId\":1,").contains("\"createdAt\":\"2024-03-01T09:30:00\"");
+        assertThat(lines[2]).contains("\"productId\":null");
+    }
+
+    @Test
+    public void OrderExportService_Export_UsesWholeDays() throws Exception {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 4, 1, 0, 0);
+        given(orderRepository.streamExportRows(start, end)).willReturn(Stream.empty());
+
+        // Act
+        long rows = orderExportService.export(OrderExportService.CSV, LocalDate.of(2024, 3, 1),
+                LocalDate.of(2024, 3, 31), new ByteArrayOutputStream());
+
+        // Assert
+        assertThat(rows).isZero();
+        verify(orderRepository).streamExportRows(start, end);
+    }
+
+    @Test
+    public void OrderExportService_ContentType_ReturnMediaType() {
+        // Act & Assert
+        assertThat(OrderExportService.contentType("csv")).isEqualTo(MediaType.parseMediaType("text/csv"));
+        assertThat(OrderExportService.contentType("jsonl")).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThatThrownBy(() -> OrderExportService.contentType("xml")).isInstanceOf(ValidationException.class);
+    }
+
+    private static OrderExportRowDTO item(int orderId) {
+        return OrderExportRowDTO.builder()
+                .orderId(orderId)
+                .userId(USER_ID)
+                .status(OrderStatus.PAID)
+                .totalPrice(20.0)
+                .txRef("tx-" + orderId)
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .productId(PRODUCT_ID)
+                .quantity(2)
+                .priceAtPurchase(10.0)
+                .build();
+    }
+
+    private static OrderExportRowDTO empty(int orderId) {
+        OrderExportRowDTO row = item(orderId);
+        row.setProductId(null);
+        row.setQuantity(null);
+        row.setPriceAtPurchase(null);
+        return row;
+    }
+}
@@ -0,0 +1,99 @@
+package com.firomsa.ecommerce.v1.service;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.firomsa.ecommerce.event.OrderLifecycleEvent;
+import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderEventType;
+import com.firomsa.ecommerce.model.User;
+import com.firomsa.ecommerce.repository.OrderRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderNotificationServiceTests {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @InjectMocks
+    private OrderNotificationService orderNotificationService;
+
+    private Order order;
+
+    @BeforeEach
+    void setup() {
+        order = Order.builder()
+                .id(7)
+                .user(User.builder().email("buyer@example.com").build())
+                .totalPrice(120.0)
+                .build();
+    }
+
+    @Test
+    public void OrderNotificationService_OnOrderLifecycle_MailsConfirmation_WhenPaid() {
+        // Arrange
+        given(orderRepository.findById(7)).willReturn(Optional.of(order));
+
+        // Act
+        orderNotificationService.onOrderLifecycle(event(OrderEventType.PAID));
+
+        // Assert
+        verify(emailService, times(1)).sendSimpleMessage("buyer@example.com", "Order confirmation",
+                "Your payment for order #7 of 120.0 was received, thank you for your order.");
+    }
+
+    @Test
+    public void OrderNotificationService_OnOrderLifecycle_MailsNotice_WhenCancelled() {
+        // Arrange
+        given(orderRepository.findById(7)).willReturn(Optional.of(order));
+
+        // Act
+        orderNotificationService.onOrderLifecycle(event(OrderEventType.CANCELLED));
+
+        // Assert
+        verify(emailService, times(1)).sendSimpleMessage("buyer@example.com", "Order cancelled",
+                "Your order #7 was cancelled.");
+    }
+
+    @Test
+    public void OrderNotificationService_OnOrderLifecycle_SendsNothing_WhenPlaced() {
+        // Act
+        orderNotificationService.onOrderLifecycle(event(OrderEventType.PLACED));
+
+        // Assert
+        verify(orderRepository, never()).findById(7);
+        verify(emailService, never()).sendSimpleMessage(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void OrderNotificationService_OnOrderLifecycle_SendsNothing_WhenOrderGone() {
+        // Arrange
+        given(orderRepository.findById(7)).willReturn(Optional.empty());
+
+        // Act
+        orderNotificationService.onOrderLifecycle(event(OrderEventType.PAID));
+
+        // Assert
+        verify(emailService, never()).sendSimpleMessage(anyString(), anyString(), anyString());
+    }
+
+    private static OrderLifecycleEvent event(OrderEventType type) {
+        return new OrderLifecycleEvent(1, 7, type, LocalDateTime.now());
+    }
+}
@@ -4,9 +4,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -18,18 +21,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.firomsa.ecommerce.exception.OrderProcessException;
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
 import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderEventType;
 import com.firomsa.ecommerce.model.OrderItem;
 import com.firomsa.ecommerce.model.OrderStatus;
 import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.model.User;
 import com.firomsa.ecommerce.repository.OrderRepository;
-import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.v1.dto.OrderFilterDTO;
 import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
 
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
@@ -39,7 +48,10 @@ public class OrderServiceTests {
     private OrderRepository orderRepository;
 
     @Mock
-    private ProductRepository productRepository;
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private OutboxService outboxService;
 
     @InjectMocks
     private OrderService orderService;
@@ -83,15 +95,68 @@ public class OrderServiceTests {
     @Test
     public void OrderService_GetAll_ReturnsOrders() {
         // Arrange
-        given(orderRepository.findAll()).willReturn(List.of(order));
+        OrderFilterDTO filter = OrderFilterDTO.builder()
+                .status(OrderStatus.PAID)
+                .from(LocalDate.of(2024, 3, 1))
+                .to(LocalDate.of(2024, 3, 31))
+                .build();
+        Pageable pageable = OrderService.pageRequest(1, 10);
+        given(orderRepository.findPage(OrderStatus.PAID, LocalDateTime.of(2024, 3, 1, 0, 0),
+                LocalDateTime.of(2024, 4, 1, 0, 0), pageable))
+                .willReturn(new PageImpl<>(List.of(order), pageable, 11));
 
         // Act
-        List<OrderResponseDTO> result = orderService.getAll();
+        PageDTO<OrderResponseDTO> result = orderService.getAll(filter, 1, 10);
 
         // Assert
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        verify(orderRepository, times(1)).findAll();
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getPage()).isEqualTo(1);
+        assertThat(result.getSize()).isEqualTo(10);
+        assertThat(result.getTotalItems()).isEqualTo(11);
+        assertThat(result.getItems().get(0).getOrderItems()).hasSize(1);
+        verify(orderRepository, times(1)).fetchOrderItems(List.of(order.getId()));
+    }
+
+    @Test
+    public void OrderService_GetAll_SkipsItemFetch_WhenPageEmpty() {
+        // Arrange
+        given(orderRepository.findPage(null, null, null, OrderService.pageRequest(0, 20)))
+                .willReturn(Page.empty());
+
+        // Act
+        PageDTO<OrderResponseDTO> result = orderService.getAll(new OrderFilterDTO(), 0, 20);
+
+        // Assert
+        assertThat(result.getItems()).isEmpty();
+        verify(orderRepository, never()).fetchOrderItems(any());
+    }
+
+    @Test
+    public void OrderService_GetAllByUser_ReturnsUserOrders() {
+        // Arrange
+        OrderFilterDTO filter = OrderFilterDTO.builder().status(OrderStatus.PENDING).build();
+        given(orderRepository.findPageByUserId(user.getId(), OrderStatus.PENDING, null, null,
+                OrderService.pageRequest(0, 20))).willReturn(new PageImpl<>(List.of(order)));
+
+        // Act
+        PageDTO<OrderResponseDTO> result = orderService.getAllByUser(user.getId(), filter, 0, 20);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getTotalPrice()).isEqualTo(order.getTotalPrice());
+        assertThat(result.getTotalItems()).isEqualTo(1);
+        verify(orderRepository, times(1)).fetchOrderItems(List.of(order.getId()));
+    }
+
+    @Test
+    public void OrderService_PageRequest_ClampsSizeAndSortsNewestFirst() {
+        // Act
+        Pageable pageable = OrderService.pageRequest(-1, 1000);
+
+        // Assert
+        assertThat(pageable.getPageNumber()).isZero();
+        assertThat(pageable.getPageSize()).isEqualTo(OrderService.MAX_PAGE_SIZE);
+        assertThat(pageable.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "createdAt", "id"));
     }
 
     @Test
@@ -143,7 +208,7 @@ public class OrderServiceTests {
     }
 
     @Test
-    public void OrderService_UpdateStatus_SetsPaidAndDeductsStock() {
+    public void OrderService_UpdateStatus_SetsPaidAndConvertsReservations() {
         // Arrange
         given(orderRepository.findByTxRef("tx")).willReturn(Optional.of(order));
 
@@ -152,21 +217,23 @@ public class OrderServiceTests {
 
         // Assert
         assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
-        assertThat(product.getStock()).isEqualTo(3);
-        verify(productRepository, times(1)).saveAll(any());
+        verify(stockReservationService, times(1)).convert(order);
         verify(orderRepository, times(1)).save(order);
+        verify(outboxService, times(1)).record(order, OrderEventType.PAID);
     }
 
     @Test
-    public void OrderService_UpdateStatus_Throws_WhenStockNegative() {
+    public void OrderService_UpdateStatus_Throws_WhenStockLimited() {
         // Arrange
-        product.setStock(1);
         given(orderRepository.findByTxRef("tx")).willReturn(Optional.of(order));
+        willThrow(new OrderProcessException("Product Stock Limited")).given(stockReservationService).convert(order);
 
         // Act & Assert
         assertThatThrownBy(() -> orderService.updateStatus("success", "tx"))
                 .isInstanceOf(OrderProcessException.class)
                 .hasMessage("Product Stock Limited");
+        verify(orderRepository, never()).save(order);
+        verify(outboxService, never()).record(any(), any());
     }
 
     @Test
@@ -179,6 +246,23 @@ public class OrderServiceTests {
 
         // Assert
         assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        verify(stockReservationService, times(1)).release(order);
+        verify(outboxService, times(1)).record(order, OrderEventType.CANCELLED);
         verify(orderRepository, times(1)).save(order);
     }
+
+    @Test
+    public void OrderService_UpdateStatus_Ignores_WhenOrderNotPending() {
+        // Arrange
+        order.setStatus(OrderStatus.PAID);
+        given(orderRepository.findByTxRef("tx")).willReturn(Optional.of(order));
+
+        // Act
+        orderService.updateStatus("failed/cancelled", "tx");
+
+        // Assert
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+        verify(stockReservationService, never()).release(order);
+        verify(orderRepository, never()).save(order);
+    }
 }
@@ -0,0 +1,180 @@
+package com.firomsa.ecommerce.v1.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.firomsa.ecommerce.config.OutboxConfig;
+import com.firomsa.ecommerce.event.OrderLifecycleEvent;
+import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderEventType;
+import com.firomsa.ecommerce.model.OutboxEvent;
+import com.firomsa.ecommerce.repository.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxServiceTests {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private OutboxConfig outboxConfig = new OutboxConfig();
+
+    @InjectMocks
+    private OutboxService outboxService;
+
+    @Test
+    public void OutboxService_Record_SavesEvent() {
+        // Arrange
+        Order order = Order.builder().id(7).build();
+
+        // Act
+        outboxService.record(order, OrderEventType.PAID);
+
+        // Assert
+        verify(outboxEventRepository, times(1)).save(argThat(event -> event.getOrderId() == 7
+                && event.getType() == OrderEventType.PAID && event.getDispatchedAt() == null));
+    }
+
+    @Test
+    public void OutboxService_Purge_DeletesEventsDispatchedBeforeRetention() {
+        // Arrange
+        outboxConfig.setRetention(Duration.ofDays(2));
+        given(outboxEventRepository.deleteDispatchedBefore(any(LocalDateTime.class))).willReturn(3);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(2);
+
+        // Act
+        int purged = outboxService.purge();
+
+        // Assert
+        assertThat(purged).isEqualTo(3);
+        verify(outboxEventRepository, times(1)).deleteDispatchedBefore(argThat(before -> !before.isBefore(cutoff)
+                && before.isBefore(cutoff.plusMinutes(1))));
+    }
+
+    @Test
+    public void OutboxService_Relay_PublishesAndMarksBatch() {
+        // Arrange
+        given(outboxEventRepository.claim(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willReturn(1);
+        given(outboxEventRepository.findDue(anyInt(), any(LocalDateTime.class),
+                any(Limit.class))).willReturn(List.of(event(1, OrderEventType.PLACED), event(2, OrderEventType.PAID)));
+
+        // Act
+        outboxService.relay();
+
+        // Assert
+        verify(eventPublisher, times(2)).publishEvent(any(OrderLifecycleEvent.class));
+        verify(outboxEventRepository, times(1)).markDispatched(eq(List.of(1, 2)), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void OutboxService_Relay_KeepsEventForRetry_WhenListenerFails() {
+        // Arrange
+        OutboxEvent failing = event(1, OrderEventType.PLACED);
+        given(outboxEventRepository.claim(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willReturn(1);
+        given(outboxEventRepository.findDue(anyInt(), any(LocalDateTime.class),
+                any(Limit.class))).willReturn(List.of(failing, event(2, OrderEventType.PAID)));
+        willThrow(new IllegalStateException("mail server down")).given(eventPublisher)
+                .publishEvent(argThat((Object published) -> published instanceof OrderLifecycleEvent lifecycle
+                        && lifecycle.getOutboxId() == 1));
+
+        // Act
+        outboxService.relay();
+
+        // Assert
+        verify(outboxEventRepository, times(1)).recordFailure(1, "mail server down");
+        verify(outboxEventRepository, never()).save(any());
+        verify(outboxEventRepository, times(1)).markDispatched(eq(List.of(2)), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void OutboxService_Relay_SkipsEvent_WhenClaimedByAnotherRelay() {
+        // Arrange
+        given(outboxEventRepository.findDue(anyInt(), any(LocalDateTime.class), any(Limit.class)))
+                .willReturn(List.of(event(1, OrderEventType.PLACED), event(2, OrderEventType.PAID)));
+        given(outboxEventRepository.claim(eq(1), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willReturn(0);
+        given(outboxEventRepository.claim(eq(2), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willReturn(1);
+
+        // Act
+        outboxService.relay();
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(any(OrderLifecycleEvent.class));
+        verify(outboxEventRepository, times(1)).markDispatched(eq(List.of(2)), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void OutboxService_Relay_DrainsFullBatches() {
+        // Arrange
+        List<OutboxEvent> full = IntStream.range(0, OutboxService.BATCH_SIZE)
+                .mapToObj(id -> event(id, OrderEventType.PLACED))
+                .toList();
+        given(outboxEventRepository.claim(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willReturn(1);
+        given(outboxEventRepository.findDue(anyInt(), any(LocalDateTime.class),
+                any(Limit.class))).willReturn(full).willReturn(List.of());
+
+        // Act
+        outboxService.relay();
+
+        // Assert
+        verify(outboxEventRepository, times(2)).findDue(anyInt(), any(LocalDateTime.class),
+                any(Limit.class));
+        verify(outboxEventRepository, times(1)).markDispatched(any(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void OutboxService_Relay_DoesNothing_WhenNoEvents() {
+        // Arrange
+        given(outboxEventRepository.findDue(anyInt(), any(LocalDateTime.class),
+                any(Limit.class))).willReturn(List.of());
+
+        // Act
+        outboxService.relay();
+
+        // Assert
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(outboxEventRepository, never()).markDispatched(any(), any());
+    }
+
+    private static OutboxEvent event(int id, OrderEventType type) {
+        return OutboxEvent.builder()
+                .id(id)
+                .orderId(100 + id)
+                .type(type)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
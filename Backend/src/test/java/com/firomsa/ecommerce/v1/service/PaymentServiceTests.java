@@ -6,26 +6,23 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
-import java.time.LocalDateTime;
-import java.util.List;
-
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.firomsa.ecommerce.exception.OrderProcessException;
-import com.firomsa.ecommerce.model.Address;
-import com.firomsa.ecommerce.model.Order;
-import com.firomsa.ecommerce.model.User;
-import com.firomsa.ecommerce.repository.OrderRepository;
+import com.firomsa.ecommerce.v1.dto.PaymentRequestDTO;
 import com.yaphet.chapa.Chapa;
 import com.yaphet.chapa.model.Customization;
 import com.yaphet.chapa.model.InitializeResponseData;
 import com.yaphet.chapa.model.PostData;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 public class PaymentServiceTests {
 
@@ -35,21 +32,23 @@ public class PaymentServiceTests {
     @Mock
     private Customization customization;
 
-    @Mock
-    private OrderRepository orderRepository;
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private PaymentService paymentService;
 
-    private Order order;
+    private PaymentRequestDTO paymentRequestDTO;
 
     @BeforeEach
     void setup() {
-        Address addr = Address.builder().id(1).firstName("F").lastName("A").active(true).build();
-        User user = User.builder().email("e@example.com").addresses(List.of(addr)).createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now()).build();
-        order = Order.builder().user(user).totalPrice(100.0).createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now()).build();
+        paymentRequestDTO = PaymentRequestDTO.builder()
+                .txRef("tx-ref")
+                .amount(100.0)
+                .firstName("F")
+                .lastName("A")
+                .email("e@example.com")
+                .build();
     }
 
     @Test
@@ -59,12 +58,13 @@ public class PaymentServiceTests {
         org.mockito.BDDMockito.given(chapa.initialize(any(PostData.class))).willReturn(response);
 
         // Act
-        InitializeResponseData result = paymentService.startTransaction(order);
+        InitializeResponseData result = paymentService.startTransaction(paymentRequestDTO);
 
         // Assert
         assertThat(result).isSameAs(response);
-        assertThat(order.getTxRef()).isNotBlank();
-        verify(orderRepository, times(1)).save(order);
+        verify(chapa, times(1)).initialize(any(PostData.class));
+        assertThat(meterRegistry.get("payment.gateway.requests").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
     }
 
     @Test
@@ -73,8 +73,18 @@ public class PaymentServiceTests {
         org.mockito.BDDMockito.given(chapa.initialize(any(PostData.class))).willThrow(new RuntimeException("fail"));
 
         // Act & Assert
-        assertThatThrownBy(() -> paymentService.startTransaction(order))
+        assertThatThrownBy(() -> paymentService.startTransaction(paymentRequestDTO))
                 .isInstanceOf(OrderProcessException.class)
                 .hasMessage("Failed to initialize payment gateway");
+        assertThat(meterRegistry.get("payment.gateway.requests").tag("outcome", "error").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("payment.gateway.requests").tag("outcome", "success").timer().count())
+                .isZero();
+    }
+
+    @Test
+    public void PaymentService_GenerateTxRef_ReturnsUniqueReferences() {
+        // Act & Assert
+        assertThat(paymentService.generateTxRef()).isNotBlank().isNotEqualTo(paymentService.generateTxRef());
     }
 }
@@ -0,0 +1,258 @@
+package com.firomsa.ecommerce.v1.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firomsa.ecommerce.event.ProductChangedEvent;
+import com.firomsa.ecommerce.exception.ResourceNotFoundException;
+import com.firomsa.ecommerce.exception.ValidationException;
+import com.firomsa.ecommerce.model.Category;
+import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.v1.dto.ProductImportResultDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductImportServiceTests {
+
+    private static final String HEADER = "name,description,price,stock,categories\n";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryResolver categoryResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setup() {
+        productImportService = new ProductImportService(productRepository, categoryResolver,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), eventPublisher,
+                entityManager, transactionManager);
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_SavesCsvRows() {
+        // Arrange
+        Category electronics = Category.builder().id(1).name("Electronics").build();
+        given(categoryResolver.resolve(List.of("Electronics", "Audio"))).willReturn(List.of(electronics));
+        given(productRepository.save(any(Product.class))).will(invocation -> assigned(invocation.getArgument(0)));
+        String csv = HEADER + "Phone,Smart phone,199.5,4,Electronics|Audio\n";
+
+        // Act
+        ProductImportResultDTO result = productImportService.importProducts(body(csv), ProductImportService.TEXT_CSV);
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isZero();
+        verify(productRepository, times(1)).save(argThat(product -> product
+                .getName().equals("Phone") && product.getPrice() == 199.5 && product.getStock() == 4
+                && product.getCategories().equals(List.of(electronics))));
+        verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_ReportsInvalidRowsAndKeepsGoing() {
+        // Arrange
+        given(categoryResolver.resolve(anyList())).willReturn(List.of());
+        given(productRepository.save(any(Product.class))).will(invocation -> assigned(invocation.getArgument(0)));
+        String jsonLines = """
+                {"name":"Phone","description":"Smart phone","price":10,"stock":1,"categories":[]}
+                {"name":"","description":"Blank name","price":10,"stock":1,"categories":[]}
+                {"name":"Broken",
+
+                {"name":"Lamp","description":"Desk lamp","price":-1,"stock":1,"categories":[]}
+                {"name":"Shirt","description":"Cotton","price":5,"stock":2,"categories":[]}
+                """;
+
+        // Act
+        ProductImportResultDTO result = productImportService.importProducts(body(jsonLines),
+                MediaType.APPLICATION_NDJSON);
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting("row").containsExactly(2L, 3L, 4L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("name: product name is required");
+        assertThat(result.getErrors().get(2).getMessage()).startsWith("price: ");
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_ReportsMissingCategories() {
+        // Arrange
+        given(categoryResolver.resolve(List.of("Toys"))).willThrow(new ResourceNotFoundException("Category: Toys"));
+        String csv = HEADER + "Train,Wooden train,12,3,Toys\n";
+
+        // Act
+        ProductImportResultDTO result = productImportService.importProducts(body(csv), ProductImportService.TEXT_CSV);
+
+        // Assert
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("Category: Toys"));
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_WritesInChunks() {
+        // Arrange
+        given(categoryResolver.resolve(anyList())).willReturn(List.of());
+        given(productRepository.save(any(Product.class))).will(invocation -> assigned(invocation.getArgument(0)));
+        int rows = ProductImportService.CHUNK_SIZE + 1;
+        String csv = HEADER + IntStream.range(0, rows)
+                .mapToObj(i -> "Product " + i + ",Description,1,1,\n")
+                .collect(Collectors.joining());
+
+        // Act
+        ProductImportResultDTO result = productImportService.importProducts(body(csv), ProductImportService.TEXT_CSV);
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(rows);
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_ReportsCsvRowWithWrongColumnCountAndKeepsGoing() {
+        // Arrange
+        given(categoryResolver.resolve(anyList())).willReturn(List.of());
+        given(productRepository.save(any(Product.class))).will(invocation -> assigned(invocation.getArgument(0)));
+        String csv = HEADER
+                + "Phone,Smart phone,10,1,\n"
+                + "Lamp,Desk lamp, bright,20,1,\n"
+                + "Shirt,Cotton,5,2,\n";
+
+        // Act
+        ProductImportResultDTO result = productImportService.importProducts(body(csv), ProductImportService.TEXT_CSV);
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(2L);
+            assertThat(error.getMessage()).isEqualTo("expected 5 columns, found 6");
+        });
+        verify(productRepository, times(2)).save(any(Product.class));
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_ReplaysRolledBackChunkRowByRow() {
+        // Arrange
+        given(categoryResolver.resolve(anyList())).willReturn(List.of());
+        given(productRepository.save(any(Product.class))).will(invocation -> {
+            Product product = invocation.getArgument(0);
+            if (product.getName().equals("Lamp")) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return assigned(product);
+        });
+        String csv = HEADER + "Phone,Smart phone,10,1,\nLamp,Desk lamp,20,1,\nShirt,Cotton,5,2,\n";
+
+        // Act
+        ProductImportResultDTO result = productImportService.importProducts(body(csv), ProductImportService.TEXT_CSV);
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(2L);
+            assertThat(error.getMessage()).isEqualTo("not imported: duplicate key");
+        });
+        verify(eventPublisher, times(2)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_ReportsEveryRow_WhenEachFailsOnItsOwn() {
+        // Arrange
+        given(categoryResolver.resolve(anyList())).willReturn(List.of());
+        given(productRepository.save(any(Product.class))).will(invocation -> assigned(invocation.getArgument(0)));
+        willThrow(new DataIntegrityViolationException("duplicate key")).given(entityManager).flush();
+        String csv = HEADER + "Phone,Smart phone,10,1,\nLamp,Desk lamp,20,1,\n";
+
+        // Act
+        ProductImportResultDTO result = productImportService.importProducts(body(csv), ProductImportService.TEXT_CSV);
+
+        // Assert
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting("row").containsExactly(1L, 2L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("not imported: duplicate key");
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_ReportsNullJsonLine() {
+        // Arrange
+        given(categoryResolver.resolve(anyList())).willReturn(List.of());
+        given(productRepository.save(any(Product.class))).will(invocation -> assigned(invocation.getArgument(0)));
+        String jsonLines = """
+                null
+                {"name":"Shirt","description":"Cotton","price":5,"stock":2,"categories":[]}
+                """;
+
+        // Act
+        ProductImportResultDTO result = productImportService.importProducts(body(jsonLines),
+                MediaType.APPLICATION_NDJSON);
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("not a product object"));
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_Throws_WhenFormatUnsupported() {
+        // Act & Assert
+        assertThatThrownBy(() -> productImportService.importProducts(body("[]"), MediaType.APPLICATION_JSON))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Product assigned(Product product) {
+        product.setId(UUID.randomUUID());
+        return product;
+    }
+}
@@ -2,6 +2,8 @@ package com.firomsa.ecommerce.v1.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -18,18 +20,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.firomsa.ecommerce.event.ProductChangedEvent;
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
+import com.firomsa.ecommerce.exception.ValidationException;
 import com.firomsa.ecommerce.model.Category;
 import com.firomsa.ecommerce.model.Image;
 import com.firomsa.ecommerce.model.Product;
-import com.firomsa.ecommerce.repository.CategoryRepository;
 import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.repository.ReviewRepository;
+import com.firomsa.ecommerce.repository.ReviewRow;
+import com.firomsa.ecommerce.search.ProductFacetIndex;
+import com.firomsa.ecommerce.search.ProductSearchIndex;
 import com.firomsa.ecommerce.v1.dto.CategoryRequestDTO;
+import com.firomsa.ecommerce.v1.dto.CursorDTO;
+import com.firomsa.ecommerce.v1.dto.CursorPageDTO;
 import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFacetsDTO;
+import com.firomsa.ecommerce.v1.dto.ProductFilterDTO;
+import com.firomsa.ecommerce.v1.dto.ProductPageDTO;
 import com.firomsa.ecommerce.v1.dto.ProductRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ProductResponseDTO;
+import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
+import com.firomsa.ecommerce.v1.mapper.CursorMapper;
 
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
@@ -39,7 +56,19 @@ public class ProductServiceTests {
     private ProductRepository productRepository;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private CategoryResolver categoryResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductFacetIndex productFacetIndex;
 
     @InjectMocks
     private ProductService productService;
@@ -47,6 +76,7 @@ public class ProductServiceTests {
     private Product product;
     private Category category;
     private ProductRequestDTO productRequestDTO;
+    private ProductFilterDTO noFilter;
 
     @BeforeEach
     void setup() {
@@ -70,28 +100,144 @@ public class ProductServiceTests {
                 .stock(5)
                 .categories(List.of(CategoryRequestDTO.builder().name("Electronics").build()))
                 .build();
+
+        noFilter = ProductFilterDTO.builder().build();
     }
 
     @Test
-    public void ProductService_GetAll_ReturnsActiveProducts() {
+    public void ProductService_GetAll_ReturnsActiveProductsPage() {
         // Arrange
-        Product inactive = Product.builder().id(UUID.randomUUID()).name("X").active(false).build();
-        given(productRepository.findAll()).willReturn(List.of(product, inactive));
+        given(productRepository.findActivePage(Limit.of(11))).willReturn(List.of(product));
 
         // Act
-        List<ProductResponseDTO> result = productService.getAll();
+        ProductPageDTO result = productService.getAll(noFilter, 10, null, ProductService.SORT_CREATED);
 
         // Assert
         assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        verify(productRepository, times(1)).findAll();
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNextCursor()).isNull();
+        verify(productRepository, times(1)).findActivePage(Limit.of(11));
+    }
+
+    @Test
+    public void ProductService_GetAll_ReturnsNextCursor_WhenMoreProductsExist() {
+        // Arrange
+        Product next = Product.builder().id(UUID.randomUUID()).name("Y").active(true)
+                .createdAt(LocalDateTime.now()).build();
+        given(productRepository.findActivePage(Limit.of(2))).willReturn(List.of(product, next));
+
+        // Act
+        ProductPageDTO result = productService.getAll(noFilter, 1, null, ProductService.SORT_CREATED);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        CursorDTO cursor = CursorMapper.toDTO(result.getNextCursor());
+        assertThat(cursor.getId()).isEqualTo(product.getId().toString());
+        assertThat(cursor.getCreatedAt()).isEqualTo(product.getCreatedAt());
+    }
+
+    @Test
+    public void ProductService_GetAll_UsesCursor_WhenAfterGiven() {
+        // Arrange
+        String after = CursorMapper.toToken(CursorDTO.builder()
+                .createdAt(product.getCreatedAt())
+                .id(product.getId().toString())
+                .build());
+        given(productRepository.findActivePageAfter(product.getCreatedAt(), product.getId(), Limit.of(21)))
+                .willReturn(List.of());
+
+        // Act
+        ProductPageDTO result = productService.getAll(noFilter, 20, after, ProductService.SORT_CREATED);
+
+        // Assert
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void ProductService_GetAll_Throws_WhenCursorInvalid() {
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getAll(noFilter, 20, "not-a-cursor", ProductService.SORT_CREATED))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    public void ProductService_GetAll_UsesFilteredQuery_WhenCriteriaGiven() {
+        // Arrange
+        ProductFilterDTO filter = ProductFilterDTO.builder()
+                .categories(List.of("Electronics"))
+                .minPrice(100.0)
+                .build();
+        ProductFacetsDTO facets = ProductFacetsDTO.builder().totalItems(1).build();
+        given(productRepository.findActiveFilteredPage(100.0, Double.MAX_VALUE, true, List.of("Electronics"),
+                LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0, 0), Limit.of(11))).willReturn(List.of(product));
+        given(productFacetIndex.facets(filter)).willReturn(facets);
+
+        // Act
+        ProductPageDTO result = productService.getAll(filter, 10, null, ProductService.SORT_CREATED);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getFacets()).isEqualTo(facets);
+        verify(productRepository, times(0)).findActivePage(Limit.of(11));
+    }
+
+    @Test
+    public void ProductService_GetAll_Throws_WhenMinPriceAboveMaxPrice() {
+        // Arrange
+        ProductFilterDTO filter = ProductFilterDTO.builder().minPrice(50.0).maxPrice(10.0).build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getAll(filter, 20, null, ProductService.SORT_CREATED))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    public void ProductService_GetAll_ReturnsRatingCursor_WhenSortedByRating() {
+        // Arrange
+        product.getRating().add(4);
+        Product next = Product.builder().id(UUID.randomUUID()).name("Y").active(true)
+                .createdAt(LocalDateTime.now()).build();
+        given(productRepository.findActiveFilteredPageByRating(-Double.MAX_VALUE, Double.MAX_VALUE, false,
+                List.of(""), Double.MAX_VALUE, new UUID(0, 0), Limit.of(2))).willReturn(List.of(product, next));
+
+        // Act
+        ProductPageDTO result = productService.getAll(noFilter, 1, null, ProductService.SORT_RATING);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        CursorDTO cursor = CursorMapper.toDTO(result.getNextCursor());
+        assertThat(cursor.getAverageRating()).isEqualTo(4.0);
+        assertThat(cursor.getCreatedAt()).isNull();
+        verify(productRepository, times(0)).findActivePage(Limit.of(2));
+    }
+
+    @Test
+    public void ProductService_GetAll_Throws_WhenCursorBelongsToOtherSort() {
+        // Arrange
+        String after = CursorMapper.toToken(CursorDTO.builder()
+                .createdAt(product.getCreatedAt())
+                .id(product.getId().toString())
+                .build());
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getAll(noFilter, 20, after, ProductService.SORT_RATING))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    public void ProductService_GetAll_Throws_WhenSortUnsupported() {
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getAll(noFilter, 20, null, "price"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Unsupported sort: price");
     }
 
     @Test
     public void ProductService_GetAllInActiveProducts_ReturnsInactiveProducts() {
         // Arrange
         Product inactive = Product.builder().id(UUID.randomUUID()).name("X").active(false).build();
-        given(productRepository.findAll()).willReturn(List.of(product, inactive));
+        given(productRepository.findAllByActiveFalse()).willReturn(List.of(inactive));
 
         // Act
         List<ProductResponseDTO> result = productService.getAllInActiveProducts();
@@ -99,13 +245,13 @@ public class ProductServiceTests {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findAllByActiveFalse();
     }
 
     @Test
     public void ProductService_Get_ReturnsProduct() {
         // Arrange
-        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+        given(productRepository.findWithCategoriesById(product.getId())).willReturn(Optional.of(product));
 
         // Act
         ProductResponseDTO result = productService.get(product.getId());
@@ -113,13 +259,13 @@ public class ProductServiceTests {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(product.getId().toString());
-        verify(productRepository, times(1)).findById(product.getId());
+        verify(productRepository, times(1)).findWithCategoriesById(product.getId());
     }
 
     @Test
     public void ProductService_Get_Throws_WhenNotFound() {
         // Arrange
-        given(productRepository.findById(product.getId())).willReturn(Optional.empty());
+        given(productRepository.findWithCategoriesById(product.getId())).willReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> productService.get(product.getId()))
@@ -130,7 +276,7 @@ public class ProductServiceTests {
     @Test
     public void ProductService_Create_SavesProduct() {
         // Arrange
-        given(categoryRepository.findByName("Electronics")).willReturn(Optional.of(category));
+        given(categoryResolver.resolve(List.of("Electronics"))).willReturn(List.of(category));
         given(productRepository.save(org.mockito.Mockito.any(Product.class))).willReturn(product);
 
         // Act
@@ -142,10 +288,39 @@ public class ProductServiceTests {
         verify(productRepository, times(1)).save(org.mockito.Mockito.any(Product.class));
     }
 
+    @Test
+    public void ProductService_Create_PublishesProductChangedEvent() {
+        // Arrange
+        given(categoryResolver.resolve(List.of("Electronics"))).willReturn(List.of(category));
+        given(productRepository.save(org.mockito.Mockito.any(Product.class))).willReturn(product);
+
+        // Act
+        productService.create(productRequestDTO);
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(org.mockito.ArgumentMatchers
+                .<Object>argThat(event -> event instanceof ProductChangedEvent changed
+                        && changed.getProductId().equals(product.getId()) && changed.getProduct() != null));
+    }
+
+    @Test
+    public void ProductService_Search_DelegatesToIndex() {
+        // Arrange
+        PageDTO<ProductResponseDTO> page = PageDTO.<ProductResponseDTO>builder().items(List.of()).build();
+        given(productSearchIndex.search("phone", 0, ProductService.MAX_PAGE_SIZE)).willReturn(page);
+
+        // Act
+        PageDTO<ProductResponseDTO> result = productService.search("phone", -1, 1000);
+
+        // Assert
+        assertThat(result).isSameAs(page);
+    }
+
     @Test
     public void ProductService_Create_Throws_WhenCategoryMissing() {
         // Arrange
-        given(categoryRepository.findByName("Electronics")).willReturn(Optional.empty());
+        given(categoryResolver.resolve(List.of("Electronics")))
+                .willThrow(new ResourceNotFoundException("Category: Electronics"));
 
         // Act & Assert
         assertThatThrownBy(() -> productService.create(productRequestDTO))
@@ -184,7 +359,7 @@ public class ProductServiceTests {
     public void ProductService_Update_UpdatesProduct() {
         // Arrange
         given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
-        given(categoryRepository.findByName("Electronics")).willReturn(Optional.of(category));
+        given(categoryResolver.resolve(List.of("Electronics"))).willReturn(List.of(category));
         given(productRepository.save(org.mockito.Mockito.any(Product.class))).willReturn(product);
 
         // Act
@@ -255,26 +430,129 @@ public class ProductServiceTests {
     }
 
     @Test
-    public void ProductService_GetReviews_ReturnsReviews() {
+    public void ProductService_GetReviews_ReturnsNewestPage() {
         // Arrange
-        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+        LocalDateTime now = LocalDateTime.now();
+        ReviewRow newest = reviewRow(7, 5, now);
+        ReviewRow older = reviewRow(3, 2, now.minusDays(1));
+        given(productRepository.existsById(product.getId())).willReturn(true);
+        given(reviewRepository.findNewestPageByProductId(product.getId(), LocalDateTime.of(9999, 12, 31, 0, 0),
+                Integer.MAX_VALUE, Limit.of(2))).willReturn(List.of(newest, older));
 
         // Act
-        var result = productService.getReviews(product.getId());
+        CursorPageDTO<ReviewResponseDTO> result = productService.getReviews(product.getId(), 1, null,
+                ProductService.SORT_NEWEST);
 
         // Assert
-        assertThat(result).isNotNull();
-        verify(productRepository, times(1)).findById(product.getId());
+        assertThat(result.getItems()).extracting(ReviewResponseDTO::getId).containsExactly(7);
+        CursorDTO cursor = CursorMapper.toDTO(result.getNextCursor());
+        assertThat(cursor.getCreatedAt()).isEqualTo(now);
+        assertThat(cursor.getId()).isEqualTo("7");
+    }
+
+    @Test
+    public void ProductService_GetReviews_UsesRatingCursor_WhenSortedByRating() {
+        // Arrange
+        String after = CursorMapper.toToken(CursorDTO.builder().rating(4).id("9").build());
+        given(productRepository.existsById(product.getId())).willReturn(true);
+        given(reviewRepository.findTopRatedPageByProductId(product.getId(), 4, 9, Limit.of(21)))
+                .willReturn(List.of(reviewRow(8, 4, LocalDateTime.now())));
+
+        // Act
+        CursorPageDTO<ReviewResponseDTO> result = productService.getReviews(product.getId(), 20, after,
+                ProductService.SORT_RATING);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void ProductService_GetReviews_Throws_WhenCursorBelongsToOtherSort() {
+        // Arrange
+        String after = CursorMapper.toToken(CursorDTO.builder().averageRating(4.0).id("9").build());
+        given(productRepository.existsById(product.getId())).willReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getReviews(product.getId(), 20, after, ProductService.SORT_NEWEST))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    public void ProductService_GetReviews_Throws_WhenProductRatingCursorUsed() {
+        // Arrange
+        String after = CursorMapper.toToken(CursorDTO.builder().averageRating(4.5).id("9").build());
+        given(productRepository.existsById(product.getId())).willReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getReviews(product.getId(), 20, after, ProductService.SORT_RATING))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    public void ProductService_GetReviews_ReturnsReviewRatingCursor_WhenMoreReviewsExist() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        given(productRepository.existsById(product.getId())).willReturn(true);
+        given(reviewRepository.findTopRatedPageByProductId(product.getId(), Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Limit.of(2))).willReturn(List.of(reviewRow(7, 5, now), reviewRow(6, 4, now)));
+
+        // Act
+        CursorPageDTO<ReviewResponseDTO> result = productService.getReviews(product.getId(), 1, null,
+                ProductService.SORT_RATING);
+
+        // Assert
+        CursorDTO cursor = CursorMapper.toDTO(result.getNextCursor());
+        assertThat(cursor.getRating()).isEqualTo(5);
+        assertThat(cursor.getAverageRating()).isNull();
+        assertThat(cursor.getId()).isEqualTo("7");
     }
 
     @Test
     public void ProductService_GetReviews_Throws_WhenNotFound() {
         // Arrange
-        given(productRepository.findById(product.getId())).willReturn(Optional.empty());
+        given(productRepository.existsById(product.getId())).willReturn(false);
 
         // Act & Assert
-        assertThatThrownBy(() -> productService.getReviews(product.getId()))
+        assertThatThrownBy(() -> productService.getReviews(product.getId(), 20, null, ProductService.SORT_NEWEST))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Product: " + product.getId().toString());
+        verify(reviewRepository, times(0)).findNewestPageByProductId(any(), any(), anyInt(), any());
+    }
+
+    private ReviewRow reviewRow(int id, int rating, LocalDateTime createdAt) {
+        UUID userId = UUID.randomUUID();
+        UUID productId = product.getId();
+        return new ReviewRow() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public UUID getProductId() {
+                return productId;
+            }
+
+            @Override
+            public int getRating() {
+                return rating;
+            }
+
+            @Override
+            public String getComment() {
+                return "Review " + id;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
     }
 }
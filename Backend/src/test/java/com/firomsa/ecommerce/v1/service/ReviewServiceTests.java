@@ -2,7 +2,9 @@ package com.firomsa.ecommerce.v1.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -17,12 +19,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.firomsa.ecommerce.event.ProductRatingChangedEvent;
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
 import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.model.ProductRating;
 import com.firomsa.ecommerce.model.Review;
 import com.firomsa.ecommerce.model.User;
+import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.repository.RatingCount;
 import com.firomsa.ecommerce.repository.ReviewRepository;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
 
@@ -33,6 +40,12 @@ public class ReviewServiceTests {
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -113,8 +126,31 @@ public class ReviewServiceTests {
     }
 
     @Test
-    public void ReviewService_Remove_DeletesReview() {
+    public void ReviewService_Remove_DeletesReviewAndUpdatesRating() {
+        // Arrange
+        product.getRating().add(5);
+        product.getRating().add(3);
+        given(reviewRepository.findProductIdById(1)).willReturn(Optional.of(product.getId()));
+        given(productRepository.findForUpdateById(product.getId())).willReturn(Optional.of(product));
+        given(reviewRepository.findById(1)).willReturn(Optional.of(review));
+
+        // Act
+        reviewService.remove(1);
+
+        // Assert
+        verify(reviewRepository, times(1)).delete(review);
+        assertThat(product.getRating().getRatingCount()).isEqualTo(1);
+        assertThat(product.getRating().getAverageRating()).isEqualTo(3.0);
+        assertThat(product.getRating().histogram()).containsExactly(0L, 0L, 1L, 0L, 0L);
+        verify(eventPublisher, times(1)).publishEvent(any(ProductRatingChangedEvent.class));
+    }
+
+    @Test
+    public void ReviewService_Remove_LeavesRating_WhenReviewWasNeverCounted() {
         // Arrange
+        review.setRating(0);
+        given(reviewRepository.findProductIdById(1)).willReturn(Optional.of(product.getId()));
+        given(productRepository.findForUpdateById(product.getId())).willReturn(Optional.of(product));
         given(reviewRepository.findById(1)).willReturn(Optional.of(review));
 
         // Act
@@ -122,16 +158,60 @@ public class ReviewServiceTests {
 
         // Assert
         verify(reviewRepository, times(1)).delete(review);
+        assertThat(product.getRating().getRatingCount()).isZero();
+        verify(eventPublisher, never()).publishEvent(any(ProductRatingChangedEvent.class));
     }
 
     @Test
     public void ReviewService_Remove_Throws_WhenNotFound() {
         // Arrange
-        given(reviewRepository.findById(1)).willReturn(Optional.empty());
+        given(reviewRepository.findProductIdById(1)).willReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> reviewService.remove(1))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Review: 1");
+        verify(reviewRepository, never()).delete(any(Review.class));
+    }
+
+    @Test
+    public void ReviewService_BackfillRatings_AddsCountsPerProduct() {
+        // Arrange
+        given(reviewRepository.countRatingsOfUnratedProducts()).willReturn(List.of(
+                ratingCount(product.getId(), 4, 2),
+                ratingCount(product.getId(), 1, 1)));
+        given(productRepository.findForUpdateById(product.getId())).willReturn(Optional.of(product));
+
+        // Act
+        int filled = reviewService.backfillRatings();
+
+        // Assert
+        assertThat(filled).isEqualTo(1);
+        ProductRating rating = product.getRating();
+        assertThat(rating.getRatingCount()).isEqualTo(3);
+        assertThat(rating.getRatingSum()).isEqualTo(9);
+        assertThat(rating.getAverageRating()).isEqualTo(3.0);
+        assertThat(rating.histogram()).containsExactly(1L, 0L, 0L, 2L, 0L);
+        verify(productRepository, times(1)).findForUpdateById(product.getId());
+        verify(eventPublisher, times(1)).publishEvent(any(ProductRatingChangedEvent.class));
+    }
+
+    private static RatingCount ratingCount(UUID productId, int rating, long reviews) {
+        return new RatingCount() {
+            @Override
+            public UUID getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Integer getRating() {
+                return rating;
+            }
+
+            @Override
+            public Long getReviews() {
+                return reviews;
+            }
+        };
     }
 }
@@ -0,0 +1,276 @@
+package com.firomsa.ecommerce.v1.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.firomsa.ecommerce.event.ProductStockChangedEvent;
+import com.firomsa.ecommerce.exception.LimitedProductStockException;
+import com.firomsa.ecommerce.exception.OrderProcessException;
+import com.firomsa.ecommerce.model.Cart;
+import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderStatus;
+import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.model.ReservationStatus;
+import com.firomsa.ecommerce.model.StockReservation;
+import com.firomsa.ecommerce.repository.OrderItemRepository;
+import com.firomsa.ecommerce.repository.ProductQuantity;
+import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.repository.StockReservationRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class StockReservationServiceTests {
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private StockReservationService stockReservationService;
+
+    private Product product;
+    private Order order;
+    private Cart cart;
+    private StockReservation reservation;
+
+    @BeforeEach
+    void setup() {
+        product = Product.builder().id(UUID.randomUUID()).name("P").price(10D).stock(5).build();
+        order = Order.builder().id(1).status(OrderStatus.PENDING).build();
+        cart = Cart.builder().id(1).product(product).quantity(2).build();
+        reservation = StockReservation.builder()
+                .id(1)
+                .order(order)
+                .product(product)
+                .quantity(2)
+                .status(ReservationStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+
+    @Test
+    public void StockReservationService_Reserve_HoldsStock() {
+        // Arrange
+        given(productRepository.reserveStock(product.getId(), 2)).willReturn(1);
+
+        // Act
+        stockReservationService.reserve(order, List.of(cart));
+
+        // Assert
+        verify(stockReservationRepository, times(1)).save(argThat(saved -> saved
+                .getOrder() == order && saved.getQuantity() == 2 && saved.getExpiresAt() != null));
+        assertThat(stockReservationService.getHeld(product.getId())).isEqualTo(2);
+        assertThat(stockReservationService.getAvailable(product)).isEqualTo(3);
+    }
+
+    @Test
+    public void StockReservationService_Reserve_Throws_WhenRowUpdateFails() {
+        // Arrange
+        given(productRepository.reserveStock(product.getId(), 2)).willReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> stockReservationService.reserve(order, List.of(cart)))
+                .isInstanceOf(LimitedProductStockException.class)
+                .hasMessage("Product Stock Limited");
+        verify(stockReservationRepository, never()).save(any());
+        assertThat(stockReservationService.getHeld(product.getId())).isZero();
+    }
+
+    @Test
+    public void StockReservationService_Reserve_SkipsDatabase_WhenCounterShowsNoStock() {
+        // Arrange
+        cart.setQuantity(6);
+
+        // Act & Assert
+        assertThatThrownBy(() -> stockReservationService.reserve(order, List.of(cart)))
+                .isInstanceOf(LimitedProductStockException.class);
+        verify(productRepository, never()).reserveStock(any(), anyInt());
+    }
+
+    @Test
+    public void StockReservationService_Convert_ConvertsActiveHolds() {
+        // Arrange
+        given(productRepository.reserveStock(product.getId(), 2)).willReturn(1);
+        stockReservationService.reserve(order, List.of(cart));
+        given(stockReservationRepository.findAllByOrderAndStatus(order, ReservationStatus.ACTIVE))
+                .willReturn(List.of(reservation));
+        given(orderItemRepository.findProductQuantitiesByOrder(order))
+                .willReturn(List.of(productQuantity(product.getId(), 2)));
+        given(stockReservationRepository.transition(eq(1), eq(ReservationStatus.ACTIVE),
+                eq(ReservationStatus.CONVERTED), any())).willReturn(1);
+        given(productRepository.convertReservedStock(product.getId(), 2)).willReturn(1);
+
+        // Act
+        stockReservationService.convert(order);
+
+        // Assert
+        assertThat(stockReservationService.getHeld(product.getId())).isZero();
+        verify(productRepository, never()).decrementStock(any(), anyInt());
+    }
+
+    @Test
+    public void StockReservationService_Convert_DecrementsStock_WhenNoActiveHolds() {
+        // Arrange
+        given(stockReservationRepository.findAllByOrderAndStatus(order, ReservationStatus.ACTIVE))
+                .willReturn(List.of());
+        given(orderItemRepository.findProductQuantitiesByOrder(order))
+                .willReturn(List.of(productQuantity(product.getId(), 2)));
+        given(productRepository.decrementStock(product.getId(), 2)).willReturn(1);
+
+        // Act
+        stockReservationService.convert(order);
+
+        // Assert
+        verify(productRepository, times(1)).decrementStock(product.getId(), 2);
+        verify(stockReservationRepository, never()).transition(anyInt(), any(), any(), any());
+    }
+
+    @Test
+    public void StockReservationService_Convert_DecrementsStock_ForItemsWhoseHoldWasReleased() {
+        // Arrange
+        Product released = Product.builder().id(UUID.randomUUID()).name("Q").price(5D).stock(4).build();
+        given(stockReservationRepository.findAllByOrderAndStatus(order, ReservationStatus.ACTIVE))
+                .willReturn(List.of(reservation));
+        given(orderItemRepository.findProductQuantitiesByOrder(order))
+                .willReturn(List.of(productQuantity(product.getId(), 2), productQuantity(released.getId(), 3)));
+        given(stockReservationRepository.transition(eq(1), eq(ReservationStatus.ACTIVE),
+                eq(ReservationStatus.CONVERTED), any())).willReturn(1);
+        given(productRepository.convertReservedStock(product.getId(), 2)).willReturn(1);
+        given(productRepository.decrementStock(released.getId(), 3)).willReturn(1);
+
+        // Act
+        stockReservationService.convert(order);
+
+        // Assert
+        verify(productRepository, times(1)).convertReservedStock(product.getId(), 2);
+        verify(productRepository, times(1)).decrementStock(released.getId(), 3);
+        verify(productRepository, never()).decrementStock(eq(product.getId()), anyInt());
+        verify(eventPublisher, times(1)).publishEvent(new ProductStockChangedEvent(product.getId(), -2));
+        verify(eventPublisher, times(1)).publishEvent(new ProductStockChangedEvent(released.getId(), -3));
+    }
+
+    @Test
+    public void StockReservationService_Convert_DecrementsStock_WhenHoldReleasedConcurrently() {
+        // Arrange
+        given(stockReservationRepository.findAllByOrderAndStatus(order, ReservationStatus.ACTIVE))
+                .willReturn(List.of(reservation));
+        given(orderItemRepository.findProductQuantitiesByOrder(order))
+                .willReturn(List.of(productQuantity(product.getId(), 2)));
+        given(stockReservationRepository.transition(eq(1), eq(ReservationStatus.ACTIVE),
+                eq(ReservationStatus.CONVERTED), any())).willReturn(0);
+        given(productRepository.decrementStock(product.getId(), 2)).willReturn(1);
+
+        // Act
+        stockReservationService.convert(order);
+
+        // Assert
+        verify(productRepository, times(1)).decrementStock(product.getId(), 2);
+        verify(productRepository, never()).convertReservedStock(any(), anyInt());
+    }
+
+    @Test
+    public void StockReservationService_Convert_Throws_WhenStockGone() {
+        // Arrange
+        given(stockReservationRepository.findAllByOrderAndStatus(order, ReservationStatus.ACTIVE))
+                .willReturn(List.of(reservation));
+        given(orderItemRepository.findProductQuantitiesByOrder(order))
+                .willReturn(List.of(productQuantity(product.getId(), 2)));
+        given(stockReservationRepository.transition(eq(1), eq(ReservationStatus.ACTIVE),
+                eq(ReservationStatus.CONVERTED), any())).willReturn(0);
+        given(productRepository.decrementStock(product.getId(), 2)).willReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> stockReservationService.convert(order))
+                .isInstanceOf(OrderProcessException.class)
+                .hasMessage("Product Stock Limited");
+    }
+
+    @Test
+    public void StockReservationService_Release_ReturnsHeldStock() {
+        // Arrange
+        given(stockReservationRepository.findAllByOrderAndStatus(order, ReservationStatus.ACTIVE))
+                .willReturn(List.of(reservation));
+        given(stockReservationRepository.transition(eq(1), eq(ReservationStatus.ACTIVE),
+                eq(ReservationStatus.RELEASED), any())).willReturn(1);
+
+        // Act
+        stockReservationService.release(order);
+
+        // Assert
+        verify(productRepository, times(1)).releaseReservedStock(product.getId(), 2);
+    }
+
+    @Test
+    public void StockReservationService_ReleaseExpired_ReleasesExpiredHolds() {
+        // Arrange
+        given(stockReservationRepository.findAllByStatusAndExpiresAtBefore(eq(ReservationStatus.ACTIVE), any(),
+                any(Limit.class))).willReturn(List.of(reservation));
+        given(stockReservationRepository.transition(eq(1), eq(ReservationStatus.ACTIVE),
+                eq(ReservationStatus.RELEASED), any())).willReturn(1);
+
+        // Act
+        stockReservationService.releaseExpired();
+
+        // Assert
+        verify(productRepository, times(1)).releaseReservedStock(product.getId(), 2);
+    }
+
+    @Test
+    public void StockReservationService_ReloadHeld_LoadsActiveTotals() {
+        // Arrange
+        given(stockReservationRepository.sumQuantitiesByStatus(ReservationStatus.ACTIVE))
+                .willReturn(List.of(productQuantity(product.getId(), 4)));
+
+        // Act
+        stockReservationService.reloadHeld();
+
+        // Assert
+        assertThat(stockReservationService.getAvailable(product)).isEqualTo(1);
+    }
+
+    private static ProductQuantity productQuantity(UUID productId, long quantity) {
+        return new ProductQuantity() {
+            @Override
+            public UUID getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
@@ -1,8 +1,17 @@
 package com.firomsa.ecommerce.v1.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
-
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,35 +19,52 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.firomsa.ecommerce.exception.ResourceNotFoundException;
 import com.firomsa.ecommerce.exception.StorageException;
+import com.firomsa.ecommerce.model.Image;
 import com.firomsa.ecommerce.model.Product;
 import com.firomsa.ecommerce.repository.ImageRepository;
 import com.firomsa.ecommerce.repository.ProductRepository;
+import com.firomsa.ecommerce.v1.dto.ImageDTO;
+import com.firomsa.ecommerce.v1.dto.ImageFileDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
 public class StorageServiceTests {
 
+    private static final String HELLO_IMAGE_SHA256 = "84d8fd5280a5162aaf5c5d9aeb069b2660500eabeeda58ce2bb10595827e08ad";
+
     @Mock
     private ProductRepository productRepository;
 
     @Mock
     private ImageRepository imageRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path root;
+
     private StorageService storageService;
 
     private Product product;
 
     @BeforeEach
     void setup() {
+        storageService = new StorageService(productRepository, imageRepository, eventPublisher,
+                new SimpleMeterRegistry(), root);
         product = Product.builder()
                 .id(UUID.randomUUID())
                 .name("Product")
@@ -51,7 +77,7 @@ public class StorageServiceTests {
     @Test
     public void StorageService_GetImage_Throws_WhenImageMissingInRepository() {
         // Arrange
-        given(imageRepository.existsByName("missing.png")).willReturn(false);
+        given(imageRepository.findByName("missing.png")).willReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> storageService.getImage("missing.png"))
@@ -59,6 +85,81 @@ public class StorageServiceTests {
                 .hasMessage("Image: missing.png");
     }
 
+    @Test
+    public void StorageService_GetImage_StoresContentHash_WhenMissing() throws Exception {
+        // Arrange
+        Files.writeString(root.resolve("a.png"), "hello image");
+        Image image = Image.builder().id(1).name("a.png").product(product).build();
+        given(imageRepository.findByName("a.png")).willReturn(Optional.of(image));
+
+        // Act
+        ImageFileDTO result = storageService.getImage("a.png");
+
+        // Assert
+        assertThat(result.getContentHash()).isEqualTo(HELLO_IMAGE_SHA256);
+        assertThat(result.getLength()).isEqualTo(11);
+        assertThat(result.getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+        verify(imageRepository, times(1)).save(image);
+    }
+
+    @Test
+    public void StorageService_GetImage_UsesStoredContentHash() throws Exception {
+        // Arrange
+        Files.writeString(root.resolve("a.png"), "hello image");
+        Image image = Image.builder().id(1).name("a.png").contentHash("stored").product(product).build();
+        given(imageRepository.findByName("a.png")).willReturn(Optional.of(image));
+
+        // Act
+        ImageFileDTO result = storageService.getImage("a.png");
+
+        // Assert
+        assertThat(result.getContentHash()).isEqualTo("stored");
+        verify(imageRepository, never()).save(any(Image.class));
+    }
+
+    @Test
+    public void StorageService_GetImage_Throws_WhenFileMissing() {
+        // Arrange
+        given(imageRepository.findByName("gone.png"))
+                .willReturn(Optional.of(Image.builder().id(1).name("gone.png").build()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> storageService.getImage("gone.png"))
+                .isInstanceOf(StorageException.class)
+                .hasMessage("Could not read file: gone.png");
+    }
+
+    @Test
+    public void StorageService_WriteImage_WritesRequestedRange() throws Exception {
+        // Arrange
+        Path file = Files.writeString(root.resolve("a.png"), "hello image");
+        ImageFileDTO image = ImageFileDTO.builder().path(file).length(11).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        storageService.writeImage(image, 6, 5, out);
+
+        // Assert
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("image");
+    }
+
+    @Test
+    public void StorageService_AddProductImage_StoresContentHash() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", "hello image".getBytes());
+        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+        given(imageRepository.save(any(Image.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ImageDTO result = storageService.addProductImage(file, product.getId());
+
+        // Assert
+        ArgumentCaptor<Image> saved = ArgumentCaptor.forClass(Image.class);
+        verify(imageRepository).save(saved.capture());
+        assertThat(saved.getValue().getContentHash()).isEqualTo(HELLO_IMAGE_SHA256);
+        assertThat(Files.readString(root.resolve(result.getName()))).isEqualTo("hello image");
+    }
+
     @Test
     public void StorageService_AddProductImage_Throws_WhenProductNotFound() {
         // Arrange
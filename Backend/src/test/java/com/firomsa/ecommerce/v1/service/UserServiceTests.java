@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -20,12 +21,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.firomsa.ecommerce.event.ProductRatingChangedEvent;
 import com.firomsa.ecommerce.exception.EmailAlreadyExistsException;
 import com.firomsa.ecommerce.exception.LimitedProductStockException;
 import com.firomsa.ecommerce.exception.OrderProcessException;
@@ -35,7 +40,11 @@ import com.firomsa.ecommerce.model.Address;
 import com.firomsa.ecommerce.model.Cart;
 import com.firomsa.ecommerce.model.Category;
 import com.firomsa.ecommerce.model.Order;
+import com.firomsa.ecommerce.model.OrderEventType;
+import com.firomsa.ecommerce.model.OrderItem;
+import com.firomsa.ecommerce.model.OrderStatus;
 import com.firomsa.ecommerce.model.Product;
+import com.firomsa.ecommerce.model.ProductRating;
 import com.firomsa.ecommerce.model.Review;
 import com.firomsa.ecommerce.model.Role;
 import com.firomsa.ecommerce.model.User;
@@ -48,19 +57,26 @@ import com.firomsa.ecommerce.repository.ProductRepository;
 import com.firomsa.ecommerce.repository.ReviewRepository;
 import com.firomsa.ecommerce.repository.RoleRepository;
 import com.firomsa.ecommerce.repository.UserRepository;
+import com.firomsa.ecommerce.security.PrincipalCache;
 import com.firomsa.ecommerce.v1.dto.AddressRequestDTO;
 import com.firomsa.ecommerce.v1.dto.AddressResponseDTO;
 import com.firomsa.ecommerce.v1.dto.CartRequestDTO;
 import com.firomsa.ecommerce.v1.dto.CartResponseDTO;
 import com.firomsa.ecommerce.v1.dto.OrderDetailDTO;
+import com.firomsa.ecommerce.v1.dto.OrderFilterDTO;
 import com.firomsa.ecommerce.v1.dto.OrderResponseDTO;
+import com.firomsa.ecommerce.v1.dto.PageDTO;
+import com.firomsa.ecommerce.v1.dto.PaymentRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewRequestDTO;
 import com.firomsa.ecommerce.v1.dto.ReviewResponseDTO;
 import com.firomsa.ecommerce.v1.dto.UserRequestDTO;
 import com.firomsa.ecommerce.v1.dto.UserResponseDTO;
+import com.firomsa.ecommerce.v1.mapper.OrderMapper;
 import com.firomsa.ecommerce.v1.mapper.UserMapper;
 import com.yaphet.chapa.model.InitializeResponseData;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 @ActiveProfiles("test")
 public class UserServiceTests {
@@ -83,6 +99,9 @@ public class UserServiceTests {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderService orderService;
+
     @Mock
     private OrderItemRepository orderItemRepository;
 
@@ -98,6 +117,21 @@ public class UserServiceTests {
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private Role role;
     private User firstUser;
     private User secondUser;
@@ -224,6 +258,9 @@ public class UserServiceTests {
         cartRequestDTO = CartRequestDTO.builder().quantity(2).build();
     }
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserService userService;
 
@@ -376,6 +413,7 @@ public class UserServiceTests {
         given(userRepository.save(Mockito.any(User.class))).willReturn(firstUser);
         given(userRepository.existsByUsernameAndIdNot(firstUser.getUsername(), firstUser.getId())).willReturn(false);
         given(userRepository.existsByEmailAndIdNot(firstUser.getEmail(), firstUser.getId())).willReturn(false);
+        String previousUsername = firstUser.getUsername();
 
         // Act
         UserResponseDTO responseDTO = userService.update(userRequestDTO, firstUser.getId());
@@ -388,6 +426,7 @@ public class UserServiceTests {
         verify(userRepository, times(1)).save(Mockito.any(User.class));
         verify(userRepository, times(1)).existsByUsernameAndIdNot(firstUser.getUsername(), firstUser.getId());
         verify(userRepository, times(1)).existsByEmailAndIdNot(firstUser.getEmail(), firstUser.getId());
+        verify(principalCache, times(1)).invalidate(previousUsername);
     }
 
     @Test
@@ -435,6 +474,7 @@ public class UserServiceTests {
         // Assert
         verify(userRepository).findById(firstUser.getId());
         verify(userRepository).delete(firstUser);
+        verify(principalCache).invalidate(firstUser.getUsername());
     }
 
     @Test
@@ -462,6 +502,7 @@ public class UserServiceTests {
         // Assert
         verify(userRepository).findById(firstUser.getId());
         verify(userRepository).save(firstUser);
+        verify(principalCache).invalidate(firstUser.getUsername());
     }
 
     @Test
@@ -526,6 +567,7 @@ public class UserServiceTests {
         // Arrange
         given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
         given(productRepository.findById(testProduct.getId())).willReturn(Optional.of(testProduct));
+        given(stockReservationService.getAvailable(testProduct)).willReturn(testProduct.getStock());
         given(cartRepository.findByUserAndProduct(firstUser, testProduct)).willReturn(Optional.empty());
         given(cartRepository.save(any(Cart.class))).willReturn(testCart);
 
@@ -569,6 +611,7 @@ public class UserServiceTests {
         CartRequestDTO highQuantityRequest = CartRequestDTO.builder().quantity(15).build();
         given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
         given(productRepository.findById(testProduct.getId())).willReturn(Optional.of(testProduct));
+        given(stockReservationService.getAvailable(testProduct)).willReturn(testProduct.getStock());
 
         // Act and Assert
         assertThatThrownBy(() -> userService.addItemToCart(firstUser.getId(), highQuantityRequest, testProduct.getId()))
@@ -577,28 +620,43 @@ public class UserServiceTests {
     }
 
     @Test
-    public void UserService_GetOrders_ReturnUserOrders() {
+    public void UserService_AddItemToCart_ShouldThrowException_WhenStockHeldByReservations() {
         // Arrange
-        firstUser.setOrders(List.of(testOrder));
         given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
+        given(productRepository.findById(testProduct.getId())).willReturn(Optional.of(testProduct));
+        given(stockReservationService.getAvailable(testProduct)).willReturn(1);
+
+        // Act and Assert
+        assertThatThrownBy(() -> userService.addItemToCart(firstUser.getId(), cartRequestDTO, testProduct.getId()))
+                .isInstanceOf(LimitedProductStockException.class)
+                .hasMessage("Product Stock Limited");
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
+    @Test
+    public void UserService_GetOrders_ReturnUserOrders() {
+        // Arrange
+        OrderFilterDTO filter = OrderFilterDTO.builder().status(OrderStatus.PENDING).build();
+        PageDTO<OrderResponseDTO> page = PageDTO.<OrderResponseDTO>builder()
+                .items(List.of(OrderMapper.toDTO(testOrder))).page(0).size(20).totalItems(1).build();
+        given(userRepository.existsById(firstUser.getId())).willReturn(true);
+        given(orderService.getAllByUser(firstUser.getId(), filter, 0, 20)).willReturn(page);
 
         // Act
-        List<OrderResponseDTO> result = userService.getOrders(firstUser.getId());
+        PageDTO<OrderResponseDTO> result = userService.getOrders(firstUser.getId(), filter, 0, 20);
 
         // Assert
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getTotalPrice()).isEqualTo(testOrder.getTotalPrice());
-        verify(userRepository, times(1)).findById(firstUser.getId());
+        assertThat(result).isSameAs(page);
+        verify(orderService, times(1)).getAllByUser(firstUser.getId(), filter, 0, 20);
     }
 
     @Test
     public void UserService_GetOrders_ShouldThrowException_WhenUserDoesNotExist() {
         // Arrange
-        given(userRepository.findById(firstUser.getId())).willReturn(Optional.empty());
+        given(userRepository.existsById(firstUser.getId())).willReturn(false);
 
         // Act and Assert
-        assertThatThrownBy(() -> userService.getOrders(firstUser.getId()))
+        assertThatThrownBy(() -> userService.getOrders(firstUser.getId(), new OrderFilterDTO(), 0, 20))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("User: " + firstUser.getId().toString());
     }
@@ -612,7 +670,9 @@ public class UserServiceTests {
         given(addressRepository.findByUserAndActive(firstUser, true)).willReturn(Optional.of(testAddress));
         given(orderRepository.save(any(Order.class))).willReturn(testOrder);
         given(orderItemRepository.saveAll(any())).willReturn(List.of());
-        given(paymentService.startTransaction(any(Order.class))).willReturn(new InitializeResponseData());
+        given(paymentService.generateTxRef()).willReturn("TXN123456");
+        InitializeResponseData response = new InitializeResponseData();
+        given(paymentService.startTransaction(any(PaymentRequestDTO.class))).willReturn(response);
 
         // Act
         OrderDetailDTO result = userService.addOrder(firstUser.getId());
@@ -621,9 +681,64 @@ public class UserServiceTests {
         assertThat(result).isNotNull();
         assertThat(result.getOrder()).isNotNull();
         assertThat(result.getAddress()).isNotNull();
+        assertThat(result.getResponse()).isSameAs(response);
         verify(userRepository, times(1)).findById(firstUser.getId());
         verify(addressRepository, times(1)).findByUserAndActive(firstUser, true);
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(stockReservationService, times(1)).reserve(testOrder, List.of(testCart));
+        verify(outboxService, times(1)).record(testOrder, OrderEventType.PLACED);
+        verify(paymentService, times(1)).startTransaction(Mockito.argThat(request -> request.getTxRef()
+                .equals("TXN123456") && request.getEmail().equals(firstUser.getEmail())));
+    }
+
+    @Test
+    public void UserService_AddOrder_CancelsOrderAndRestoresCart_WhenPaymentInitializationFails() {
+        // Arrange
+        OrderItem orderItem = OrderItem.builder().id(1).order(testOrder).product(testProduct)
+                .quantity(testCart.getQuantity()).priceAtPurchase(testProduct.getPrice()).build();
+        given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
+        given(cartRepository.findAllByUser(firstUser)).willReturn(List.of(testCart));
+        given(addressRepository.findByUserAndActive(firstUser, true)).willReturn(Optional.of(testAddress));
+        given(orderRepository.save(any(Order.class))).willReturn(testOrder);
+        given(orderItemRepository.saveAll(any())).willReturn(List.of(orderItem));
+        given(orderRepository.findById(testOrder.getId())).willReturn(Optional.of(testOrder));
+        given(paymentService.startTransaction(any(PaymentRequestDTO.class)))
+                .willThrow(new OrderProcessException("Failed to initialize payment gateway"));
+
+        // Act and Assert
+        assertThatThrownBy(() -> userService.addOrder(firstUser.getId()))
+                .isInstanceOf(OrderProcessException.class)
+                .hasMessage("Failed to initialize payment gateway");
+        assertThat(testOrder.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        verify(stockReservationService, times(1)).release(testOrder);
+        verify(outboxService, times(1)).record(testOrder, OrderEventType.CANCELLED);
+        verify(cartRepository, times(1)).saveAll(Mockito.argThat((List<Cart> carts) -> carts.size() == 1
+                && carts.getFirst().getProduct().equals(testProduct)
+                && carts.getFirst().getQuantity() == testCart.getQuantity()));
+    }
+
+    @Test
+    public void UserService_AddOrder_MergesRestoredItemIntoExistingCartRow_WhenPaymentInitializationFails() {
+        // Arrange
+        OrderItem orderItem = OrderItem.builder().id(1).order(testOrder).product(testProduct)
+                .quantity(testCart.getQuantity()).priceAtPurchase(testProduct.getPrice()).build();
+        Cart addedMeanwhile = Cart.builder().id(2).user(firstUser).product(testProduct).quantity(3).build();
+        given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
+        given(cartRepository.findAllByUser(firstUser)).willReturn(List.of(testCart));
+        given(addressRepository.findByUserAndActive(firstUser, true)).willReturn(Optional.of(testAddress));
+        given(orderRepository.save(any(Order.class))).willReturn(testOrder);
+        given(orderItemRepository.saveAll(any())).willReturn(List.of(orderItem));
+        given(orderRepository.findById(testOrder.getId())).willReturn(Optional.of(testOrder));
+        given(cartRepository.findByUserAndProduct(testOrder.getUser(), testProduct))
+                .willReturn(Optional.of(addedMeanwhile));
+        given(paymentService.startTransaction(any(PaymentRequestDTO.class)))
+                .willThrow(new OrderProcessException("Failed to initialize payment gateway"));
+
+        // Act and Assert
+        assertThatThrownBy(() -> userService.addOrder(firstUser.getId()))
+                .isInstanceOf(OrderProcessException.class);
+        assertThat(addedMeanwhile.getQuantity()).isEqualTo(3 + testCart.getQuantity());
+        verify(cartRepository, times(1)).saveAll(List.of(addedMeanwhile));
     }
 
     @Test
@@ -686,6 +801,9 @@ public class UserServiceTests {
         given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
         given(cartRepository.findAllByUser(firstUser)).willReturn(List.of(limitedStockCart));
         given(addressRepository.findByUserAndActive(firstUser, true)).willReturn(Optional.of(testAddress));
+        given(orderRepository.save(any(Order.class))).willReturn(testOrder);
+        willThrow(new LimitedProductStockException("Product Stock Limited")).given(stockReservationService)
+                .reserve(any(Order.class), any());
 
         // Act and Assert
         assertThatThrownBy(() -> userService.addOrder(firstUser.getId()))
@@ -860,7 +978,7 @@ public class UserServiceTests {
     public void UserService_AddReviewToReviews_ReturnSavedReviewDTO() {
         // Arrange
         given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
-        given(productRepository.findById(testProduct.getId())).willReturn(Optional.of(testProduct));
+        given(productRepository.findForUpdateById(testProduct.getId())).willReturn(Optional.of(testProduct));
         given(reviewRepository.save(any(Review.class))).willReturn(testReview);
 
         // Act
@@ -871,10 +989,27 @@ public class UserServiceTests {
         assertThat(result).isNotNull();
         assertThat(result.getRating()).isEqualTo(testReview.getRating());
         verify(userRepository, times(1)).findById(firstUser.getId());
-        verify(productRepository, times(1)).findById(testProduct.getId());
+        verify(productRepository, times(1)).findForUpdateById(testProduct.getId());
         verify(reviewRepository, times(1)).save(any(Review.class));
     }
 
+    @Test
+    public void UserService_AddReviewToReviews_UpdatesProductRating() {
+        // Arrange
+        given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
+        given(productRepository.findForUpdateById(testProduct.getId())).willReturn(Optional.of(testProduct));
+        given(reviewRepository.save(any(Review.class))).willReturn(testReview);
+
+        // Act
+        userService.addReviewToReviews(firstUser.getId(), reviewRequestDTO, testProduct.getId());
+
+        // Assert
+        ProductRating rating = testProduct.getRating();
+        assertThat(rating.getRatingCount()).isEqualTo(1);
+        assertThat(rating.getAverageRating()).isEqualTo(reviewRequestDTO.getRating());
+        verify(eventPublisher, times(1)).publishEvent(any(ProductRatingChangedEvent.class));
+    }
+
     @Test
     public void UserService_AddReviewToReviews_ShouldThrowException_WhenUserDoesNotExist() {
         // Arrange
@@ -891,7 +1026,7 @@ public class UserServiceTests {
     public void UserService_AddReviewToReviews_ShouldThrowException_WhenProductDoesNotExist() {
         // Arrange
         given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
-        given(productRepository.findById(testProduct.getId())).willReturn(Optional.empty());
+        given(productRepository.findForUpdateById(testProduct.getId())).willReturn(Optional.empty());
 
         // Act and Assert
         assertThatThrownBy(
@@ -973,6 +1108,7 @@ public class UserServiceTests {
         // Arrange
         given(userRepository.findById(firstUser.getId())).willReturn(Optional.of(firstUser));
         given(productRepository.findById(testProduct.getId())).willReturn(Optional.of(testProduct));
+        given(stockReservationService.getAvailable(testProduct)).willReturn(testProduct.getStock());
         given(cartRepository.findByUserAndProduct(firstUser, testProduct)).willReturn(Optional.of(testCart));
         given(cartRepository.save(any(Cart.class))).willReturn(testCart);
 
@@ -0,0 +1,215 @@
+package com.firomsa.ecommerce.v1.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.firomsa.ecommerce.config.WebhookConfig;
+import com.firomsa.ecommerce.exception.OrderProcessException;
+import com.firomsa.ecommerce.model.WebhookEvent;
+import com.firomsa.ecommerce.model.WebhookEventState;
+import com.firomsa.ecommerce.repository.WebhookEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class WebhookEventServiceTests {
+
+    @Mock
+    private WebhookEventRepository webhookEventRepository;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WebhookEventService webhookEventService;
+    private WebhookEvent event;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        // workers run inline, so every dispatched event is processed before enqueue returns
+        webhookEventService = new WebhookEventService(webhookEventRepository, orderService, new WebhookConfig(),
+                transactionManager, meterRegistry, Runnable::run);
+        event = WebhookEvent.builder()
+                .id(1)
+                .txRef("tx")
+                .status("success")
+                .payload("{}")
+                .receivedAt(LocalDateTime.now())
+                .build();
+        lenient().when(webhookEventRepository.claim(eq(1), eq(WebhookEventState.RECEIVED), anyInt())).thenReturn(1);
+    }
+
+    @Test
+    public void WebhookEventService_Enqueue_RecordsAndProcessesEvent() {
+        // Arrange
+        given(webhookEventRepository.saveAndFlush(any(WebhookEvent.class))).willReturn(event);
+        given(webhookEventRepository.findById(1)).willReturn(Optional.of(event));
+
+        // Act
+        boolean accepted = webhookEventService.enqueue("tx", "success", "{}");
+
+        // Assert
+        assertThat(accepted).isTrue();
+        verify(orderService, times(1)).updateStatus("success", "tx");
+        assertThat(event.getState()).isEqualTo(WebhookEventState.PROCESSED);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(meterRegistry.counter("webhook.events.processed").count()).isEqualTo(1);
+        assertThat(webhookEventService.getInFlight()).isZero();
+    }
+
+    @Test
+    public void WebhookEventService_Enqueue_SkipsDatabase_WhenRecentlyReceived() {
+        // Arrange
+        given(webhookEventRepository.saveAndFlush(any(WebhookEvent.class))).willReturn(event);
+        given(webhookEventRepository.findById(1)).willReturn(Optional.of(event));
+        webhookEventService.enqueue("tx", "success", "{}");
+
+        // Act
+        boolean accepted = webhookEventService.enqueue("tx", "success", "{}");
+
+        // Assert
+        assertThat(accepted).isFalse();
+        verify(webhookEventRepository, times(1)).existsByTxRefAndStatus("tx", "success");
+        verify(orderService, times(1)).updateStatus("success", "tx");
+    }
+
+    @Test
+    public void WebhookEventService_Enqueue_ReturnsFalse_WhenEventStored() {
+        // Arrange
+        given(webhookEventRepository.existsByTxRefAndStatus("tx", "success")).willReturn(true);
+
+        // Act
+        boolean accepted = webhookEventService.enqueue("tx", "success", "{}");
+
+        // Assert
+        assertThat(accepted).isFalse();
+        verify(webhookEventRepository, never()).saveAndFlush(any());
+        verify(orderService, never()).updateStatus(anyString(), anyString());
+    }
+
+    @Test
+    public void WebhookEventService_Enqueue_ReturnsFalse_WhenConcurrentDeliveryWins() {
+        // Arrange
+        given(webhookEventRepository.saveAndFlush(any(WebhookEvent.class)))
+                .willThrow(new DataIntegrityViolationException("uk_webhook_events_tx_ref_status"));
+
+        // Act
+        boolean accepted = webhookEventService.enqueue("tx", "success", "{}");
+
+        // Assert
+        assertThat(accepted).isFalse();
+        verify(orderService, never()).updateStatus(anyString(), anyString());
+    }
+
+    @Test
+    public void WebhookEventService_Enqueue_LeavesEventForRetry_WhenUpdateFails() {
+        // Arrange
+        given(webhookEventRepository.saveAndFlush(any(WebhookEvent.class))).willReturn(event);
+        given(webhookEventRepository.findById(1)).willReturn(Optional.of(event));
+        willThrow(new OrderProcessException("Product Stock Limited")).given(orderService)
+                .updateStatus("success", "tx");
+
+        // Act
+        boolean accepted = webhookEventService.enqueue("tx", "success", "{}");
+
+        // Assert
+        assertThat(accepted).isTrue();
+        verify(webhookEventRepository, times(1)).recordFailure(1, WebhookEventState.RECEIVED, 0,
+                WebhookEventState.RECEIVED, "Product Stock Limited");
+        verify(webhookEventRepository, never()).save(any());
+        assertThat(meterRegistry.counter("webhook.events.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void WebhookEventService_Redispatch_SkipsEvent_WhenClaimedElsewhere() {
+        // Arrange
+        given(webhookEventRepository.findAllByStateOrderByReceivedAtAsc(any(WebhookEventState.class),
+                any(Limit.class))).willReturn(List.of(event));
+        given(webhookEventRepository.findById(1)).willReturn(Optional.of(event));
+        given(webhookEventRepository.claim(1, WebhookEventState.RECEIVED, 0)).willReturn(0);
+
+        // Act
+        webhookEventService.redispatch();
+
+        // Assert
+        verify(orderService, never()).updateStatus(anyString(), anyString());
+        verify(webhookEventRepository, never()).save(any());
+        assertThat(meterRegistry.counter("webhook.events.processed").count()).isZero();
+    }
+
+    @Test
+    public void WebhookEventService_Redispatch_MarksFailed_WhenAttemptsExhausted() {
+        // Arrange
+        event.setAttempts(2);
+        given(webhookEventRepository.findAllByStateOrderByReceivedAtAsc(any(WebhookEventState.class),
+                any(Limit.class))).willReturn(List.of(event));
+        given(webhookEventRepository.findById(1)).willReturn(Optional.of(event));
+        willThrow(new OrderProcessException("Product Stock Limited")).given(orderService)
+                .updateStatus("success", "tx");
+
+        // Act
+        webhookEventService.redispatch();
+
+        // Assert
+        verify(webhookEventRepository, times(1)).recordFailure(1, WebhookEventState.RECEIVED, 2,
+                WebhookEventState.FAILED, "Product Stock Limited");
+        verify(webhookEventRepository, never()).save(any());
+    }
+
+    @Test
+    public void WebhookEventService_QueueDepth_CountsReceivedEvents() {
+        // Arrange
+        given(webhookEventRepository.countByState(WebhookEventState.RECEIVED)).willReturn(7L);
+
+        // Act
+        double depth = meterRegistry.get("webhook.queue.depth").gauge().value();
+
+        // Assert
+        assertThat(depth).isEqualTo(7);
+    }
+
+    @Test
+    public void WebhookEventService_Enqueue_KeepsEvent_WhenQueueFull() {
+        // Arrange
+        webhookEventService = new WebhookEventService(webhookEventRepository, orderService, new WebhookConfig(),
+                transactionManager, meterRegistry, task -> {
+                    throw new RejectedExecutionException();
+                });
+        given(webhookEventRepository.saveAndFlush(any(WebhookEvent.class))).willReturn(event);
+
+        // Act
+        boolean accepted = webhookEventService.enqueue("tx", "success", "{}");
+
+        // Assert
+        assertThat(accepted).isTrue();
+        assertThat(webhookEventService.getInFlight()).isZero();
+        verify(orderService, never()).updateStatus(anyString(), anyString());
+    }
+}